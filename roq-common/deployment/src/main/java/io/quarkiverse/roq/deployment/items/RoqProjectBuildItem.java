@@ -3,6 +3,7 @@ package io.quarkiverse.roq.deployment.items;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import io.quarkiverse.tools.projectscanner.ScanLocalDirBuildItem;
@@ -68,12 +69,23 @@ public final class RoqProjectBuildItem extends SimpleBuildItem {
      * mtime changes (from new/deleted files) during doScan(forceRestart=false).
      */
     public static void watchDirRecursively(Path dir, BuildProducer<HotDeploymentWatchedFileBuildItem> watch) {
+        watchDirRecursively(dir, watch, location -> true);
+    }
+
+    /**
+     * Same as {@link #watchDirRecursively(Path, BuildProducer)}, only for the absolute locations accepted by the
+     * filter (e.g. to watch some files without restart instead).
+     */
+    public static void watchDirRecursively(Path dir, BuildProducer<HotDeploymentWatchedFileBuildItem> watch,
+            Predicate<String> filter) {
         if (dir == null || !Files.isDirectory(dir)) {
             return;
         }
         try (Stream<Path> walk = Files.walk(dir)) {
-            walk.forEach(f -> watch.produce(HotDeploymentWatchedFileBuildItem.builder()
-                    .setLocation(f.toAbsolutePath().toString()).build()));
+            walk.map(f -> f.toAbsolutePath().toString())
+                    .filter(filter)
+                    .forEach(location -> watch.produce(HotDeploymentWatchedFileBuildItem.builder()
+                            .setLocation(location).build()));
         } catch (IOException e) {
             // directory not accessible, skip
         }
@@ -0,0 +1,25 @@
+package io.quarkiverse.roq.deployment.items;
+
+import java.nio.file.Path;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+/**
+ * A data file fingerprinted on its own (see {@code RoqDataDependencies}), the incremental generation only generates
+ * again the pages reading it when it changes. It is not part of the fingerprint of the rest of the build.
+ */
+public final class RoqTrackedDataFileBuildItem extends MultiBuildItem {
+
+    /**
+     * The file, as found in the project or the application archive.
+     */
+    private final Path file;
+
+    public RoqTrackedDataFileBuildItem(Path file) {
+        this.file = file;
+    }
+
+    public Path file() {
+        return file;
+    }
+}
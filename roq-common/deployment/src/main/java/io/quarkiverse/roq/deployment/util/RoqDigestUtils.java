@@ -0,0 +1,42 @@
+package io.quarkiverse.roq.deployment.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 fingerprints of the build inputs (data files, site inputs, application archive...), compared by the
+ * incremental generation.
+ */
+public final class RoqDigestUtils {
+
+    private RoqDigestUtils() {
+    }
+
+    public static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Add a value and a separator, so that consecutive values can't be confused.
+     */
+    public static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+    }
+
+    public static String hex(MessageDigest digest) {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public static String hex(byte[] content) {
+        final MessageDigest digest = sha256();
+        digest.update(content);
+        return hex(digest);
+    }
+}
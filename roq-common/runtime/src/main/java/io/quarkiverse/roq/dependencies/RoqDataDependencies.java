@@ -0,0 +1,76 @@
+package io.quarkiverse.roq.dependencies;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The data dependencies of the rendered pages, used by the generator to only generate again the pages of the
+ * changed data.
+ * <p>
+ * The generator asks a page to track its data with the {@value #TRACK_HEADER} request header, the names of the data
+ * read to render the page are then returned in the {@value #DATA_HEADER} response header. The fingerprints of the
+ * data and the data used to build the site itself are registered when the application starts.
+ */
+public final class RoqDataDependencies {
+
+    public static final String TRACK_HEADER = "X-Roq-Track-Data";
+    public static final String DATA_HEADER = "X-Roq-Data";
+
+    private static volatile Map<String, String> fingerprints = Map.of();
+    private static volatile Set<String> siteData = Set.of();
+
+    private RoqDataDependencies() {
+    }
+
+    /**
+     * @param fingerprints the fingerprint of the files of each data, by data name
+     */
+    public static void setFingerprints(Map<String, String> fingerprints) {
+        RoqDataDependencies.fingerprints = Map.copyOf(fingerprints);
+    }
+
+    /**
+     * @return the fingerprint of the files of each data, by data name
+     */
+    public static Map<String, String> fingerprints() {
+        return fingerprints;
+    }
+
+    public static boolean isData(String name) {
+        return fingerprints.containsKey(name);
+    }
+
+    /**
+     * @param names the data used to build the site itself (e.g. the pages of a collection), a change of this data may
+     *        change any page
+     */
+    public static void setSiteData(Collection<String> names) {
+        siteData = Set.copyOf(names);
+    }
+
+    public static Set<String> siteData() {
+        return siteData;
+    }
+
+    /**
+     * @return the value of the {@value #DATA_HEADER} header
+     */
+    public static String format(Collection<String> names) {
+        return String.join(",", new TreeSet<>(names));
+    }
+
+    /**
+     * @param header the value of the {@value #DATA_HEADER} header
+     */
+    public static Set<String> parse(String header) {
+        final Set<String> names = new TreeSet<>();
+        for (String name : header.split(",")) {
+            if (!name.isBlank()) {
+                names.add(name.strip());
+            }
+        }
+        return names;
+    }
+}
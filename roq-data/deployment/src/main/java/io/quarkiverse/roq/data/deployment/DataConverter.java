@@ -1,9 +1,12 @@
 package io.quarkiverse.roq.data.deployment;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonParser;
+
 public interface DataConverter {
 
     Object convert(byte[] content) throws IOException;
@@ -13,4 +16,36 @@ public interface DataConverter {
     <T> List<T> convertToTypedList(byte[] content, Class<T> clazz) throws IOException;
 
     <T> Map<String, T> convertToTypedMap(byte[] content, Class<T> clazz) throws IOException;
+
+    /**
+     * @return true if the content is converted from a stream, so the files are not read in memory before the
+     *         conversion (see the {@link InputStream} variants)
+     */
+    default boolean isStreamed() {
+        return false;
+    }
+
+    default Object convert(InputStream content) throws IOException {
+        return convert(content.readAllBytes());
+    }
+
+    default <T> T convertToType(InputStream content, Class<T> clazz) throws IOException {
+        return convertToType(content.readAllBytes(), clazz);
+    }
+
+    default <T> List<T> convertToTypedList(InputStream content, Class<T> clazz) throws IOException {
+        return convertToTypedList(content.readAllBytes(), clazz);
+    }
+
+    default <T> Map<String, T> convertToTypedMap(InputStream content, Class<T> clazz) throws IOException {
+        return convertToTypedMap(content.readAllBytes(), clazz);
+    }
+
+    /**
+     * @return a parser over the tokens of the content, with the mapper as codec, or null if the format is not read as a
+     *         single token stream (the records are then bound with {@link #convertToType(byte[], Class)})
+     */
+    default JsonParser createParser(byte[] content) throws IOException {
+        return null;
+    }
 }
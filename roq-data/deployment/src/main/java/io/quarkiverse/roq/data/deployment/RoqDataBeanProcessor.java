@@ -1,22 +1,52 @@
 package io.quarkiverse.roq.data.deployment;
 
+import static io.quarkiverse.roq.deployment.util.RoqDigestUtils.hex;
+import static io.quarkiverse.roq.deployment.util.RoqDigestUtils.sha256;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Singleton;
 
 import org.jboss.logging.Logger;
 
+import io.quarkiverse.roq.data.deployment.exception.DataBindingException;
+import io.quarkiverse.roq.data.deployment.exception.DataReadingException;
 import io.quarkiverse.roq.data.deployment.items.RoqDataBeanBuildItem;
+import io.quarkiverse.roq.data.deployment.items.RoqDataBuildItem;
+import io.quarkiverse.roq.data.deployment.items.RoqDataHotReloadBuildItem;
 import io.quarkiverse.roq.data.deployment.items.RoqDataJsonBuildItem;
+import io.quarkiverse.roq.data.runtime.RoqDataBinary;
+import io.quarkiverse.roq.data.runtime.RoqDataIndex;
+import io.quarkiverse.roq.data.runtime.RoqDataIndexes;
 import io.quarkiverse.roq.data.runtime.RoqDataRecorder;
+import io.quarkiverse.roq.data.runtime.annotations.DataMapping;
+import io.quarkiverse.roq.deployment.items.RoqTrackedDataFileBuildItem;
+import io.quarkiverse.roq.exception.RoqException;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
+import io.quarkus.deployment.builditem.GeneratedResourceBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.NativeImageResourceBuildItem;
 import io.quarkus.deployment.builditem.nativeimage.ReflectiveClassBuildItem;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
@@ -31,6 +61,25 @@ class RoqDataBeanProcessor {
         return new FeatureBuildItem(FEATURE);
     }
 
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    void registerFingerprints(List<RoqDataBuildItem> dataFiles,
+            List<RoqDataJsonBuildItem> roqDataJsonBuildItems,
+            List<RoqDataBeanBuildItem> dataBeanBuildItems,
+            BuildProducer<RoqTrackedDataFileBuildItem> trackedDataFileProducer,
+            RoqDataRecorder recorder) {
+        final Set<String> names = new TreeSet<>();
+        roqDataJsonBuildItems.forEach(item -> names.add(item.getName()));
+        dataBeanBuildItems.forEach(item -> names.add(item.getName()));
+        // The generator compares them with the previous generation to find the pages of the changed data
+        recorder.registerRoqDataFingerprints(fingerprints(names, dataFiles));
+        for (RoqDataBuildItem file : dataFiles) {
+            if (file.sourceFile() != null) {
+                trackedDataFileProducer.produce(new RoqTrackedDataFileBuildItem(file.sourceFile()));
+            }
+        }
+    }
+
     @BuildStep
     @Record(ExecutionTime.STATIC_INIT)
     void generateSyntheticBeans(RoqDataConfig config,
@@ -38,13 +87,20 @@ class RoqDataBeanProcessor {
             BuildProducer<SyntheticBeanBuildItem> beansProducer,
             List<RoqDataJsonBuildItem> roqDataJsonBuildItems,
             List<RoqDataBeanBuildItem> dataBeanBuildItems,
+            Optional<RoqDataHotReloadBuildItem> hotReload,
             BuildProducer<ReflectiveClassBuildItem> reflectiveClassProducer,
+            BuildProducer<GeneratedResourceBuildItem> generatedResourceProducer,
+            BuildProducer<NativeImageResourceBuildItem> nativeImageResourceProducer,
             RoqDataRecorder recorder) {
 
         reflectiveClassProducer.produce(
                 ReflectiveClassBuildItem.builder(JsonObject.class).serialization().constructors().fields().methods().build());
 
         List<String> beans = new ArrayList<>(roqDataJsonBuildItems.size());
+        recorder.resetRoqDataIndexes();
+        recorder.resetRoqDataHotReload();
+
+        final Map<String, byte[]> binaries = binaries(roqDataJsonBuildItems, config.binaryThreshold().asLongValue());
 
         for (RoqDataJsonBuildItem roqData : roqDataJsonBuildItems) {
             final Class<?> cl;
@@ -55,24 +111,53 @@ class RoqDataBeanProcessor {
             } else {
                 throw new IllegalStateException("Unsupported Json data bean type for %s".formatted(roqData.getName()));
             }
-            beansProducer.produce(SyntheticBeanBuildItem.configure(cl)
+            final SyntheticBeanBuildItem.ExtendedBeanConfigurator configurator = SyntheticBeanBuildItem.configure(cl)
                     .scope(ApplicationScoped.class)
                     .named(roqData.getName())
-                    .runtimeValue(recorder.createRoqDataJson(roqData.getData()))
-                    .unremovable()
-                    .done());
+                    .unremovable();
+            final List<String> indexes = indexedFields(config, roqData.getName(), null, roqData.getData(),
+                    reflectiveClassProducer);
+            final byte[] binary = binaries.get(roqData.getName());
+            if (roqData.isDirectory() && roqData.getFiles().stream()
+                    .allMatch(file -> binaries.containsKey(roqData.getName() + "/" + file))) {
+                configurator.supplier(indexed(recorder, recorder.loadRoqDataTree(roqData.getName(), roqData.getFiles()),
+                        indexes));
+            } else if (binary != null) {
+                // Large data is not recorded as bytecode, it is decoded lazily from a resource
+                final String resourceName = RoqDataBinary.RESOURCE_DIR + roqData.getName() + ".bin";
+                generatedResourceProducer.produce(new GeneratedResourceBuildItem(resourceName, binary));
+                nativeImageResourceProducer.produce(new NativeImageResourceBuildItem(resourceName));
+                configurator.supplier(indexed(recorder,
+                        reloadable(recorder, roqData.getName(), hotReload, recorder.loadRoqDataJson(resourceName)),
+                        indexes));
+            } else if (!indexes.isEmpty() || isReloadable(roqData.getName(), hotReload)) {
+                configurator.supplier(indexed(recorder,
+                        reloadable(recorder, roqData.getName(), hotReload, recorder.createRoqDataSupplier(roqData.getData())),
+                        indexes));
+            } else {
+                configurator.runtimeValue(recorder.createRoqDataJson(roqData.getData()));
+            }
+            beansProducer.produce(configurator.done());
             beans.add("    - %s[name=%s]*".formatted(cl.getName(), roqData.getName()));
         }
 
         for (RoqDataBeanBuildItem beanBuildItem : dataBeanBuildItems) {
-            reflectiveClassProducer.produce(ReflectiveClassBuildItem.builder(beanBuildItem.getBeanClass()).serialization()
+            // The data is bound at build time, only the templates access the bean at runtime
+            reflectiveClassProducer.produce(ReflectiveClassBuildItem.builder(beanBuildItem.getBeanClass())
                     .constructors().fields().methods().build());
-            beansProducer.produce(SyntheticBeanBuildItem.configure(beanBuildItem.getBeanClass())
+            final SyntheticBeanBuildItem.ExtendedBeanConfigurator configurator = SyntheticBeanBuildItem
+                    .configure(beanBuildItem.getBeanClass())
                     .scope(beanBuildItem.isRecord() ? Singleton.class : ApplicationScoped.class)
                     .named(beanBuildItem.getName())
-                    .runtimeValue(recorder.createRoqDataJson(beanBuildItem.getData()))
-                    .unremovable()
-                    .done());
+                    .unremovable();
+            final List<String> indexes = indexedFields(config, beanBuildItem.getName(), beanBuildItem.getBeanClass(),
+                    beanBuildItem.getData(), reflectiveClassProducer);
+            if (indexes.isEmpty()) {
+                configurator.runtimeValue(recorder.createRoqDataJson(beanBuildItem.getData()));
+            } else {
+                configurator.supplier(indexed(recorder, recorder.createRoqDataSupplier(beanBuildItem.getData()), indexes));
+            }
+            beansProducer.produce(configurator.done());
             beans.add("    - %s[name=%s]".formatted(beanBuildItem.getBeanClass().getName(), beanBuildItem.getName()));
         }
 
@@ -83,4 +168,165 @@ class RoqDataBeanProcessor {
         }
     }
 
+    /**
+     * The fingerprint of a data covers its file, or the files of its directory and sub-directories, so that a page
+     * navigating into a directory depends on all of them.
+     */
+    static Map<String, String> fingerprints(Collection<String> names, List<RoqDataBuildItem> dataFiles) {
+        final TreeMap<String, byte[]> fileDigests = new TreeMap<>();
+        for (RoqDataBuildItem file : dataFiles) {
+            fileDigests.put(file.getName(), digest(file));
+        }
+        final Map<String, String> fingerprints = new HashMap<>();
+        for (String name : names) {
+            final MessageDigest digest = sha256();
+            final byte[] file = fileDigests.get(name);
+            if (file != null) {
+                digest.update(file);
+            }
+            // The files of the directory, '0' is the character after '/'
+            for (Map.Entry<String, byte[]> entry : fileDigests.subMap(name + "/", name + "0").entrySet()) {
+                digest.update(entry.getKey().getBytes(StandardCharsets.UTF_8));
+                digest.update(entry.getValue());
+            }
+            fingerprints.put(name, hex(digest));
+        }
+        return fingerprints;
+    }
+
+    private static byte[] digest(RoqDataBuildItem file) {
+        final MessageDigest digest = sha256();
+        // Streamed files are not in memory, they are digested from the source file
+        try (InputStream in = file.openContent()) {
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new DataReadingException(
+                    RoqException.builder("Unable to read data file")
+                            .detail("Could not read file %s".formatted(file.sourceFile()))
+                            .sourceFilePath(file.sourceFile().toString())
+                            .cause(e));
+        }
+        return digest.digest();
+    }
+
+    private static boolean isReloadable(String name, Optional<RoqDataHotReloadBuildItem> hotReload) {
+        return hotReload.isPresent() && hotReload.get().getLocations(name) != null;
+    }
+
+    /**
+     * In dev mode, the value of a reloadable bean can be replaced when its file changes.
+     */
+    private static Supplier<Object> reloadable(RoqDataRecorder recorder, String name,
+            Optional<RoqDataHotReloadBuildItem> hotReload, Supplier<Object> data) {
+        if (!isReloadable(name, hotReload)) {
+            return data;
+        }
+        return recorder.reloadableRoqData(name, hotReload.get().getLocations(name), data);
+    }
+
+    private static Supplier<Object> indexed(RoqDataRecorder recorder, Supplier<Object> data, List<String> indexes) {
+        return indexes.isEmpty() ? data : recorder.indexRoqData(data, indexes);
+    }
+
+    /**
+     * @return the indexed fields declared in the configuration and on the {@link DataMapping} of the bean
+     */
+    private static List<String> indexedFields(RoqDataConfig config, String name, Class<?> beanClass, Object data,
+            BuildProducer<ReflectiveClassBuildItem> reflectiveClassProducer) {
+        final Set<String> fields = new LinkedHashSet<>(config.indexes().getOrDefault(name, List.of()));
+        if (beanClass != null && beanClass.isAnnotationPresent(DataMapping.class)) {
+            fields.addAll(Arrays.asList(beanClass.getAnnotation(DataMapping.class).indexes()));
+        }
+        if (fields.isEmpty()) {
+            return List.of();
+        }
+        try {
+            // Built once at build time to report invalid indexes, the bean builds its own when created
+            final Object collection = RoqDataIndexes.collectionOf(data);
+            RoqDataIndex.build(collection, fields);
+            RoqDataIndex.items(collection).stream()
+                    .filter(item -> !(item instanceof Map<?, ?> || item instanceof JsonObject))
+                    .map(Object::getClass)
+                    .distinct()
+                    .forEach(itemClass -> reflectiveClassProducer
+                            .produce(ReflectiveClassBuildItem.builder(itemClass).fields().methods().build()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            throw new DataBindingException(
+                    RoqException.builder("Invalid data index")
+                            .detail("Could not index data '%s' on %s: %s".formatted(name, fields, e.getMessage()))
+                            .hint("Check that the indexed fields exist on the data items and that the data is a list or a map")
+                            .cause(e));
+        }
+        return List.copyOf(fields);
+    }
+
+    /**
+     * A file is stored as a resource when it is larger than the threshold, or when it is inside a directory whose
+     * files are larger than the threshold altogether (even if each of them is small). The directory beans load their
+     * files lazily when all of them are stored as resources.
+     *
+     * @return the binary form of the data files stored as resources, by name
+     */
+    private static Map<String, byte[]> binaries(List<RoqDataJsonBuildItem> roqDataJsonBuildItems, long threshold) {
+        final Map<String, byte[]> encoded = new HashMap<>();
+        for (RoqDataJsonBuildItem roqData : roqDataJsonBuildItems) {
+            if (!roqData.isDirectory()) {
+                final byte[] binary = toBinary(roqData);
+                if (binary != null) {
+                    encoded.put(roqData.getName(), binary);
+                }
+            }
+        }
+        final Set<String> largeDirectories = new HashSet<>();
+        for (RoqDataJsonBuildItem roqData : roqDataJsonBuildItems) {
+            if (roqData.isDirectory()) {
+                long size = 0;
+                for (String file : roqData.getFiles()) {
+                    final byte[] binary = encoded.get(roqData.getName() + "/" + file);
+                    if (binary == null) {
+                        // A file which can't be stored as binary is recorded with its directory
+                        size = -1;
+                        break;
+                    }
+                    size += binary.length;
+                }
+                if (size > threshold) {
+                    largeDirectories.add(roqData.getName());
+                }
+            }
+        }
+        final Map<String, byte[]> binaries = new HashMap<>();
+        encoded.forEach((name, binary) -> {
+            if (binary.length > threshold || inDirectory(name, largeDirectories)) {
+                binaries.put(name, binary);
+            }
+        });
+        return binaries;
+    }
+
+    private static boolean inDirectory(String name, Set<String> directories) {
+        for (int slash = name.indexOf('/'); slash > 0; slash = name.indexOf('/', slash + 1)) {
+            if (directories.contains(name.substring(0, slash))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the binary form of the data, null if it can't be stored as binary
+     */
+    private static byte[] toBinary(RoqDataJsonBuildItem roqData) {
+        try {
+            return RoqDataBinary.Writer.write(roqData.getData());
+        } catch (IllegalArgumentException e) {
+            LOG.debugf("Data bean '%s' can't be stored as binary, it is recorded: %s", roqData.getName(), e.getMessage());
+            return null;
+        }
+    }
+
 }
@@ -1,10 +1,14 @@
 package io.quarkiverse.roq.data.deployment;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import io.quarkiverse.roq.data.runtime.annotations.DataMapping;
+import io.quarkus.runtime.annotations.ConfigDocMapKey;
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 
@@ -35,6 +39,35 @@ public interface RoqDataConfig {
     @WithDefault("true")
     boolean logDataBeans();
 
+    /**
+     * Untyped data beans larger than this (in their binary form) are stored as a resource and decoded lazily when
+     * accessed, instead of being recorded in the application bytecode. The decoded objects and arrays are copied
+     * on the first write, so they can be modified like the recorded ones.
+     * <br>
+     * For a data directory, the threshold applies to the size of all its files, which are then loaded only when a
+     * template navigates into their branch.
+     */
+    @WithDefault("64K")
+    MemorySize binaryThreshold();
+
+    /**
+     * The item fields to index by data name (e.g. {@code quarkus.roq.data.indexes.products=category,price}), so
+     * templates can look up items with {@code by('field', value)} and {@code range('field', from, to)} without
+     * scanning the whole collection.
+     * <br>
+     * For a {@link DataMapping}, the indexes can also be declared with {@link DataMapping#indexes()}.
+     */
+    @ConfigDocMapKey("data-name")
+    Map<String, List<String>> indexes();
+
+    /**
+     * In dev mode, reload the untyped data files when they change without restarting the application.
+     * <br>
+     * Files mapped with {@link DataMapping}, in data directories or used to generate pages still need a restart.
+     */
+    @WithDefault("true")
+    boolean hotReload();
+
     static boolean isEqual(RoqDataConfig q1, RoqDataConfig q2) {
         return Objects.equals(q1.dir(), q2.dir()) && Objects.equals(q1.enforceBean(), q2.enforceBean());
     }
@@ -1,30 +1,46 @@
 package io.quarkiverse.roq.data.deployment;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+
+import io.quarkiverse.roq.data.deployment.converters.DataFileConversions;
+import io.quarkiverse.roq.data.deployment.converters.RecordBinder;
 import io.quarkiverse.roq.data.deployment.exception.DataBindingException;
 import io.quarkiverse.roq.data.deployment.exception.DataReadingException;
 import io.quarkiverse.roq.data.deployment.items.DataMappingBuildItem;
 import io.quarkiverse.roq.data.deployment.items.RoqDataBeanBuildItem;
+import io.quarkiverse.roq.data.deployment.items.RoqDataBuildItem;
 import io.quarkiverse.roq.exception.RoqException;
 import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
+import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 
 public class RoqDataConverterProcessor {
 
     @BuildStep
     void convertDataMapping(List<DataMappingBuildItem> mappings,
+            CombinedIndexBuildItem index,
             BuildProducer<RoqDataBeanBuildItem> beans) {
 
+        // The record binders are created once per mapped class, from the index
+        final Map<DotName, Optional<RecordBinder>> binders = new HashMap<>();
         for (DataMappingBuildItem mapping : mappings) {
             if (mapping.isParentType()) {
                 switch (mapping.getMappingType()) {
-                    case OBJECT_DIR -> produceCollectionBean(beans, mapping, true);
-                    case ARRAY_DIR, ARRAY_FILE -> produceCollectionBean(beans, mapping, false);
+                    case OBJECT_DIR -> produceCollectionBean(beans, mapping, true,
+                            binder(binders, index.getIndex(), mapping.getClassName()));
+                    case ARRAY_DIR, ARRAY_FILE -> produceCollectionBean(beans, mapping, false,
+                            binder(binders, index.getIndex(), mapping.getClassName()));
                     case OBJECT_FILE -> throw new DataReadingException(
                             RoqException.builder("Unable to convert data directory")
                                     .detail("""
@@ -36,8 +52,18 @@ public class RoqDataConverterProcessor {
                 }
             } else {
                 Class<?> beanClass = loadClass(mapping.getClassName().toString());
+                final RecordBinder binder = binder(binders, index.getIndex(), mapping.getClassName());
                 try {
-                    final Object data = mapping.getConverter().convertToType(mapping.getContent(), beanClass);
+                    final Object data;
+                    if (mapping.getConverter().isStreamed()) {
+                        try (InputStream content = mapping.openContent()) {
+                            data = mapping.getConverter().convertToType(content, beanClass);
+                        }
+                    } else if (binder != null) {
+                        data = binder.bind(mapping.getConverter(), mapping.getContent());
+                    } else {
+                        data = mapping.getConverter().convertToType(mapping.getContent(), beanClass);
+                    }
                     beans.produce(new RoqDataBeanBuildItem(mapping.getName(), beanClass, data, mapping.isRecord()));
                 } catch (IOException e) {
                     throw new DataReadingException(
@@ -54,7 +80,7 @@ public class RoqDataConverterProcessor {
     }
 
     private void produceCollectionBean(BuildProducer<RoqDataBeanBuildItem> beans, DataMappingBuildItem mapping,
-            boolean isMap) {
+            boolean isMap, RecordBinder binder) {
         Class<?> parentClass = loadClass(mapping.getParentType().toString());
         Class<?> collectionClass = isMap ? Map.class : List.class;
 
@@ -76,8 +102,20 @@ public class RoqDataConverterProcessor {
         try {
             final Class<?> itemClass = loadClass(mapping.getClassName().toString());
             final Object collection;
-            if (isMap) {
+            if (mapping.isDirectory()) {
+                // Each file is bound straight to the item class
+                final Map<String, Object> items = DataFileConversions.convertAll(mapping.getFiles(),
+                        file -> convertFile(file, binder, itemClass));
+                collection = isMap ? items : new ArrayList<>(items.values());
+            } else if (mapping.getConverter().isStreamed()) {
+                try (InputStream content = mapping.openContent()) {
+                    collection = isMap ? mapping.getConverter().convertToTypedMap(content, itemClass)
+                            : mapping.getConverter().convertToTypedList(content, itemClass);
+                }
+            } else if (isMap) {
                 collection = mapping.getConverter().convertToTypedMap(mapping.getContent(), itemClass);
+            } else if (binder != null) {
+                collection = binder.bindList(mapping.getConverter(), mapping.getContent());
             } else {
                 collection = mapping.getConverter().convertToTypedList(mapping.getContent(), itemClass);
             }
@@ -98,6 +136,22 @@ public class RoqDataConverterProcessor {
         }
     }
 
+    private static Object convertFile(RoqDataBuildItem file, RecordBinder binder, Class<?> itemClass)
+            throws IOException {
+        if (file.converter().isStreamed()) {
+            try (InputStream content = file.openContent()) {
+                return file.converter().convertToType(content, itemClass);
+            }
+        }
+        return binder != null ? binder.bind(file.converter(), file.getContent())
+                : file.converter().convertToType(file.getContent(), itemClass);
+    }
+
+    private static RecordBinder binder(Map<DotName, Optional<RecordBinder>> binders, IndexView index,
+            DotName className) {
+        return binders.computeIfAbsent(className, c -> Optional.ofNullable(RecordBinder.create(index, c))).orElse(null);
+    }
+
     private Class<?> loadClass(String className) {
         try {
             return Class.forName(className, false, Thread.currentThread().getContextClassLoader());
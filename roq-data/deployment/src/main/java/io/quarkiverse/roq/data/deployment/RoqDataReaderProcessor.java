@@ -5,9 +5,11 @@ import static io.quarkiverse.tools.stringpaths.StringPaths.removeExtension;
 import static io.quarkiverse.tools.stringpaths.StringPaths.toUnixPath;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -15,6 +17,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -26,19 +29,20 @@ import org.jboss.jandex.DotName;
 import org.jboss.jandex.MethodInfo;
 import org.jboss.logging.Logger;
 
-import com.fasterxml.jackson.databind.json.JsonMapper;
-
 import io.quarkiverse.roq.data.deployment.converters.DataConverterFinder;
-import io.quarkiverse.roq.data.deployment.converters.JsonConverter;
-import io.quarkiverse.roq.data.deployment.exception.DataConversionException;
+import io.quarkiverse.roq.data.deployment.converters.DataFileConversions;
 import io.quarkiverse.roq.data.deployment.exception.DataMappingMismatchException;
 import io.quarkiverse.roq.data.deployment.exception.DataMappingRequiredFileException;
+import io.quarkiverse.roq.data.deployment.exception.DataReadingException;
 import io.quarkiverse.roq.data.deployment.exception.DataScanningException;
 import io.quarkiverse.roq.data.deployment.items.DataMappingBuildItem;
 import io.quarkiverse.roq.data.deployment.items.RoqDataBeanBuildItem;
 import io.quarkiverse.roq.data.deployment.items.RoqDataBuildItem;
+import io.quarkiverse.roq.data.deployment.items.RoqDataHotReloadBuildItem;
 import io.quarkiverse.roq.data.deployment.items.RoqDataJsonBuildItem;
+import io.quarkiverse.roq.data.deployment.items.RoqDataRestartBuildItem;
 import io.quarkiverse.roq.data.runtime.annotations.DataMapping;
+import io.quarkiverse.roq.data.runtime.devmode.RoqDataHotReload;
 import io.quarkiverse.roq.deployment.items.RoqJacksonBuildItem;
 import io.quarkiverse.roq.deployment.items.RoqProjectBuildItem;
 import io.quarkiverse.roq.exception.RoqException;
@@ -54,11 +58,13 @@ import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.builditem.AdditionalIndexedClassesBuildItem;
 import io.quarkus.deployment.builditem.CombinedIndexBuildItem;
 import io.quarkus.deployment.builditem.HotDeploymentWatchedFileBuildItem;
+import io.quarkus.dev.console.DevConsoleManager;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonObject;
 
 public class RoqDataReaderProcessor {
 
-    private static final String GLOB = "glob:**.{yaml,yml,json}";
+    private static final String GLOB = "glob:**.{yaml,yml,json,ndjson,jsonl,csv,tsv}";
     private static final Logger LOG = Logger.getLogger(RoqDataReaderProcessor.class);
     private static final DotName DATA_MAPPING_ANNOTATION = DotName.createSimple(DataMapping.class.getName());
     RoqDataConfig roqDataConfig;
@@ -81,7 +87,7 @@ public class RoqDataReaderProcessor {
             } catch (IOException e) {
                 throw new DataScanningException(
                         RoqException.builder("Unable to scan data files")
-                                .hint("Check that the data/ directory exists and its files are valid YAML or JSON")
+                                .hint("Check that the data/ directory exists and its files are valid YAML, JSON, NDJSON or CSV")
                                 .cause(e));
             }
         }
@@ -108,7 +114,6 @@ public class RoqDataReaderProcessor {
     void scanDataMappings(
             CombinedIndexBuildItem index,
             List<RoqDataBuildItem> roqDataBuildItems,
-            RoqJacksonBuildItem jackson,
             BuildProducer<DataMappingBuildItem> dataMappingProducer,
             BuildProducer<RoqDataJsonBuildItem> dataJsonProducer,
             BuildProducer<RoqDataBeanBuildItem> dataBeanProducer,
@@ -133,6 +138,7 @@ public class RoqDataReaderProcessor {
         Map<String, TreeMap<String, RoqDataBuildItem>> allDirFiles = collectDirectoryFiles(roqDataBuildItems);
         Set<String> producedJsonNames = new HashSet<>();
         Map<String, Object> convertedData = new HashMap<>();
+        List<RoqDataBuildItem> untypedItems = new ArrayList<>();
 
         for (RoqDataBuildItem roqDataBuildItem : roqDataBuildItems) {
             String fullName = roqDataBuildItem.getName();
@@ -160,50 +166,73 @@ public class RoqDataReaderProcessor {
                             "@DataMapping(type=ARRAY_FILE) should declare a constructor with a List<T> parameter"));
                     final DotName itemType = methodInfo.parameterType(0).asParameterizedType().arguments().get(0).name();
                     dataMappingProducer.produce(new DataMappingBuildItem(
-                            fullName, item.sourceFile(), className, itemType,
-                            item.getContent(), item.converter(), target.asClass().isRecord(), type));
+                            fullName, className, itemType, item, target.asClass().isRecord(), type));
                 } else {
                     dataMappingProducer.produce(new DataMappingBuildItem(
-                            fullName, item.sourceFile(), null, className,
-                            item.getContent(), item.converter(), target.asClass().isRecord(), null));
+                            fullName, null, className, item, target.asClass().isRecord(), null));
                 }
             } else {
-                try {
-                    final Object converted = roqDataBuildItem.converter().convert(roqDataBuildItem.getContent());
-                    dataJsonProducer.produce(new RoqDataJsonBuildItem(fullName, converted));
-                    producedJsonNames.add(fullName);
-                    convertedData.put(fullName, converted);
-                } catch (IOException e) {
-                    throw new DataConversionException(
-                            RoqException.builder("Unable to convert data file")
-                                    .detail("Could not convert file %s as an Object"
-                                            .formatted(roqDataBuildItem.sourceFile()))
-                                    .sourceFilePath(roqDataBuildItem.sourceFile().toString())
-                                    .hint("Verify the file contains valid YAML or JSON")
-                                    .cause(e));
-                }
+                untypedItems.add(roqDataBuildItem);
             }
         }
 
-        // Produce grouped RoqDataJsonBuildItem for untyped directories
-        for (Map.Entry<String, TreeMap<String, RoqDataBuildItem>> entry : allDirFiles.entrySet()) {
-            if (!producedJsonNames.contains(entry.getKey()) && !dirAnnotationNames.contains(entry.getKey())) {
-                TreeMap<String, Object> grouped = new TreeMap<>();
-                for (Map.Entry<String, RoqDataBuildItem> fileEntry : entry.getValue().entrySet()) {
-                    Object converted = convertedData.get(entry.getKey() + "/" + fileEntry.getKey());
-                    if (converted != null) {
-                        grouped.put(fileEntry.getKey(), converted);
-                    }
+        // Untyped files are converted on a bounded pool, results are produced in the scan order
+        final List<Object> converted = DataFileConversions.mapOrdered(untypedItems,
+                item -> DataFileConversions.convert(item, RoqDataBuildItem::convert));
+        for (int i = 0; i < untypedItems.size(); i++) {
+            final String fullName = untypedItems.get(i).getName();
+            dataJsonProducer.produce(new RoqDataJsonBuildItem(fullName, converted.get(i)));
+            producedJsonNames.add(fullName);
+            convertedData.put(fullName, converted.get(i));
+        }
+
+        // Produce grouped RoqDataJsonBuildItem for untyped directories, the deepest first to nest them in their parent
+        final Map<String, RoqDataJsonBuildItem> groups = new HashMap<>();
+        final Map<String, TreeSet<String>> subDirs = new HashMap<>();
+        for (String dirName : allDirFiles.keySet()) {
+            final String parent = parentDir(dirName);
+            if (parent != null) {
+                subDirs.computeIfAbsent(parent, k -> new TreeSet<>()).add(dirName);
+            }
+        }
+        final List<String> dirNames = new ArrayList<>(allDirFiles.keySet());
+        dirNames.sort(Comparator.comparingInt(RoqDataReaderProcessor::depth).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        for (String dirName : dirNames) {
+            if (producedJsonNames.contains(dirName) || dirAnnotationNames.contains(dirName)) {
+                continue;
+            }
+            TreeMap<String, Object> grouped = new TreeMap<>();
+            List<String> files = new ArrayList<>();
+            for (Map.Entry<String, RoqDataBuildItem> fileEntry : allDirFiles.get(dirName).entrySet()) {
+                Object converted = convertedData.get(dirName + "/" + fileEntry.getKey());
+                if (converted != null) {
+                    grouped.put(fileEntry.getKey(), converted);
+                    files.add(fileEntry.getKey());
+                }
+            }
+            for (String subDirName : subDirs.getOrDefault(dirName, new TreeSet<>())) {
+                final RoqDataJsonBuildItem subGroup = groups.get(subDirName);
+                if (subGroup == null) {
+                    continue;
                 }
-                if (!grouped.isEmpty()) {
-                    dataJsonProducer.produce(new RoqDataJsonBuildItem(entry.getKey(), new JsonObject(grouped)));
+                final String key = subDirName.substring(dirName.length() + 1);
+                // A file with the same name as a directory wins, like for the data beans
+                if (grouped.putIfAbsent(key, subGroup.getData()) == null) {
+                    for (String file : subGroup.getFiles()) {
+                        files.add(key + "/" + file);
+                    }
                 }
             }
+            if (!grouped.isEmpty()) {
+                final RoqDataJsonBuildItem group = new RoqDataJsonBuildItem(dirName, new JsonObject(grouped), files);
+                groups.put(dirName, group);
+                dataJsonProducer.produce(group);
+            }
         }
 
         // Handle typed directory annotations (ARRAY_DIR / OBJECT_DIR)
-        processDirectoryAnnotations(allDirFiles, annotationMap, resolvedTypes, dirAnnotationNames, dataMappingProducer,
-                jackson.getJsonMapper());
+        processDirectoryAnnotations(allDirFiles, annotationMap, resolvedTypes, dirAnnotationNames, dataMappingProducer);
     }
 
     private static String getCollectionName(String fullName) {
@@ -281,8 +310,7 @@ public class RoqDataReaderProcessor {
             Map<String, AnnotationInstance> annotationMap,
             Map<String, DataMapping.Type> resolvedTypes,
             Set<String> dirAnnotationNames,
-            BuildProducer<DataMappingBuildItem> dataMappingProducer,
-            JsonMapper jsonMapper) {
+            BuildProducer<DataMappingBuildItem> dataMappingProducer) {
 
         for (String dirName : dirAnnotationNames) {
             AnnotationInstance ann = annotationMap.get(dirName);
@@ -295,79 +323,63 @@ public class RoqDataReaderProcessor {
                 continue;
             }
 
-            try {
-                ClassLoader cl = Thread.currentThread().getContextClassLoader();
-                Class<?> parentClass = Class.forName(parentClassName.toString(), false, cl);
-
-                if (type == DataMapping.Type.ARRAY_DIR) {
-                    MethodInfo methodInfo = target.asClass().constructors().stream()
-                            .filter(this::isCompliantWithListConstructor)
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException(
-                                    "@DataMapping(type=ARRAY_DIR) on '%s' should declare a constructor with a List<T> parameter"
-                                            .formatted(parentClassName)));
-                    DotName itemTypeName = methodInfo.parameterType(0).asParameterizedType().arguments().getFirst().name();
-                    Class<?> itemClass = Class.forName(itemTypeName.toString(), false, cl);
-
-                    List<Object> items = new ArrayList<>();
-                    for (RoqDataBuildItem fileItem : dirFiles.values()) {
-                        //Concatenate YAML
-                        items.add(fileItem.converter().convertToType(fileItem.getContent(), itemClass));
-                    }
-
-                    dataMappingProducer.produce(new DataMappingBuildItem(
-                            dirName, Path.of(dirName), DotName.createSimple(parentClass), itemTypeName,
-                            jsonMapper.writeValueAsBytes(items), new JsonConverter(jsonMapper), target.asClass().isRecord(),
-                            type));
-
-                } else {
-                    MethodInfo methodInfo = target.asClass().constructors().stream()
-                            .filter(this::isCompliantWithMapConstructor)
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException(
-                                    "@DataMapping(type=OBJECT_DIR) on '%s' should declare a constructor with a Map<String, T> parameter"
-                                            .formatted(parentClassName)));
-                    DotName itemTypeName = methodInfo.parameterType(0).asParameterizedType().arguments().get(1).name();
-                    Class<?> itemClass = Class.forName(itemTypeName.toString(), false, cl);
-
-                    Map<String, Object> items = new TreeMap<>();
-                    for (Map.Entry<String, RoqDataBuildItem> fileEntry : dirFiles.entrySet()) {
-                        RoqDataBuildItem fileItem = fileEntry.getValue();
-                        items.put(fileEntry.getKey(),
-                                fileItem.converter().convertToType(fileItem.getContent(), itemClass));
-                    }
-
-                    dataMappingProducer.produce(new DataMappingBuildItem(
-                            dirName, Path.of(dirName), DotName.createSimple(parentClass), itemTypeName,
-                            jsonMapper.writeValueAsBytes(items), new JsonConverter(jsonMapper), target.asClass().isRecord(),
-                            type));
-                }
-            } catch (ClassNotFoundException | IOException e) {
-                throw new RuntimeException(
-                        "Failed to process @DataMapping(type=%s) for directory '%s'".formatted(type, dirName), e);
+            final MethodInfo methodInfo;
+            final DotName itemTypeName;
+            if (type == DataMapping.Type.ARRAY_DIR) {
+                methodInfo = target.asClass().constructors().stream()
+                        .filter(this::isCompliantWithListConstructor)
+                        .findFirst()
+                        .orElseThrow(() -> new RuntimeException(
+                                "@DataMapping(type=ARRAY_DIR) on '%s' should declare a constructor with a List<T> parameter"
+                                        .formatted(parentClassName)));
+                itemTypeName = methodInfo.parameterType(0).asParameterizedType().arguments().getFirst().name();
+            } else {
+                methodInfo = target.asClass().constructors().stream()
+                        .filter(this::isCompliantWithMapConstructor)
+                        .findFirst()
+                        .orElseThrow(() -> new RuntimeException(
+                                "@DataMapping(type=OBJECT_DIR) on '%s' should declare a constructor with a Map<String, T> parameter"
+                                        .formatted(parentClassName)));
+                itemTypeName = methodInfo.parameterType(0).asParameterizedType().arguments().get(1).name();
             }
+
+            // The files are converted once, straight to the item class (or to Json for from-data collections)
+            dataMappingProducer.produce(new DataMappingBuildItem(
+                    dirName, Path.of(dirName), parentClassName, itemTypeName, dirFiles, target.asClass().isRecord(),
+                    type));
         }
     }
 
+    /**
+     * @return the files of each data directory (at any depth) by file name, directories with only sub-directories
+     *         are included with no files
+     */
     private static Map<String, TreeMap<String, RoqDataBuildItem>> collectDirectoryFiles(
             List<RoqDataBuildItem> items) {
         Map<String, TreeMap<String, RoqDataBuildItem>> result = new HashMap<>();
         for (RoqDataBuildItem item : items) {
             String name = item.getName();
-            int slashIdx = name.indexOf('/');
-            if (slashIdx > 0) {
-                if (name.lastIndexOf('/') == slashIdx) {
-                    String dirName = name.substring(0, slashIdx);
-                    String fileKey = name.substring(slashIdx + 1);
-                    result.computeIfAbsent(dirName, k -> new TreeMap<>()).put(fileKey, item);
-                } else {
-                    LOG.debugf("Deeply nested data files are not grouped: %s", name);
-                }
+            String dirName = parentDir(name);
+            if (dirName == null) {
+                continue;
+            }
+            result.computeIfAbsent(dirName, k -> new TreeMap<>()).put(name.substring(dirName.length() + 1), item);
+            for (String ancestor = parentDir(dirName); ancestor != null; ancestor = parentDir(ancestor)) {
+                result.computeIfAbsent(ancestor, k -> new TreeMap<>());
             }
         }
         return result;
     }
 
+    private static String parentDir(String name) {
+        final int slashIdx = name.lastIndexOf('/');
+        return slashIdx > 0 ? name.substring(0, slashIdx) : null;
+    }
+
+    private static int depth(String name) {
+        return (int) name.chars().filter(c -> c == '/').count();
+    }
+
     private boolean isCompliantWithListConstructor(MethodInfo methodInfo) {
         if (methodInfo.parametersCount() == 1) {
             return methodInfo.parameterType(0).asParameterizedType().name()
@@ -402,17 +414,91 @@ public class RoqDataReaderProcessor {
 
     @BuildStep(onlyIf = IsDevelopment.class)
     void watch(RoqDataConfig config, RoqProjectBuildItem roqProject,
+            List<RoqDataBuildItem> dataFiles,
+            List<RoqDataJsonBuildItem> dataJson,
+            List<RoqDataRestartBuildItem> restartData,
             BuildProducer<WebBundlerWatchedDirBuildItem> webBundlerWatch,
-            BuildProducer<HotDeploymentWatchedFileBuildItem> hotWatch) {
+            BuildProducer<HotDeploymentWatchedFileBuildItem> hotWatch,
+            BuildProducer<RoqDataHotReloadBuildItem> hotReloadProducer) {
         final Path localDataDir = roqProject.fromLocalRoqDir(config.dir());
+        String prefix = addTrailingSlash(roqProject.resolveRoqResourceSubDir(config.dir()));
+        final Map<String, RoqDataBuildItem> reloadableFiles = config.hotReload()
+                ? collectReloadableFiles(dataFiles, dataJson, restartData)
+                : Map.of();
+        final Map<String, List<String>> locations = new HashMap<>();
+        for (RoqDataBuildItem file : reloadableFiles.values()) {
+            final Path sourceFile = file.sourceFile().toAbsolutePath();
+            final String location;
+            if (localDataDir != null && sourceFile.startsWith(localDataDir.toAbsolutePath())) {
+                location = sourceFile.toString();
+            } else {
+                final String fileName = sourceFile.getFileName().toString();
+                location = prefix + file.getName() + fileName.substring(fileName.lastIndexOf('.'));
+            }
+            locations.put(file.getName(), List.of(location));
+        }
+        final Set<String> reloadableLocations = locations.values().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toSet());
+
         if (localDataDir != null) {
             webBundlerWatch.produce(new WebBundlerWatchedDirBuildItem(localDataDir));
-            RoqProjectBuildItem.watchDirRecursively(localDataDir, hotWatch);
+            RoqProjectBuildItem.watchDirRecursively(localDataDir, hotWatch, p -> !reloadableLocations.contains(p));
         }
-        String prefix = addTrailingSlash(roqProject.resolveRoqResourceSubDir(config.dir()));
         hotWatch.produce(HotDeploymentWatchedFileBuildItem.builder()
-                .setLocationPredicate(p -> p.startsWith(prefix))
+                .setLocationPredicate(p -> p.startsWith(prefix) && !reloadableLocations.contains(p))
                 .build());
+        for (String location : reloadableLocations) {
+            hotWatch.produce(HotDeploymentWatchedFileBuildItem.builder()
+                    .setLocation(location)
+                    .setRestartNeeded(false)
+                    .build());
+        }
+
+        // Called from the application when a reloadable file changed, Json crosses the class loaders
+        DevConsoleManager.register(RoqDataHotReload.CONVERT_ACTION, params -> {
+            final RoqDataBuildItem file = reloadableFiles.get(params.get("name"));
+            if (file == null) {
+                throw new IllegalArgumentException("Unknown reloadable Roq data: " + params.get("name"));
+            }
+            final byte[] content;
+            try {
+                // Streamed files are read again from the source file when converted
+                content = file.converter().isStreamed() ? null : Files.readAllBytes(file.sourceFile());
+            } catch (IOException e) {
+                throw new DataReadingException(
+                        RoqException.builder("Unable to read data file")
+                                .detail("Could not read file %s".formatted(file.sourceFile()))
+                                .sourceFilePath(file.sourceFile().toString())
+                                .cause(e));
+            }
+            final RoqDataBuildItem changed = new RoqDataBuildItem(file.getName(), file.sourceFile(), content,
+                    file.converter());
+            return Json.encode(DataFileConversions.convert(changed, RoqDataBuildItem::convert));
+        });
+        hotReloadProducer.produce(new RoqDataHotReloadBuildItem(locations));
+    }
+
+    /**
+     * @return the untyped data files, outside of directories and not used at build time, by name
+     */
+    private static Map<String, RoqDataBuildItem> collectReloadableFiles(List<RoqDataBuildItem> dataFiles,
+            List<RoqDataJsonBuildItem> dataJson, List<RoqDataRestartBuildItem> restartData) {
+        final Set<String> restartNames = restartData.stream()
+                .map(RoqDataRestartBuildItem::getName)
+                .collect(Collectors.toSet());
+        final Set<String> names = dataJson.stream()
+                .filter(item -> !item.isDirectory() && item.getName().indexOf('/') == -1)
+                .map(RoqDataJsonBuildItem::getName)
+                .filter(name -> !restartNames.contains(name))
+                .collect(Collectors.toSet());
+        final Map<String, RoqDataBuildItem> result = new HashMap<>();
+        for (RoqDataBuildItem file : dataFiles) {
+            if (names.contains(file.getName()) && Files.isRegularFile(file.sourceFile())) {
+                result.put(file.getName(), file);
+            }
+        }
+        return result;
     }
 
     public Collection<RoqDataBuildItem> scanDataFiles(RoqProjectBuildItem roqProject,
@@ -421,8 +507,6 @@ public class RoqDataReaderProcessor {
             RoqDataConfig config)
             throws IOException {
 
-        List<RoqDataBuildItem> items = new ArrayList<>();
-
         // Query 1: Local project files under data dir
         List<ProjectFile> localFiles = scanner.query()
                 .scopeDir(config.dir())
@@ -438,14 +522,22 @@ public class RoqDataReaderProcessor {
                 .list();
 
         final List<ProjectFile> files = ScanQueryBuilder.mergeByScopedPath(localFiles, resourceFiles);
-        for (ProjectFile file : files) {
-            var name = removeExtension(toUnixPath(file.scopedPath()));
-            DataConverter dataConverter = converter.fromFileName(file.scopedPath());
-            if (dataConverter != null) {
-                items.add(new RoqDataBuildItem(name, file.file(), file.content(), dataConverter));
-            }
-        }
-        return items;
+        final List<ProjectFile> dataFiles = files.stream()
+                .filter(file -> converter.fromFileName(file.scopedPath()) != null)
+                .toList();
+        // Files are read on a bounded pool, the items keep the scan order
+        return DataFileConversions.mapOrdered(dataFiles, file -> {
+            final long start = System.nanoTime();
+            final var name = removeExtension(toUnixPath(file.scopedPath()));
+            final DataConverter dataConverter = converter.fromFileName(file.scopedPath());
+            // Streamed formats (CSV, NDJSON...) are read from the file while converted, not held in memory before
+            final boolean streamed = dataConverter.isStreamed() && file.file() != null
+                    && Files.isRegularFile(file.file());
+            final RoqDataBuildItem item = new RoqDataBuildItem(name, file.file(), streamed ? null : file.content(),
+                    dataConverter);
+            LOG.debugf("Roq data file %s read in %dms", name, (System.nanoTime() - start) / 1_000_000);
+            return item;
+        });
     }
 
 }
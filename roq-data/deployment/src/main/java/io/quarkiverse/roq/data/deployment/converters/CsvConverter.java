@@ -0,0 +1,36 @@
+package io.quarkiverse.roq.data.deployment.converters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+/**
+ * Converter for CSV (or TSV) files with a header line, each line is a record with the header columns as keys.
+ * <p>
+ * Cells are read as strings, typed records are bound with the Roq {@link JsonMapper} which coerces them to the
+ * field types.
+ */
+public class CsvConverter extends RecordsConverter {
+
+    private final CsvMapper csvMapper;
+    private final CsvSchema schema;
+
+    public CsvConverter(JsonMapper mapper, char separator) {
+        super(mapper);
+        this.csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                .build();
+        this.schema = CsvSchema.emptySchema().withHeader().withColumnSeparator(separator);
+    }
+
+    @Override
+    protected MappingIterator<Map<String, Object>> readRecords(InputStream content) throws IOException {
+        return csvMapper.readerForMapOf(Object.class).with(schema).readValues(content);
+    }
+}
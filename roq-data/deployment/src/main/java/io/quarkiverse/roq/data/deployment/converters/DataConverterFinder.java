@@ -14,10 +14,15 @@ public final class DataConverterFinder {
     public DataConverterFinder(JsonMapper jsonMapper, YAMLMapper yamlMapper) {
         DataConverter jsonConverter = new JsonConverter(jsonMapper);
         DataConverter yamlConverter = new YamlConverter(yamlMapper);
+        DataConverter ndjsonConverter = new NdjsonConverter(jsonMapper);
         this.converterByExtension = Map.of(
                 "yaml", yamlConverter,
                 "yml", yamlConverter,
-                "json", jsonConverter);
+                "json", jsonConverter,
+                "ndjson", ndjsonConverter,
+                "jsonl", ndjsonConverter,
+                "csv", new CsvConverter(jsonMapper, ','),
+                "tsv", new CsvConverter(jsonMapper, '\t'));
     }
 
     public DataConverter fromFileName(String fileName) {
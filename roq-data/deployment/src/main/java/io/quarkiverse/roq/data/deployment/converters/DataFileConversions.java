@@ -0,0 +1,154 @@
+package io.quarkiverse.roq.data.deployment.converters;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.roq.data.deployment.exception.DataConversionException;
+import io.quarkiverse.roq.data.deployment.items.RoqDataBuildItem;
+import io.quarkiverse.roq.exception.RoqException;
+
+/**
+ * Reading and conversion of data files on a bounded pool, for projects with many data files.
+ */
+public final class DataFileConversions {
+
+    private static final Logger LOG = Logger.getLogger(DataFileConversions.class);
+
+    /**
+     * Fewer files are processed on the calling thread.
+     */
+    static final int PARALLEL_THRESHOLD = 32;
+
+    /**
+     * Maximum number of threads used to process the files.
+     */
+    static final int MAX_THREADS = 8;
+
+    /**
+     * Number of batches submitted per thread, a few to balance uneven inputs.
+     */
+    static final int BATCHES_PER_THREAD = 4;
+
+    private DataFileConversions() {
+    }
+
+    @FunctionalInterface
+    public interface FileConversion<T> {
+        T convert(RoqDataBuildItem file) throws IOException;
+    }
+
+    /**
+     * Convert each file of the directory.
+     *
+     * @param files the directory files by key, in the expected order
+     * @return the converted values by key, in the same order
+     * @throws DataConversionException if a file can't be converted
+     */
+    public static <T> Map<String, T> convertAll(SortedMap<String, RoqDataBuildItem> files, FileConversion<T> conversion) {
+        final List<Map.Entry<String, RoqDataBuildItem>> entries = new ArrayList<>(files.entrySet());
+        final List<T> converted = mapOrdered(entries, e -> convert(e.getValue(), conversion));
+        final Map<String, T> result = new LinkedHashMap<>(entries.size() * 2);
+        for (int i = 0; i < entries.size(); i++) {
+            result.put(entries.get(i).getKey(), converted.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Convert a data file, the conversion time is logged at debug level.
+     *
+     * @throws DataConversionException if the file can't be converted
+     */
+    public static <T> T convert(RoqDataBuildItem file, FileConversion<T> conversion) {
+        final long start = System.nanoTime();
+        try {
+            return conversion.convert(file);
+        } catch (IOException | UncheckedIOException e) {
+            throw new DataConversionException(
+                    RoqException.builder("Unable to convert data file")
+                            .detail("Could not convert file %s".formatted(file.sourceFile()))
+                            .sourceFilePath(file.sourceFile().toString())
+                            .hint("Verify the file contains valid YAML, JSON, NDJSON or CSV matching its @DataMapping, if any")
+                            .cause(e));
+        } finally {
+            LOG.debugf("Roq data file %s converted in %dms", file.getName(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Apply the function to each input on a bounded pool (or on the calling thread for a few inputs). The inputs are
+     * split in a few batches per thread, so that large inputs don't create a task per element.
+     *
+     * @return the results in the order of the inputs
+     */
+    public static <T, R> List<R> mapOrdered(List<T> inputs, Function<T, R> function) {
+        final int threads = Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors());
+        if (inputs.size() < PARALLEL_THRESHOLD || threads < 2) {
+            final List<R> results = new ArrayList<>(inputs.size());
+            for (T input : inputs) {
+                results.add(function.apply(input));
+            }
+            return results;
+        }
+        final int batchSize = Math.ceilDiv(inputs.size(), threads * BATCHES_PER_THREAD);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new DataThreadFactory());
+        try {
+            final List<Future<List<R>>> futures = new ArrayList<>();
+            for (int start = 0; start < inputs.size(); start += batchSize) {
+                final List<T> batch = inputs.subList(start, Math.min(start + batchSize, inputs.size()));
+                futures.add(executor.submit(() -> {
+                    final List<R> results = new ArrayList<>(batch.size());
+                    for (T input : batch) {
+                        results.add(function.apply(input));
+                    }
+                    return results;
+                }));
+            }
+            final List<R> results = new ArrayList<>(inputs.size());
+            for (Future<List<R>> future : futures) {
+                results.addAll(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing Roq data", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class DataThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            // The context class loader of the build thread is inherited, it is needed to bind the mapping classes
+            final Thread thread = new Thread(runnable, "roq-data-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
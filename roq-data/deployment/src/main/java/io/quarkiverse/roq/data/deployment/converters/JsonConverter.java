@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.json.JsonMapper;
 import com.fasterxml.jackson.databind.type.CollectionType;
@@ -43,4 +44,9 @@ public class JsonConverter implements DataConverter {
         final MapType mapType = mapper.getTypeFactory().constructMapType(Map.class, String.class, clazz);
         return mapper.readValue(content, mapType);
     }
+
+    @Override
+    public JsonParser createParser(byte[] content) throws IOException {
+        return mapper.createParser(content);
+    }
 }
@@ -0,0 +1,36 @@
+package io.quarkiverse.roq.data.deployment.converters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+/**
+ * Converter for newline-delimited JSON files (NDJSON / JSON Lines), each line is a JSON record.
+ */
+public class NdjsonConverter extends RecordsConverter {
+
+    public NdjsonConverter(JsonMapper mapper) {
+        super(mapper);
+    }
+
+    @Override
+    protected MappingIterator<Object> readRecords(InputStream content) throws IOException {
+        return mapper.readerFor(Object.class).readValues(content);
+    }
+
+    @Override
+    public <T> List<T> convertToTypedList(InputStream content, Class<T> clazz) throws IOException {
+        // Records are bound directly from the parser
+        final List<T> list = new ArrayList<>();
+        try (MappingIterator<T> records = mapper.readerFor(clazz).readValues(content)) {
+            while (records.hasNextValue()) {
+                list.add(records.nextValue());
+            }
+        }
+        return list;
+    }
+}
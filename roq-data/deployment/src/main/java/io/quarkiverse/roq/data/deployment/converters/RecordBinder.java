@@ -0,0 +1,361 @@
+package io.quarkiverse.roq.data.deployment.converters;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.IndexView;
+import org.jboss.jandex.ParameterizedType;
+import org.jboss.jandex.RecordComponentInfo;
+import org.jboss.jandex.Type;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import io.quarkiverse.roq.data.deployment.DataConverter;
+
+/**
+ * Binds the token stream of a YAML or Json data file straight to the canonical constructor of a {@code @DataMapping}
+ * record.
+ * <p>
+ * The schema of the record (component names, nested records, lists and maps) is read once from the Jandex index,
+ * then each file is bound without building a tree and without looking up Jackson deserializers for every record.
+ * Strings, booleans and numbers are read from the tokens, other values (e.g. enums, dates or a number in a string) are
+ * bound by Jackson, with the same mapper configuration. Records with Jackson annotations and converters without a
+ * token stream (CSV, NDJSON) are fully bound by Jackson.
+ */
+public final class RecordBinder {
+
+    private static final DotName LIST = DotName.createSimple(List.class);
+    private static final DotName MAP = DotName.createSimple(Map.class);
+    private static final DotName STRING = DotName.createSimple(String.class);
+    private static final DotName INTEGER = DotName.createSimple(Integer.class);
+    private static final DotName LONG = DotName.createSimple(Long.class);
+    private static final DotName DOUBLE = DotName.createSimple(Double.class);
+    private static final DotName BOOLEAN = DotName.createSimple(Boolean.class);
+    private static final DotName BIG_DECIMAL = DotName.createSimple(BigDecimal.class);
+    private static final String JACKSON_PACKAGE = "com.fasterxml.jackson.";
+
+    private static final TypeFactory TYPES = TypeFactory.defaultInstance();
+
+    private final Class<?> type;
+    private final ValueReader jackson;
+    private final Constructor<?> constructor;
+    private final Map<String, Integer> components;
+    private final ValueReader[] readers;
+    private final Object[] defaults;
+
+    @FunctionalInterface
+    private interface ValueReader {
+        /**
+         * Read the value starting at the current token, which is not a null token.
+         */
+        Object read(JsonParser parser) throws IOException;
+    }
+
+    private RecordBinder(Class<?> type, Constructor<?> constructor, List<String> names, ValueReader[] readers) {
+        this.type = type;
+        this.jackson = new JacksonReader(TYPES.constructType(type));
+        this.constructor = constructor;
+        this.readers = readers;
+        this.components = new HashMap<>(names.size() * 2);
+        this.defaults = new Object[names.size()];
+        final Class<?>[] parameterTypes = constructor.getParameterTypes();
+        for (int i = 0; i < names.size(); i++) {
+            components.put(names.get(i), i);
+            if (parameterTypes[i].isPrimitive()) {
+                // Jackson binds a missing primitive to its default value
+                defaults[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+        }
+    }
+
+    /**
+     * @return the binder of the record, or null if the class is not a record of the index or if it is bound by Jackson
+     *         (Jackson annotations)
+     */
+    public static RecordBinder create(IndexView index, DotName className) {
+        return create(index, className, new HashMap<>());
+    }
+
+    /**
+     * @param creating the binders being created, a recursive record uses the binder once it is created
+     */
+    private static RecordBinder create(IndexView index, DotName className, Map<DotName, RecordBinder[]> creating) {
+        final ClassInfo classInfo = index.getClassByName(className);
+        if (classInfo == null || !classInfo.isRecord() || hasJacksonAnnotation(classInfo)) {
+            return null;
+        }
+        final RecordBinder[] binder = new RecordBinder[1];
+        creating.put(className, binder);
+        try {
+            final Class<?> type = Class.forName(className.toString(), false,
+                    Thread.currentThread().getContextClassLoader());
+            final RecordComponent[] recordComponents = type.getRecordComponents();
+            final List<RecordComponentInfo> componentInfos = classInfo.recordComponents();
+            if (recordComponents.length != componentInfos.size()) {
+                return null;
+            }
+            final Class<?>[] parameterTypes = new Class<?>[recordComponents.length];
+            final List<String> names = new ArrayList<>(componentInfos.size());
+            final ValueReader[] readers = new ValueReader[componentInfos.size()];
+            for (int i = 0; i < recordComponents.length; i++) {
+                final RecordComponentInfo componentInfo = componentInfos.get(i);
+                parameterTypes[i] = recordComponents[i].getType();
+                names.add(componentInfo.name());
+                readers[i] = reader(index, componentInfo.type(),
+                        TYPES.constructType(recordComponents[i].getGenericType()), creating);
+            }
+            final Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            binder[0] = new RecordBinder(type, constructor, names, readers);
+            return binder[0];
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            throw new IllegalStateException("Unable to bind record %s".formatted(className), e);
+        } finally {
+            creating.remove(className);
+        }
+    }
+
+    /**
+     * @return true if the binders can be used with this mapper, some features change how Jackson binds the records
+     */
+    public static boolean supports(ObjectMapper mapper) {
+        return mapper.getPropertyNamingStrategy() == null && mapper.mixInCount() == 0
+                && !mapper.isEnabled(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES)
+                && !mapper.isEnabled(DeserializationFeature.FAIL_ON_MISSING_CREATOR_PROPERTIES)
+                && !mapper.isEnabled(DeserializationFeature.FAIL_ON_NULL_CREATOR_PROPERTIES)
+                && !mapper.isEnabled(DeserializationFeature.UNWRAP_ROOT_VALUE)
+                && !mapper.isEnabled(DeserializationFeature.FAIL_ON_TRAILING_TOKENS)
+                && !mapper.isEnabled(MapperFeature.ACCEPT_CASE_INSENSITIVE_PROPERTIES);
+    }
+
+    /**
+     * Bind the content to the record, with the converter when it doesn't provide a token stream.
+     */
+    public Object bind(DataConverter converter, byte[] content) throws IOException {
+        try (JsonParser parser = converter.createParser(content)) {
+            if (!isStreamed(parser)) {
+                return converter.convertToType(content, type);
+            }
+            return read(parser);
+        }
+    }
+
+    /**
+     * Bind the content to a list of records, with the converter when it doesn't provide a token stream.
+     */
+    public List<?> bindList(DataConverter converter, byte[] content) throws IOException {
+        try (JsonParser parser = converter.createParser(content)) {
+            if (!isStreamed(parser) || parser.currentToken() != JsonToken.START_ARRAY) {
+                return converter.convertToTypedList(content, type);
+            }
+            return (List<?>) listReader(this::read, TYPES.constructCollectionType(List.class, type)).read(parser);
+        }
+    }
+
+    private static boolean isStreamed(JsonParser parser) throws IOException {
+        // The errors of an empty content are reported by the converter
+        return parser != null && parser.getCodec() instanceof ObjectMapper mapper && supports(mapper)
+                && parser.nextToken() != null;
+    }
+
+    private Object read(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            // a value Jackson may coerce (e.g. an empty string)
+            return readNullable(jackson, parser);
+        }
+        final Object[] args = defaults.clone();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.currentName();
+            parser.nextToken();
+            final Integer component = components.get(name);
+            if (component == null) {
+                if (mapper(parser).isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)) {
+                    throw UnrecognizedPropertyException.from(parser, type, name, new ArrayList<>(components.keySet()));
+                }
+                parser.skipChildren();
+                continue;
+            }
+            final Object value = readNullable(readers[component], parser);
+            if (value != null || defaults[component] == null) {
+                args[component] = value;
+            }
+        }
+        try {
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            throw JsonMappingException.from(parser, "Unable to create record %s".formatted(type.getName()),
+                    e.getCause());
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw JsonMappingException.from(parser, "Unable to create record %s".formatted(type.getName()), e);
+        }
+    }
+
+    /**
+     * Like Jackson with the supported features, a null value is null (or the default value of a primitive).
+     */
+    private static Object readNullable(ValueReader reader, JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : reader.read(parser);
+    }
+
+    private static ValueReader reader(IndexView index, Type type, JavaType javaType,
+            Map<DotName, RecordBinder[]> creating) {
+        final ValueReader jackson = new JacksonReader(javaType);
+        switch (type.kind()) {
+            case PRIMITIVE -> {
+                return switch (type.asPrimitiveType().primitive()) {
+                    case INT -> intReader(jackson);
+                    case LONG -> longReader(jackson);
+                    case DOUBLE -> doubleReader(jackson);
+                    case BOOLEAN -> booleanReader(jackson);
+                    default -> jackson;
+                };
+            }
+            case CLASS -> {
+                final DotName name = type.name();
+                if (STRING.equals(name)) {
+                    return parser -> parser.currentToken() == JsonToken.VALUE_STRING ? parser.getText()
+                            : jackson.read(parser);
+                } else if (INTEGER.equals(name)) {
+                    return intReader(jackson);
+                } else if (LONG.equals(name)) {
+                    return longReader(jackson);
+                } else if (DOUBLE.equals(name)) {
+                    return doubleReader(jackson);
+                } else if (BOOLEAN.equals(name)) {
+                    return booleanReader(jackson);
+                } else if (BIG_DECIMAL.equals(name)) {
+                    return parser -> parser.currentToken().isNumeric() ? parser.getDecimalValue() : jackson.read(parser);
+                }
+                final RecordBinder[] recursive = creating.get(name);
+                if (recursive != null) {
+                    return parser -> recursive[0].read(parser);
+                }
+                final RecordBinder binder = create(index, name, creating);
+                return binder != null ? binder::read : jackson;
+            }
+            case PARAMETERIZED_TYPE -> {
+                final ParameterizedType parameterized = type.asParameterizedType();
+                final List<Type> arguments = parameterized.arguments();
+                if (LIST.equals(parameterized.name()) && arguments.size() == 1) {
+                    return listReader(reader(index, arguments.get(0), javaType.getContentType(), creating), javaType);
+                } else if (MAP.equals(parameterized.name()) && arguments.size() == 2
+                        && STRING.equals(arguments.get(0).name())) {
+                    return mapReader(reader(index, arguments.get(1), javaType.getContentType(), creating), javaType);
+                }
+                return jackson;
+            }
+            default -> {
+                return jackson;
+            }
+        }
+    }
+
+    private static ValueReader intReader(ValueReader jackson) {
+        return parser -> parser.currentToken() == JsonToken.VALUE_NUMBER_INT
+                && parser.getNumberType() == JsonParser.NumberType.INT ? parser.getIntValue() : jackson.read(parser);
+    }
+
+    private static ValueReader longReader(ValueReader jackson) {
+        return parser -> parser.currentToken() == JsonToken.VALUE_NUMBER_INT
+                && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER ? parser.getLongValue()
+                        : jackson.read(parser);
+    }
+
+    private static ValueReader doubleReader(ValueReader jackson) {
+        return parser -> parser.currentToken() == JsonToken.VALUE_NUMBER_FLOAT ? parser.getDoubleValue()
+                : jackson.read(parser);
+    }
+
+    private static ValueReader booleanReader(ValueReader jackson) {
+        return parser -> parser.currentToken() == JsonToken.VALUE_TRUE
+                || parser.currentToken() == JsonToken.VALUE_FALSE ? parser.getBooleanValue() : jackson.read(parser);
+    }
+
+    private static ValueReader listReader(ValueReader element, JavaType listType) {
+        final ValueReader jackson = new JacksonReader(listType);
+        return parser -> {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                // a single value Jackson may accept as an array
+                return jackson.read(parser);
+            }
+            final List<Object> list = new ArrayList<>();
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                list.add(readNullable(element, parser));
+            }
+            return list;
+        };
+    }
+
+    private static ValueReader mapReader(ValueReader value, JavaType mapType) {
+        final ValueReader jackson = new JacksonReader(mapType);
+        return parser -> {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return jackson.read(parser);
+            }
+            final Map<String, Object> map = new LinkedHashMap<>();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.currentName();
+                parser.nextToken();
+                map.put(key, readNullable(value, parser));
+            }
+            return map;
+        };
+    }
+
+    private static ObjectMapper mapper(JsonParser parser) {
+        return (ObjectMapper) parser.getCodec();
+    }
+
+    /**
+     * Binds the current value with the mapper of the parser, its reader is kept while the same mapper is used.
+     */
+    private static final class JacksonReader implements ValueReader {
+        private final JavaType javaType;
+        private volatile ObjectReader reader;
+
+        JacksonReader(JavaType javaType) {
+            this.javaType = javaType;
+        }
+
+        @Override
+        public Object read(JsonParser parser) throws IOException {
+            final ObjectMapper mapper = mapper(parser);
+            ObjectReader current = reader;
+            if (current == null || current.getFactory() != mapper.getFactory()) {
+                current = mapper.readerFor(javaType);
+                reader = current;
+            }
+            return current.readValue(parser);
+        }
+    }
+
+    private static boolean hasJacksonAnnotation(ClassInfo classInfo) {
+        for (AnnotationInstance annotation : classInfo.annotations()) {
+            if (annotation.name().toString().startsWith(JACKSON_PACKAGE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,122 @@
+package io.quarkiverse.roq.data.deployment.converters;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.quarkiverse.roq.data.deployment.DataConverter;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Base converter for formats made of a sequence of records (CSV, NDJSON...).
+ * <p>
+ * Records are read one by one from the content and converted right away, there is no intermediate text or tree
+ * for the whole file. The converter is {@link #isStreamed() streamed}, the files are read from their source while
+ * converted. The file is always a list, it can be bound with {@code @DataMapping(type = ARRAY_FILE)} or used
+ * as a {@code from-data} collection.
+ */
+abstract class RecordsConverter implements DataConverter {
+
+    protected final JsonMapper mapper;
+
+    RecordsConverter(JsonMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * @return an iterator over the records of the content, as maps, lists or scalar values
+     */
+    protected abstract MappingIterator<?> readRecords(InputStream content) throws IOException;
+
+    @Override
+    public boolean isStreamed() {
+        return true;
+    }
+
+    @Override
+    public Object convert(byte[] content) throws IOException {
+        return convert(new ByteArrayInputStream(content));
+    }
+
+    @Override
+    public <T> T convertToType(byte[] content, Class<T> clazz) throws IOException {
+        return convertToType(new ByteArrayInputStream(content), clazz);
+    }
+
+    @Override
+    public <T> List<T> convertToTypedList(byte[] content, Class<T> clazz) throws IOException {
+        return convertToTypedList(new ByteArrayInputStream(content), clazz);
+    }
+
+    @Override
+    public <T> Map<String, T> convertToTypedMap(byte[] content, Class<T> clazz) throws IOException {
+        return convertToTypedMap(new ByteArrayInputStream(content), clazz);
+    }
+
+    @Override
+    public Object convert(InputStream content) throws IOException {
+        final JsonArray array = new JsonArray();
+        try (MappingIterator<?> records = readRecords(content)) {
+            while (records.hasNextValue()) {
+                array.add(wrap(records.nextValue()));
+            }
+        }
+        return array;
+    }
+
+    @Override
+    public <T> T convertToType(InputStream content, Class<T> clazz) throws IOException {
+        final List<Object> records = new ArrayList<>();
+        try (MappingIterator<?> iterator = readRecords(content)) {
+            while (iterator.hasNextValue()) {
+                records.add(iterator.nextValue());
+            }
+        }
+        return toType(records, mapper.getTypeFactory().constructType(clazz));
+    }
+
+    @Override
+    public <T> List<T> convertToTypedList(InputStream content, Class<T> clazz) throws IOException {
+        final JavaType type = mapper.getTypeFactory().constructType(clazz);
+        final List<T> list = new ArrayList<>();
+        try (MappingIterator<?> records = readRecords(content)) {
+            while (records.hasNextValue()) {
+                list.add(toType(records.nextValue(), type));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public <T> Map<String, T> convertToTypedMap(InputStream content, Class<T> clazz) throws IOException {
+        throw new IOException("A file of records is a list, it can't be read as a Map<String, %s>"
+                .formatted(clazz.getSimpleName()));
+    }
+
+    private <T> T toType(Object value, JavaType type) throws IOException {
+        try {
+            return mapper.convertValue(value, type);
+        } catch (IllegalArgumentException e) {
+            throw new JsonMappingException(null, e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object wrap(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return new JsonObject((Map<String, Object>) map);
+        } else if (value instanceof List<?> list) {
+            return new JsonArray(list);
+        }
+        return value;
+    }
+}
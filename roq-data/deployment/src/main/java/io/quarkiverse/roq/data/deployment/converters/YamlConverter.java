@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.type.CollectionType;
@@ -54,4 +55,8 @@ public class YamlConverter implements DataConverter {
         return mapper.readValue(content, mapType);
     }
 
+    @Override
+    public JsonParser createParser(byte[] content) throws IOException {
+        return mapper.createParser(content);
+    }
 }
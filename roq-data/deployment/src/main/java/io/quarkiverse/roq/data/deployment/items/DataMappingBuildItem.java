@@ -1,14 +1,21 @@
 package io.quarkiverse.roq.data.deployment.items;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Path;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Map;
 import java.util.Objects;
+import java.util.SortedMap;
 
 import org.jboss.jandex.DotName;
 
 import io.quarkiverse.roq.data.deployment.DataConverter;
+import io.quarkiverse.roq.data.deployment.converters.DataFileConversions;
 import io.quarkiverse.roq.data.runtime.annotations.DataMapping;
 import io.quarkus.builder.item.MultiBuildItem;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 
 public final class DataMappingBuildItem extends MultiBuildItem {
 
@@ -33,14 +40,14 @@ public final class DataMappingBuildItem extends MultiBuildItem {
     private final DotName className;
 
     /**
-     * The data file content as {@link byte[]}.
+     * The data file of a file mapping, null for a directory mapping.
      */
-    private final byte[] content;
+    private final RoqDataBuildItem file;
 
     /**
-     * The converter for this data
+     * The files of a directory mapping by key (ARRAY_DIR / OBJECT_DIR), null for a file mapping.
      */
-    private final DataConverter converter;
+    private final SortedMap<String, RoqDataBuildItem> files;
 
     /**
      * Whether is a Java record or not.
@@ -49,15 +56,26 @@ public final class DataMappingBuildItem extends MultiBuildItem {
 
     private final DataMapping.Type type;
 
-    public DataMappingBuildItem(String name, Path sourceFile, DotName parentType, DotName className, byte[] content,
-            DataConverter converter,
+    public DataMappingBuildItem(String name, DotName parentType, DotName className, RoqDataBuildItem file,
             boolean isRecord, DataMapping.Type type) {
         this.name = name;
+        this.sourceFile = file.sourceFile();
+        this.parentType = parentType;
+        this.className = className;
+        this.file = file;
+        this.files = null;
+        this.isRecord = isRecord;
+        this.type = type;
+    }
+
+    public DataMappingBuildItem(String name, Path sourceFile, DotName parentType, DotName className,
+            SortedMap<String, RoqDataBuildItem> files, boolean isRecord, DataMapping.Type type) {
+        this.name = name;
         this.sourceFile = sourceFile;
         this.parentType = parentType;
         this.className = className;
-        this.content = content;
-        this.converter = converter;
+        this.file = null;
+        this.files = files;
         this.isRecord = isRecord;
         this.type = type;
     }
@@ -95,11 +113,39 @@ public final class DataMappingBuildItem extends MultiBuildItem {
     }
 
     public DataConverter getConverter() {
-        return converter;
+        return file.converter();
     }
 
-    public byte[] getContent() {
-        return content;
+    /**
+     * @return the content of the file, read from the source file if it is streamed
+     */
+    public byte[] getContent() throws IOException {
+        return file.getContent();
+    }
+
+    public InputStream openContent() throws IOException {
+        return file.openContent();
+    }
+
+    public boolean isDirectory() {
+        return files != null;
+    }
+
+    public SortedMap<String, RoqDataBuildItem> getFiles() {
+        return files;
+    }
+
+    /**
+     * Convert the data without binding, a directory is converted to a {@link JsonArray} (ARRAY_DIR) or a
+     * {@link JsonObject} (OBJECT_DIR) of its files.
+     */
+    public Object convert() throws IOException {
+        if (files == null) {
+            return file.convert();
+        }
+        final Map<String, Object> converted = DataFileConversions.convertAll(files, RoqDataBuildItem::convert);
+        return type == DataMapping.Type.ARRAY_DIR ? new JsonArray(new ArrayList<>(converted.values()))
+                : new JsonObject(converted);
     }
 
     @Override
@@ -109,11 +155,11 @@ public final class DataMappingBuildItem extends MultiBuildItem {
         DataMappingBuildItem that = (DataMappingBuildItem) o;
         return isRecord == that.isRecord && Objects.equals(name, that.name) && Objects.equals(sourceFile, that.sourceFile)
                 && Objects.equals(parentType, that.parentType) && Objects.equals(className, that.className)
-                && Objects.deepEquals(content, that.content) && Objects.equals(converter, that.converter);
+                && Objects.equals(file, that.file) && Objects.equals(files, that.files);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, sourceFile, parentType, className, Arrays.hashCode(content), converter, isRecord);
+        return Objects.hash(name, sourceFile, parentType, className, file, files, isRecord);
     }
 }
@@ -1,6 +1,9 @@
 package io.quarkiverse.roq.data.deployment.items;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Objects;
@@ -24,7 +27,7 @@ public final class RoqDataBuildItem extends MultiBuildItem {
     private final Path sourceFile;
 
     /**
-     * The content of the Roq data file.
+     * The content of the Roq data file, null when it is read from the source file by a streamed converter.
      */
     private final byte[] content;
 
@@ -48,12 +51,31 @@ public final class RoqDataBuildItem extends MultiBuildItem {
         return name;
     }
 
-    public byte[] getContent() {
-        return content;
+    /**
+     * @return true if the content is not in memory, it is read from the source file when converted
+     */
+    public boolean isStreamed() {
+        return content == null;
+    }
+
+    /**
+     * @return the content, read from the source file if it is streamed
+     */
+    public byte[] getContent() throws IOException {
+        return content != null ? content : Files.readAllBytes(sourceFile);
+    }
+
+    public InputStream openContent() throws IOException {
+        return content != null ? new ByteArrayInputStream(content) : Files.newInputStream(sourceFile);
     }
 
     public Object convert() throws IOException {
-        return this.converter.convert(content);
+        if (content != null) {
+            return this.converter.convert(content);
+        }
+        try (InputStream in = openContent()) {
+            return this.converter.convert(in);
+        }
     }
 
     public DataConverter converter() {
@@ -0,0 +1,32 @@
+package io.quarkiverse.roq.data.deployment.items;
+
+import java.util.List;
+import java.util.Map;
+
+import io.quarkus.builder.item.SimpleBuildItem;
+
+/**
+ * The data beans which are reloaded without restart in dev mode.
+ */
+public final class RoqDataHotReloadBuildItem extends SimpleBuildItem {
+
+    /**
+     * The watched locations of each reloadable data bean, by name.
+     */
+    private final Map<String, List<String>> locations;
+
+    public RoqDataHotReloadBuildItem(Map<String, List<String>> locations) {
+        this.locations = locations;
+    }
+
+    public Map<String, List<String>> getLocations() {
+        return locations;
+    }
+
+    /**
+     * @return the watched locations of the data bean, or null if it is not reloadable
+     */
+    public List<String> getLocations(String name) {
+        return locations.get(name);
+    }
+}
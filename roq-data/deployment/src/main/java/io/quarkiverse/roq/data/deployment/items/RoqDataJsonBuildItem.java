@@ -1,5 +1,6 @@
 package io.quarkiverse.roq.data.deployment.items;
 
+import java.util.List;
 import java.util.Objects;
 
 import io.quarkus.builder.item.MultiBuildItem;
@@ -19,9 +20,20 @@ public final class RoqDataJsonBuildItem extends MultiBuildItem {
      */
     private final Object data;
 
+    /**
+     * For a data directory, the path of each file of the tree relative to the directory (without extension),
+     * null for a data file.
+     */
+    private final List<String> files;
+
     public RoqDataJsonBuildItem(String name, Object data) {
+        this(name, data, null);
+    }
+
+    public RoqDataJsonBuildItem(String name, Object data, List<String> files) {
         this.name = name;
         this.data = data;
+        this.files = files;
     }
 
     public String getName() {
@@ -32,6 +44,14 @@ public final class RoqDataJsonBuildItem extends MultiBuildItem {
         return data;
     }
 
+    public boolean isDirectory() {
+        return files != null;
+    }
+
+    public List<String> getFiles() {
+        return files;
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object)
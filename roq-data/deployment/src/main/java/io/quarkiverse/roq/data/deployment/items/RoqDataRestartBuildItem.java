@@ -0,0 +1,23 @@
+package io.quarkiverse.roq.data.deployment.items;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+/**
+ * Data which is used at build time (e.g. to generate pages), a change of its file needs a restart in dev mode
+ * instead of a hot reload.
+ */
+public final class RoqDataRestartBuildItem extends MultiBuildItem {
+
+    /**
+     * The name of the data.
+     */
+    private final String name;
+
+    public RoqDataRestartBuildItem(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
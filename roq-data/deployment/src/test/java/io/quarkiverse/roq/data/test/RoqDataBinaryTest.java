@@ -0,0 +1,91 @@
+package io.quarkiverse.roq.data.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusExtensionTest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class RoqDataBinaryTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .withApplicationRoot((jar) -> jar
+                    .add(new StringAsset("quarkus.roq.dir=src/test/roq\nquarkus.roq.data.binary-threshold=0"),
+                            "application.properties"));
+
+    @Inject
+    @Named("foo")
+    JsonObject foo;
+
+    @Inject
+    @Named("list")
+    JsonArray list;
+
+    @Inject
+    @Named("heroes")
+    JsonObject heroes;
+
+    @Test
+    public void testBinaryDataBeans() {
+        Assertions.assertEquals("Super Heroes from Json", foo.getString("name"));
+        Assertions.assertEquals(3, list.size());
+        Assertions.assertEquals("Super Heroes 2 from Yaml", list.getJsonObject(1).getString("name"));
+        Assertions.assertEquals(2, heroes.size());
+        Assertions.assertEquals("Gotham", heroes.getJsonObject("batman").getString("city"));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        foo.put("added", "value");
+        Assertions.assertEquals("value", foo.getString("added"));
+        Assertions.assertEquals("Super Heroes from Json", foo.getString("name"));
+        foo.remove("added");
+        Assertions.assertFalse(foo.containsKey("added"));
+
+        final JsonObject batman = heroes.getJsonObject("batman");
+        batman.put("nickname", "The Dark Knight");
+        Assertions.assertEquals("The Dark Knight", heroes.getJsonObject("batman").getString("nickname"));
+        Assertions.assertEquals("Gotham", heroes.getJsonObject("batman").getString("city"));
+
+        list.add("added");
+        Assertions.assertEquals(4, list.size());
+        Assertions.assertEquals("added", list.getString(3));
+        Assertions.assertEquals("Super Heroes 2 from Yaml", list.getJsonObject(1).getString("name"));
+        list.remove(3);
+        Assertions.assertEquals(3, list.size());
+    }
+
+    @Test
+    public void testConcurrentDecoding() throws Exception {
+        // Concurrent first reads decode a value once, all the readers get the same instance
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<Map<String, Object>>> tasks = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                tasks.add(() -> list.getJsonObject(2).getMap());
+            }
+            final List<Future<Map<String, Object>>> results = executor.invokeAll(tasks);
+            final Map<String, Object> first = results.get(0).get();
+            for (Future<Map<String, Object>> result : results) {
+                Assertions.assertSame(first, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
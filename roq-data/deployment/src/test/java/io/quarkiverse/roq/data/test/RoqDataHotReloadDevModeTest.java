@@ -0,0 +1,72 @@
+package io.quarkiverse.roq.data.test;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+
+import org.hamcrest.Matchers;
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusDevModeTest;
+import io.restassured.RestAssured;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class RoqDataHotReloadDevModeTest {
+
+    private static final int DEV_MODE_PORT = 9382;
+
+    @RegisterExtension
+    static final QuarkusDevModeTest devModeTest = new QuarkusDevModeTest()
+            .withApplicationRoot((jar) -> jar
+                    .addClass(Hello.class)
+                    .addAsResource(new StringAsset("name: Super Heroes"), "data/heroes.yaml")
+                    .addAsResource(new StringAsset("- Batman\n- Robin\n"), "data/sidekicks.yaml")
+                    .addAsResource(new StringAsset("quarkus.http.port=" + DEV_MODE_PORT), "application.properties"));
+
+    @Test
+    public void reloadWithoutRestart() {
+        final String started = RestAssured.given().port(DEV_MODE_PORT).get("/hello/started").asString();
+        RestAssured.given().port(DEV_MODE_PORT).get("/hello").then()
+                .statusCode(200)
+                .body(Matchers.equalTo("Super Heroes 2"));
+
+        devModeTest.modifyResourceFile("data/heroes.yaml", content -> content.replace("Super", "Mega"));
+        devModeTest.modifyResourceFile("data/sidekicks.yaml", content -> content + "- Alfred\n");
+        RestAssured.given().port(DEV_MODE_PORT).get("/hello").then()
+                .statusCode(200)
+                .body(Matchers.equalTo("Mega Heroes 3"));
+        RestAssured.given().port(DEV_MODE_PORT).get("/hello/started").then()
+                .body(Matchers.equalTo(started));
+    }
+
+    @ApplicationScoped
+    @Path("/hello")
+    public static class Hello {
+
+        private static final long STARTED = System.nanoTime();
+
+        @Inject
+        @Named("heroes")
+        JsonObject heroes;
+
+        @Inject
+        @Named("sidekicks")
+        JsonArray sidekicks;
+
+        @GET
+        public String hello() {
+            return heroes.getString("name") + " " + sidekicks.size();
+        }
+
+        @GET
+        @Path("started")
+        public String started() {
+            return String.valueOf(STARTED);
+        }
+    }
+}
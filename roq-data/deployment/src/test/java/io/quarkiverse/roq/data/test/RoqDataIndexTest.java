@@ -0,0 +1,114 @@
+package io.quarkiverse.roq.data.test;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkiverse.roq.data.runtime.RoqDataIndexes;
+import io.quarkiverse.roq.data.test.util.IndexedMountains;
+import io.quarkiverse.roq.data.test.util.Mountain;
+import io.quarkus.test.QuarkusExtensionTest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+public class RoqDataIndexTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .withApplicationRoot((jar) -> jar
+                    .addClasses(Mountain.class, IndexedMountains.class)
+                    .addAsResource(new StringAsset("""
+                            - name: Lhotse
+                              elevation: 8516
+                            - name: Everest
+                              elevation: 8849
+                            - name: Denali
+                              elevation: 6190
+                            """), "data/mountains.yaml")
+                    .addAsResource(new StringAsset("""
+                            {"name": "Book", "category": "books", "price": 12.5, "tags": ["paper"]}
+                            {"name": "Pen", "category": "office", "price": 2}
+                            {"name": "Novel", "category": "books", "price": 9, "tags": ["paper", "fiction"]}
+                            """), "data/products.ndjson")
+                    .addAsResource(new StringAsset("""
+                            name,quantity,price
+                            Apple,12,1.50
+                            Pear,9,10
+                            Plum,100,10.0
+                            Fig,unknown,3
+                            """), "data/stock.csv")
+                    .add(new StringAsset("""
+                            quarkus.roq.data.indexes.products=category,price
+                            quarkus.roq.data.indexes.stock=quantity
+                            """), "application.properties"));
+
+    @Inject
+    IndexedMountains mountains;
+
+    @Inject
+    @Named("products")
+    JsonArray products;
+
+    @Inject
+    @Named("stock")
+    JsonArray stock;
+
+    @Test
+    public void indexedMapping() {
+        Assertions.assertTrue(RoqDataIndexes.of(mountains.list()).isIndexed("elevation"));
+        Assertions.assertEquals(List.of(new Mountain("Everest", 8849)),
+                RoqDataIndexes.by(mountains.list(), "elevation", 8849L));
+        Assertions.assertEquals(List.of("Lhotse", "Everest"),
+                RoqDataIndexes.range(mountains.list(), "elevation", 8000, null).stream()
+                        .map(m -> ((Mountain) m).name()).toList());
+    }
+
+    @Test
+    public void indexedJson() {
+        Assertions.assertTrue(RoqDataIndexes.of(products).isIndexed("category"));
+        Assertions.assertEquals(List.of("Book", "Novel"), names(RoqDataIndexes.by(products, "category", "books")));
+        Assertions.assertEquals(List.of("Novel", "Book"), names(RoqDataIndexes.range(products, "price", 5, 12.5)));
+        // Fields which are not indexed are scanned, list fields match each element
+        Assertions.assertEquals(List.of("Novel"), names(RoqDataIndexes.by(products, "tags", "fiction")));
+        Assertions.assertEquals(List.of(), RoqDataIndexes.by(products, "category", "toys"));
+    }
+
+    @Test
+    public void rangeOfStrings() {
+        // CSV cells are strings, the numbers are still ordered as numbers
+        Assertions.assertEquals(List.of("Apple", "Plum"), names(RoqDataIndexes.range(stock, "quantity", 10, null)));
+        Assertions.assertEquals(List.of("Pear", "Apple"), names(RoqDataIndexes.range(stock, "quantity", null, "50")));
+        // Only the values of the bound type are in the range
+        Assertions.assertEquals(List.of("Fig"), names(RoqDataIndexes.range(stock, "quantity", "a", null)));
+        Assertions.assertEquals(List.of("Book", "Novel", "Pen"), names(RoqDataIndexes.range(products, "name", null, "z")));
+        Assertions.assertEquals(List.of(), RoqDataIndexes.range(products, "name", 0, null));
+    }
+
+    @Test
+    public void byOfStrings() {
+        // CSV cells are strings, the numbers are still equal to numbers, in the index and when scanned
+        Assertions.assertTrue(RoqDataIndexes.of(stock).isIndexed("quantity"));
+        Assertions.assertEquals(List.of("Apple"), names(RoqDataIndexes.by(stock, "quantity", 12)));
+        Assertions.assertEquals(List.of("Apple"), names(RoqDataIndexes.by(stock, "quantity", "12.0")));
+        Assertions.assertEquals(List.of("Fig"), names(RoqDataIndexes.by(stock, "quantity", "unknown")));
+        Assertions.assertEquals(List.of("Pear", "Plum"), names(RoqDataIndexes.by(stock, "price", 10)));
+        Assertions.assertEquals(List.of("Apple"), names(RoqDataIndexes.by(stock, "price", 1.5)));
+    }
+
+    @Test
+    public void invalidQueries() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RoqDataIndexes.range(products, "price", 1, "z"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RoqDataIndexes.by(products, "", "books"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> RoqDataIndexes.range(products, "author.", 1, 2));
+    }
+
+    private static List<String> names(List<Object> items) {
+        return items.stream().map(item -> ((JsonObject) item).getString("name")).toList();
+    }
+}
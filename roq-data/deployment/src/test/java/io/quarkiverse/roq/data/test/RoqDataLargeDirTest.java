@@ -0,0 +1,38 @@
+package io.quarkiverse.roq.data.test;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkiverse.roq.data.test.util.City;
+import io.quarkiverse.roq.data.test.util.CityList;
+import io.quarkus.test.QuarkusExtensionTest;
+
+public class RoqDataLargeDirTest {
+
+    private static final int SIZE = 100;
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .withApplicationRoot((jar) -> {
+                jar.addClasses(City.class, CityList.class);
+                for (int i = 0; i < SIZE; i++) {
+                    jar.addAsResource(new StringAsset("name: City %d\nrank: %d\n".formatted(i, i)),
+                            "data/cities/city-%03d.yaml".formatted(i));
+                }
+            });
+
+    @Inject
+    CityList cities;
+
+    @Test
+    public void testFilesAreConvertedInOrder() {
+        Assertions.assertEquals(SIZE, cities.list().size());
+        for (int i = 0; i < SIZE; i++) {
+            Assertions.assertEquals(new City("City " + i, i), cities.list().get(i));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package io.quarkiverse.roq.data.test;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusExtensionTest;
+import io.vertx.core.json.JsonObject;
+
+public class RoqDataNestedDirBinaryTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .withApplicationRoot((jar) -> jar
+                    .add(new StringAsset("quarkus.roq.data.binary-threshold=0"), "application.properties")
+                    .addAsResource(new StringAsset("title: Docs"), "data/docs/index.yaml")
+                    .addAsResource(new StringAsset("title: Intro"), "data/docs/v1/intro.yaml")
+                    .addAsResource(new StringAsset("title: Next"), "data/docs/v2/index.yaml"));
+
+    @Inject
+    @Named("docs")
+    JsonObject docs;
+
+    @Inject
+    @Named("docs/v1")
+    JsonObject v1;
+
+    @Test
+    public void testTree() {
+        Assertions.assertEquals(List.of("index", "v1", "v2"), List.copyOf(docs.fieldNames()));
+        Assertions.assertEquals("Intro", docs.getJsonObject("v1").getJsonObject("intro").getString("title"));
+        Assertions.assertEquals("Next", docs.getJsonObject("v2").getJsonObject("index").getString("title"));
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        v1.put("added", "value");
+        Assertions.assertEquals("value", v1.getString("added"));
+        Assertions.assertEquals("Intro", v1.getJsonObject("intro").getString("title"));
+        v1.remove("added");
+        Assertions.assertEquals(List.of("intro"), List.copyOf(v1.fieldNames()));
+
+        v1.getJsonObject("intro").put("order", 1);
+        Assertions.assertEquals(1, v1.getJsonObject("intro").getInteger("order"));
+    }
+}
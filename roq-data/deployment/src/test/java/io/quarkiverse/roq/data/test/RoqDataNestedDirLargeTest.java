@@ -0,0 +1,79 @@
+package io.quarkiverse.roq.data.test;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkiverse.roq.data.runtime.RoqDataBinary;
+import io.quarkiverse.roq.data.runtime.RoqDataTree;
+import io.quarkus.test.QuarkusExtensionTest;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A directory of small files which are larger than the default binary threshold (64K) altogether.
+ */
+public class RoqDataNestedDirLargeTest {
+
+    private static final int PAGES = 40;
+    private static final String TEXT = "Lorem ipsum dolor sit amet. ".repeat(100);
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .withApplicationRoot((jar) -> {
+                for (int i = 0; i < PAGES; i++) {
+                    jar.addAsResource(new StringAsset("title: Page " + i + "\ntext: " + TEXT),
+                            "data/docs/v1/api/page" + i + ".yaml");
+                }
+                jar.addAsResource(new StringAsset("title: Docs"), "data/docs/index.yaml")
+                        .addAsResource(new StringAsset("title: Small"), "data/small/index.yaml")
+                        .addAsResource(new StringAsset("title: Other"), "data/small/other.yaml");
+            });
+
+    @Inject
+    @Named("docs")
+    JsonObject docs;
+
+    @Inject
+    @Named("docs/v1/api/page1")
+    JsonObject page;
+
+    @Inject
+    @Named("small")
+    JsonObject small;
+
+    @Test
+    public void testLazyTree() {
+        Assertions.assertInstanceOf(RoqDataTree.class, docs.getMap());
+        Assertions.assertEquals(List.of("index", "v1"), List.copyOf(docs.fieldNames()));
+        Assertions.assertEquals("Docs", docs.getJsonObject("index").getString("title"));
+        final JsonObject api = docs.getJsonObject("v1").getJsonObject("api");
+        Assertions.assertEquals(PAGES, api.size());
+        Assertions.assertEquals("Page 7", api.getJsonObject("page7").getString("title"));
+        // The small files of the large directory are stored as resources too
+        Assertions.assertNotNull(resource("docs/index"));
+        Assertions.assertNotNull(resource("docs/v1/api/page7"));
+    }
+
+    @Test
+    public void testNestedFile() {
+        Assertions.assertEquals("Page 1", page.getString("title"));
+        Assertions.assertEquals(TEXT.strip(), page.getString("text"));
+    }
+
+    @Test
+    public void testSmallDirectory() {
+        Assertions.assertFalse(small.getMap() instanceof RoqDataTree);
+        Assertions.assertEquals("Other", small.getJsonObject("other").getString("title"));
+        Assertions.assertNull(resource("small/other"));
+    }
+
+    private static Object resource(String name) {
+        return Thread.currentThread().getContextClassLoader().getResource(RoqDataBinary.RESOURCE_DIR + name + ".bin");
+    }
+}
@@ -0,0 +1,59 @@
+package io.quarkiverse.roq.data.test;
+
+import java.util.List;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusExtensionTest;
+import io.vertx.core.json.JsonObject;
+
+public class RoqDataNestedDirTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .withApplicationRoot((jar) -> jar
+                    .addAsResource(new StringAsset("title: Docs"), "data/docs/index.yaml")
+                    .addAsResource(new StringAsset("title: Intro"), "data/docs/v1/intro.yaml")
+                    .addAsResource(new StringAsset("title: Api"), "data/docs/v1/api/index.yaml")
+                    .addAsResource(new StringAsset("{\"title\": \"Beans\", \"order\": 2}"), "data/docs/v1/api/beans.json")
+                    .addAsResource(new StringAsset("title: Next"), "data/docs/v2/api/index.yaml"));
+
+    @Inject
+    @Named("docs")
+    JsonObject docs;
+
+    @Inject
+    @Named("docs/v1/api")
+    JsonObject api;
+
+    @Inject
+    @Named("docs/v1/api/beans")
+    JsonObject beans;
+
+    @Test
+    public void testTree() {
+        Assertions.assertEquals(List.of("index", "v1", "v2"), List.copyOf(docs.fieldNames()));
+        Assertions.assertEquals("Docs", docs.getJsonObject("index").getString("title"));
+        Assertions.assertEquals("Intro", docs.getJsonObject("v1").getJsonObject("intro").getString("title"));
+        Assertions.assertEquals(2, docs.getJsonObject("v1").getJsonObject("api").getJsonObject("beans").getInteger("order"));
+        Assertions.assertEquals("Next",
+                docs.getJsonObject("v2").getJsonObject("api").getJsonObject("index").getString("title"));
+    }
+
+    @Test
+    public void testSubDirectory() {
+        Assertions.assertEquals(List.of("beans", "index"), List.copyOf(api.fieldNames()));
+        Assertions.assertEquals("Api", api.getJsonObject("index").getString("title"));
+    }
+
+    @Test
+    public void testNestedFile() {
+        Assertions.assertEquals("Beans", beans.getString("title"));
+    }
+}
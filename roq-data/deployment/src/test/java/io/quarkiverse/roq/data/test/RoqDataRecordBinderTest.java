@@ -0,0 +1,101 @@
+package io.quarkiverse.roq.data.test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.inject.Inject;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkiverse.roq.data.test.util.Mountain;
+import io.quarkiverse.roq.data.test.util.Mountains;
+import io.quarkiverse.roq.data.test.util.Trail;
+import io.quarkus.test.QuarkusExtensionTest;
+
+public class RoqDataRecordBinderTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .withApplicationRoot((jar) -> jar
+                    .addClasses(Trail.class, Trail.Difficulty.class, Trail.Stage.class, Mountain.class, Mountains.class)
+                    .addAsResource(new StringAsset("""
+                            name: Tour du Mont Blanc
+                            elevationGain: 10000
+                            length: 170.5
+                            loop: true
+                            visits: 12345678901
+                            difficulty: HARD
+                            fee: "12.50"
+                            tags: [alps, hut]
+                            huts:
+                              Bonatti: 2025
+                              Elisabetta: 2195
+                            start:
+                              name: Les Houches
+                            stages:
+                              - name: Les Houches
+                                km: 16
+                              - name: Les Contamines
+                                km: 17.8
+                              -
+                            variant:
+                              name: Fenêtre d'Arpette
+                              elevationGain: "1370"
+                              loop: false
+                              visits: null
+                            """), "data/trail.yml")
+                    .addAsResource(new StringAsset("""
+                            [
+                              {"name": "Lhotse", "elevation": 8516},
+                              {"name": "Everest", "elevation": null},
+                              null
+                            ]
+                            """), "data/mountains.json"));
+
+    @Inject
+    Trail trail;
+
+    @Inject
+    Mountains mountains;
+
+    @Test
+    public void nestedRecord() {
+        Assertions.assertEquals("Tour du Mont Blanc", trail.name());
+        Assertions.assertEquals(10000, trail.elevationGain());
+        Assertions.assertEquals(170.5, trail.length());
+        Assertions.assertTrue(trail.loop());
+        Assertions.assertEquals(12345678901L, trail.visits());
+        Assertions.assertEquals(Trail.Difficulty.HARD, trail.difficulty());
+        Assertions.assertEquals(new BigDecimal("12.50"), trail.fee());
+        Assertions.assertEquals(List.of("alps", "hut"), trail.tags());
+        Assertions.assertEquals(Map.of("Bonatti", 2025, "Elisabetta", 2195), trail.huts());
+        Assertions.assertEquals(new Trail.Stage("Les Houches", null), trail.start());
+        Assertions.assertEquals(3, trail.stages().size());
+        Assertions.assertEquals(new Trail.Stage("Les Contamines", 17.8), trail.stages().get(1));
+        Assertions.assertEquals(16.0, trail.stages().get(0).km());
+        Assertions.assertNull(trail.stages().get(2));
+    }
+
+    @Test
+    public void recursiveRecordWithJacksonCoercion() {
+        final Trail variant = trail.variant();
+        Assertions.assertEquals("Fenêtre d'Arpette", variant.name());
+        Assertions.assertEquals(1370, variant.elevationGain());
+        Assertions.assertFalse(variant.loop());
+        Assertions.assertNull(variant.visits());
+        Assertions.assertEquals(0.0, variant.length());
+        Assertions.assertNull(variant.tags());
+        Assertions.assertNull(variant.variant());
+    }
+
+    @Test
+    public void arrayFile() {
+        Assertions.assertEquals(Arrays.asList(new Mountain("Lhotse", 8516), new Mountain("Everest", null), null),
+                mountains.list());
+    }
+}
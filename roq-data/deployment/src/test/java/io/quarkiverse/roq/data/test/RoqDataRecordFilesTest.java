@@ -0,0 +1,65 @@
+package io.quarkiverse.roq.data.test;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkiverse.roq.data.test.util.Mountain;
+import io.quarkiverse.roq.data.test.util.Mountains;
+import io.quarkus.test.QuarkusExtensionTest;
+import io.vertx.core.json.JsonArray;
+
+public class RoqDataRecordFilesTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .withApplicationRoot((jar) -> jar
+                    .addClasses(Mountain.class, Mountains.class)
+                    .addAsResource(new StringAsset("""
+                            name,elevation
+                            Lhotse,8516
+
+                            "Everest, the highest",8849
+                            """), "data/mountains.csv")
+                    .addAsResource(new StringAsset("name\tcountry\nMont Blanc\tFrance\n"), "data/alps.tsv")
+                    .addAsResource(new StringAsset("""
+                            {"name": "Denali", "elevation": 6190, "tags": ["alaska"]}
+                            {"name": "Aconcagua", "elevation": 6961}
+                            """), "data/summits.ndjson"));
+
+    @Inject
+    Mountains mountains;
+
+    @Inject
+    @Named("alps")
+    JsonArray alps;
+
+    @Inject
+    @Named("summits")
+    JsonArray summits;
+
+    @Test
+    public void csvMapping() {
+        Assertions.assertEquals(2, mountains.list().size());
+        Assertions.assertEquals(new Mountain("Lhotse", 8516), mountains.list().get(0));
+        Assertions.assertEquals(new Mountain("Everest, the highest", 8849), mountains.list().get(1));
+    }
+
+    @Test
+    public void tsv() {
+        Assertions.assertEquals(1, alps.size());
+        Assertions.assertEquals("France", alps.getJsonObject(0).getString("country"));
+    }
+
+    @Test
+    public void ndjson() {
+        Assertions.assertEquals(2, summits.size());
+        Assertions.assertEquals("Denali", summits.getJsonObject(0).getString("name"));
+        Assertions.assertEquals(6961, summits.getJsonObject(1).getInteger("elevation"));
+        Assertions.assertEquals("alaska", summits.getJsonObject(0).getJsonArray("tags").getString(0));
+    }
+}
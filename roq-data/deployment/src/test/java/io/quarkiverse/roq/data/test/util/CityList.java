@@ -0,0 +1,9 @@
+package io.quarkiverse.roq.data.test.util;
+
+import java.util.List;
+
+import io.quarkiverse.roq.data.runtime.annotations.DataMapping;
+
+@DataMapping(value = "cities", type = DataMapping.Type.ARRAY_DIR)
+public record CityList(List<City> list) {
+}
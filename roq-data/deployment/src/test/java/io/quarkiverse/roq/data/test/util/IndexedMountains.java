@@ -0,0 +1,9 @@
+package io.quarkiverse.roq.data.test.util;
+
+import java.util.List;
+
+import io.quarkiverse.roq.data.runtime.annotations.DataMapping;
+
+@DataMapping(value = "mountains", type = DataMapping.Type.ARRAY_FILE, indexes = "elevation")
+public record IndexedMountains(List<Mountain> list) {
+}
@@ -0,0 +1,4 @@
+package io.quarkiverse.roq.data.test.util;
+
+public record Mountain(String name, Integer elevation) {
+}
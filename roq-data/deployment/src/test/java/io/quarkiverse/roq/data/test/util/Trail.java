@@ -0,0 +1,20 @@
+package io.quarkiverse.roq.data.test.util;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import io.quarkiverse.roq.data.runtime.annotations.DataMapping;
+
+@DataMapping("trail")
+public record Trail(String name, int elevationGain, double length, boolean loop, Long visits, Difficulty difficulty,
+        BigDecimal fee, List<String> tags, Map<String, Integer> huts, Stage start, List<Stage> stages, Trail variant) {
+
+    public enum Difficulty {
+        EASY,
+        HARD
+    }
+
+    public record Stage(String name, Double km) {
+    }
+}
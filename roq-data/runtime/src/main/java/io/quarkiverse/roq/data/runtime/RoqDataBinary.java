@@ -0,0 +1,591 @@
+package io.quarkiverse.roq.data.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Compact binary form of a data file, used for large data beans instead of recording the whole value as bytecode.
+ * <p>
+ * It is written at build time as a generated resource. At runtime the resource is memory-mapped when it is a file on
+ * disk (e.g. in dev mode and tests), in a packaged application it is read once from the jar. Only the objects and
+ * arrays which are accessed are decoded: each one keeps the offsets of its values, so getting a key doesn't decode the
+ * siblings. Strings are stored once in a shared table and decoded when first used.
+ * <p>
+ * The decoded values are {@link JsonObject} and {@link JsonArray} which are copied on the first write: a modified
+ * object or array decodes its values into a regular map or list.
+ */
+public final class RoqDataBinary {
+
+    public static final String RESOURCE_DIR = "META-INF/roq/data/";
+
+    private static final int MAGIC = 0x524F5144; // ROQD
+    private static final int VERSION = 1;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte STRING = 7;
+    private static final byte OBJECT = 8;
+    private static final byte ARRAY = 9;
+    private static final byte BIG_INTEGER = 10;
+    private static final byte BIG_DECIMAL = 11;
+
+    private static final Object UNDECODED = new Object();
+
+    private final ByteBuffer buffer;
+    private final int[] stringOffsets;
+    private final String[] strings;
+    private final int bodyOffset;
+
+    private RoqDataBinary(ByteBuffer buffer) {
+        this.buffer = buffer;
+        final Cursor in = new Cursor(buffer, 0);
+        if (buffer.limit() < 5 || buffer.getInt(0) != MAGIC || buffer.get(4) != VERSION) {
+            throw new IllegalStateException("Invalid or incompatible Roq data resource");
+        }
+        in.position = 5;
+        final int stringCount = in.readVarInt();
+        this.stringOffsets = new int[stringCount];
+        this.strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            stringOffsets[i] = in.position;
+            final int length = in.readVarInt();
+            in.position += length;
+        }
+        this.bodyOffset = in.position;
+    }
+
+    public static RoqDataBinary read(byte[] bytes) {
+        return new RoqDataBinary(ByteBuffer.wrap(bytes));
+    }
+
+    public static RoqDataBinary load(String resourceName) {
+        final ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        final URL url = cl.getResource(resourceName);
+        if (url == null) {
+            throw new IllegalStateException("Roq data resource not found: " + resourceName);
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                    return new RoqDataBinary(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                }
+            }
+            try (InputStream is = url.openStream()) {
+                return new RoqDataBinary(ByteBuffer.wrap(is.readAllBytes()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read Roq data resource: " + resourceName, e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Invalid Roq data resource url: " + url, e);
+        }
+    }
+
+    /**
+     * @return the root value as a {@link JsonObject} or {@link JsonArray}, decoded lazily
+     */
+    public Object root() {
+        final Object value = readValue(new Cursor(buffer, bodyOffset));
+        if (value instanceof LazyObject object) {
+            return new JsonObject(object);
+        } else if (value instanceof LazyArray array) {
+            return new JsonArray(array);
+        }
+        return value;
+    }
+
+    private String string(int index) {
+        String value = strings[index];
+        if (value == null) {
+            final Cursor in = new Cursor(buffer, stringOffsets[index]);
+            final int length = in.readVarInt();
+            final byte[] bytes = new byte[length];
+            buffer.get(in.position, bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+            strings[index] = value;
+        }
+        return value;
+    }
+
+    private Object readValue(Cursor in) {
+        final byte type = buffer.get(in.position++);
+        return switch (type) {
+            case NULL -> null;
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case INT -> (int) in.readZigZag();
+            case LONG -> in.readZigZag();
+            case DOUBLE -> {
+                final double value = buffer.getDouble(in.position);
+                in.position += 8;
+                yield value;
+            }
+            case FLOAT -> {
+                final float value = buffer.getFloat(in.position);
+                in.position += 4;
+                yield value;
+            }
+            case STRING -> string(in.readVarInt());
+            case BIG_INTEGER -> new BigInteger(string(in.readVarInt()));
+            case BIG_DECIMAL -> new BigDecimal(string(in.readVarInt()));
+            case OBJECT -> {
+                final int size = in.readVarInt();
+                final String[] keys = new String[size];
+                for (int i = 0; i < size; i++) {
+                    keys[i] = string(in.readVarInt());
+                }
+                yield new LazyObject(keys, in.position);
+            }
+            case ARRAY -> new LazyArray(in.readVarInt(), in.position);
+            default -> throw new IllegalStateException("Invalid Roq data value type: " + type);
+        };
+    }
+
+    private Object valueAt(int offsetTable, int index) {
+        return readValue(new Cursor(buffer, bodyOffset + buffer.getInt(offsetTable + 4 * index)));
+    }
+
+    /**
+     * Map decoding each value on first access, copied to a regular map on the first write.
+     */
+    private final class LazyObject extends AbstractMap<String, Object> {
+        private final String[] keys;
+        private final int offsetTable;
+        private final Object[] values;
+        private volatile Map<String, Integer> index;
+        private volatile Map<String, Object> copy;
+
+        LazyObject(String[] keys, int offsetTable) {
+            this.keys = keys;
+            this.offsetTable = offsetTable;
+            this.values = new Object[keys.length];
+            Arrays.fill(values, UNDECODED);
+        }
+
+        private int indexOf(Object key) {
+            if (keys.length <= 8) {
+                for (int i = 0; i < keys.length; i++) {
+                    if (keys[i].equals(key)) {
+                        return i;
+                    }
+                }
+                return -1;
+            }
+            Map<String, Integer> index = this.index;
+            if (index == null) {
+                index = new HashMap<>(keys.length * 2);
+                for (int i = 0; i < keys.length; i++) {
+                    index.put(keys[i], i);
+                }
+                this.index = index;
+            }
+            return index.getOrDefault(key, -1);
+        }
+
+        private Object value(int i) {
+            Object value = values[i];
+            if (value == UNDECODED) {
+                synchronized (this) {
+                    value = values[i];
+                    if (value == UNDECODED) {
+                        value = valueAt(offsetTable, i);
+                        values[i] = value;
+                    }
+                }
+            }
+            return value;
+        }
+
+        private synchronized Map<String, Object> copy() {
+            if (copy == null) {
+                final Map<String, Object> map = new LinkedHashMap<>(keys.length * 2);
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i], value(i));
+                }
+                copy = map;
+            }
+            return copy;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (copy != null) {
+                return copy.get(key);
+            }
+            final int i = indexOf(key);
+            return i == -1 ? null : value(i);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return copy != null ? copy.containsKey(key) : indexOf(key) != -1;
+        }
+
+        @Override
+        public int size() {
+            return copy != null ? copy.size() : keys.length;
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return copy().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return copy().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            copy().clear();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (copy != null) {
+                return copy.entrySet();
+            }
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    return new Iterator<>() {
+                        private int i;
+
+                        @Override
+                        public boolean hasNext() {
+                            return i < keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            if (i >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+                            final int current = i++;
+                            return new SimpleImmutableEntry<>(keys[current], value(current));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+    }
+
+    /**
+     * List decoding each element on first access, copied to a regular list on the first write.
+     */
+    private final class LazyArray extends AbstractList<Object> {
+        private final int offsetTable;
+        private final Object[] values;
+        private volatile List<Object> copy;
+
+        LazyArray(int size, int offsetTable) {
+            this.offsetTable = offsetTable;
+            this.values = new Object[size];
+            Arrays.fill(values, UNDECODED);
+        }
+
+        private Object value(int i) {
+            Object value = values[i];
+            if (value == UNDECODED) {
+                synchronized (this) {
+                    value = values[i];
+                    if (value == UNDECODED) {
+                        value = valueAt(offsetTable, i);
+                        values[i] = value;
+                    }
+                }
+            }
+            return value;
+        }
+
+        private synchronized List<Object> copy() {
+            if (copy == null) {
+                final List<Object> list = new ArrayList<>(values.length);
+                for (int i = 0; i < values.length; i++) {
+                    list.add(value(i));
+                }
+                copy = list;
+            }
+            return copy;
+        }
+
+        @Override
+        public Object get(int i) {
+            if (copy != null) {
+                return copy.get(i);
+            }
+            Objects.checkIndex(i, values.length);
+            return value(i);
+        }
+
+        @Override
+        public int size() {
+            return copy != null ? copy.size() : values.length;
+        }
+
+        @Override
+        public Object set(int i, Object value) {
+            return copy().set(i, value);
+        }
+
+        @Override
+        public void add(int i, Object value) {
+            modCount++;
+            copy().add(i, value);
+        }
+
+        @Override
+        public Object remove(int i) {
+            modCount++;
+            return copy().remove(i);
+        }
+    }
+
+    private static final class Cursor {
+        private final ByteBuffer buffer;
+        private int position;
+
+        Cursor(ByteBuffer buffer, int position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long readZigZag() {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    /**
+     * Build time writer.
+     */
+    public static final class Writer {
+
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private final Output strings = new Output();
+        private final Output body = new Output();
+
+        /**
+         * Encode a data value (maps, lists, {@link JsonObject}, {@link JsonArray} and scalars).
+         *
+         * @throws IllegalArgumentException if the value contains an unsupported type
+         */
+        public static byte[] write(Object value) {
+            final Writer writer = new Writer();
+            writer.writeValue(value);
+            final Output out = new Output();
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeVarInt(writer.stringIndexes.size());
+            out.write(writer.strings);
+            out.write(writer.body);
+            return out.toByteArray();
+        }
+
+        private int stringIndex(String value) {
+            Integer index = stringIndexes.get(value);
+            if (index == null) {
+                index = stringIndexes.size();
+                stringIndexes.put(value, index);
+                final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                strings.writeVarInt(bytes.length);
+                strings.write(bytes, bytes.length);
+            }
+            return index;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeValue(Object value) {
+            switch (value) {
+                case null -> body.writeByte(NULL);
+                case JsonObject object -> writeObject(object.getMap());
+                case JsonArray array -> writeArray(array.getList());
+                case Map<?, ?> map -> writeObject((Map<String, Object>) map);
+                case List<?> list -> writeArray(list);
+                case String s -> {
+                    body.writeByte(STRING);
+                    body.writeVarInt(stringIndex(s));
+                }
+                case Boolean b -> body.writeByte(b ? TRUE : FALSE);
+                case Integer i -> writeZigZag(INT, i);
+                case Short s -> writeZigZag(INT, s);
+                case Byte b -> writeZigZag(INT, b);
+                case Long l -> writeZigZag(LONG, l);
+                case Double d -> {
+                    body.writeByte(DOUBLE);
+                    body.writeLong(Double.doubleToRawLongBits(d));
+                }
+                case Float f -> {
+                    body.writeByte(FLOAT);
+                    body.writeInt(Float.floatToRawIntBits(f));
+                }
+                case BigInteger i -> {
+                    body.writeByte(BIG_INTEGER);
+                    body.writeVarInt(stringIndex(i.toString()));
+                }
+                case BigDecimal d -> {
+                    body.writeByte(BIG_DECIMAL);
+                    body.writeVarInt(stringIndex(d.toString()));
+                }
+                default -> throw new IllegalArgumentException(
+                        "Unsupported data value type: " + value.getClass().getName());
+            }
+        }
+
+        private void writeZigZag(byte type, long value) {
+            body.writeByte(type);
+            body.writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        private void writeObject(Map<String, Object> map) {
+            body.writeByte(OBJECT);
+            body.writeVarInt(map.size());
+            for (String key : map.keySet()) {
+                body.writeVarInt(stringIndex(key));
+            }
+            final int offsetTable = body.reserve(4 * map.size());
+            int i = 0;
+            for (Object value : map.values()) {
+                body.patchInt(offsetTable + 4 * i++, body.size());
+                writeValue(value);
+            }
+        }
+
+        private void writeArray(List<?> list) {
+            body.writeByte(ARRAY);
+            body.writeVarInt(list.size());
+            final int offsetTable = body.reserve(4 * list.size());
+            int i = 0;
+            for (Object value : list) {
+                body.patchInt(offsetTable + 4 * i++, body.size());
+                writeValue(value);
+            }
+        }
+    }
+
+    private static final class Output {
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        void writeByte(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            patchInt(size, value);
+            size += 4;
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        int reserve(int length) {
+            ensure(length);
+            final int position = size;
+            size += length;
+            return position;
+        }
+
+        void patchInt(int position, int value) {
+            bytes[position] = (byte) (value >>> 24);
+            bytes[position + 1] = (byte) (value >>> 16);
+            bytes[position + 2] = (byte) (value >>> 8);
+            bytes[position + 3] = (byte) value;
+        }
+
+        void write(byte[] data, int length) {
+            ensure(length);
+            System.arraycopy(data, 0, bytes, size, length);
+            size += length;
+        }
+
+        void write(Output other) {
+            write(other.bytes, other.size);
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package io.quarkiverse.roq.data.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Hash and sorted indexes on some fields of the items of a data collection.
+ * <p>
+ * Items can be {@link JsonObject}, maps, records or beans with getters. A field can be a path (e.g.
+ * {@code author.name}). Numbers are compared by value whatever their type ({@code 1 == 1L == 1.0}) and when an item
+ * field is a list, the item is indexed for each element (e.g. {@code by('tags', 'java')}). Range queries use
+ * the natural order of the values of the same type as the bounds, lists and null values are not part of it. Strings
+ * containing a number (e.g. the cells of a CSV file) are numbers, for both the equality and the order
+ * ({@code by('price', 10)} finds a {@code "10"} cell).
+ * <p>
+ * Fields which are not indexed can still be queried, the items are then scanned.
+ */
+public final class RoqDataIndex {
+
+    private static final Map<Class<?>, Map<String, MethodHandle>> ACCESSORS = new ConcurrentHashMap<>();
+
+    /**
+     * Orders numbers, then strings, then booleans, then other comparable values by class name.
+     */
+    private static final Comparator<Object> KEY_ORDER = RoqDataIndex::compareKeys;
+
+    private static final Pattern NUMBER = Pattern.compile("-?\\d+(\\.\\d+)?([eE][-+]?\\d+)?");
+
+    private final List<Object> items;
+    private final Map<String, Map<Object, List<Object>>> hashIndexes = new HashMap<>();
+    private final Map<String, NavigableMap<Object, List<Object>>> sortedIndexes = new HashMap<>();
+
+    private RoqDataIndex(List<Object> items, Collection<String> fields) {
+        this.items = items;
+        for (String field : fields) {
+            checkField(field);
+            final Map<Object, List<Object>> hash = new HashMap<>();
+            final NavigableMap<Object, List<Object>> sorted = new TreeMap<>(KEY_ORDER);
+            for (Object item : items) {
+                final Object value = fieldValue(item, field);
+                final List<?> elements = elements(value);
+                if (elements != null) {
+                    for (Object element : elements) {
+                        hash.computeIfAbsent(normalize(element), k -> new ArrayList<>()).add(item);
+                    }
+                } else {
+                    final Object key = normalize(value);
+                    hash.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+                    if (isSortable(key)) {
+                        sorted.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+                    }
+                }
+            }
+            hashIndexes.put(field, hash);
+            sortedIndexes.put(field, sorted);
+        }
+    }
+
+    /**
+     * Build the indexes on the given fields of the items of a collection.
+     *
+     * @param collection a {@link JsonArray}, {@link JsonObject}, list or map (the values are indexed)
+     * @throws IllegalArgumentException if a field can't be read on an item
+     */
+    public static RoqDataIndex build(Object collection, Collection<String> fields) {
+        return new RoqDataIndex(items(collection), fields);
+    }
+
+    /**
+     * @return the indexed fields
+     */
+    public Set<String> fields() {
+        return Collections.unmodifiableSet(hashIndexes.keySet());
+    }
+
+    public boolean isIndexed(String field) {
+        return hashIndexes.containsKey(field);
+    }
+
+    /**
+     * @return the items where the field is equal to (or, for a list, contains) the value, in the collection order
+     */
+    public List<Object> by(String field, Object value) {
+        checkField(field);
+        final Map<Object, List<Object>> hash = hashIndexes.get(field);
+        if (hash != null) {
+            return Collections.unmodifiableList(hash.getOrDefault(normalize(value), List.of()));
+        }
+        final Object key = normalize(value);
+        final List<Object> result = new ArrayList<>();
+        for (Object item : items) {
+            final Object itemValue = fieldValue(item, field);
+            final List<?> elements = elements(itemValue);
+            if (elements != null) {
+                for (Object element : elements) {
+                    if (key.equals(normalize(element))) {
+                        result.add(item);
+                        break;
+                    }
+                }
+            } else if (key.equals(normalize(itemValue))) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @param from the lowest value (inclusive) or null for no lower bound
+     * @param to the highest value (inclusive) or null for no upper bound
+     * @return the items where the field is in the range, ordered by this field; with a bound, only the values of the
+     *         same type as the bound are in the range
+     * @throws IllegalArgumentException if the bounds are not of the same type (e.g. a number and a string)
+     */
+    public List<Object> range(String field, Object from, Object to) {
+        checkField(field);
+        final Object low = from == null ? null : normalize(from);
+        final Object high = to == null ? null : normalize(to);
+        if (low != null && high != null && !isSameType(low, high)) {
+            throw new IllegalArgumentException("The bounds of the range on '%s' must have the same type: %s and %s"
+                    .formatted(field, from, to));
+        }
+        NavigableMap<Object, List<Object>> sorted = sortedIndexes.get(field);
+        if (sorted == null) {
+            sorted = new TreeMap<>(KEY_ORDER);
+            for (Object item : items) {
+                final Object key = normalize(fieldValue(item, field));
+                if (isSortable(key)) {
+                    sorted.computeIfAbsent(key, k -> new ArrayList<>()).add(item);
+                }
+            }
+        }
+        final NavigableMap<Object, List<Object>> view;
+        if (low != null && high != null) {
+            if (KEY_ORDER.compare(low, high) > 0) {
+                return List.of();
+            }
+            view = sorted.subMap(low, true, high, true);
+        } else if (low != null) {
+            view = sorted.tailMap(low, true);
+        } else if (high != null) {
+            view = sorted.headMap(high, true);
+        } else {
+            view = sorted;
+        }
+        final Object bound = low != null ? low : high;
+        final List<Object> result = new ArrayList<>();
+        for (Map.Entry<Object, List<Object>> entry : view.entrySet()) {
+            // The keys are ordered by type first, the other types are before or after the bound type
+            if (bound == null || isSameType(bound, entry.getKey())) {
+                result.addAll(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    public static List<Object> items(Object collection) {
+        return switch (collection) {
+            case JsonArray array -> array.getList();
+            case JsonObject object -> new ArrayList<>(object.getMap().values());
+            case List<?> list -> Collections.unmodifiableList(list);
+            case Map<?, ?> map -> new ArrayList<>(map.values());
+            case null, default -> throw new IllegalArgumentException(
+                    "Only arrays, lists and maps can be indexed: " + collection);
+        };
+    }
+
+    private static List<?> elements(Object value) {
+        if (value instanceof JsonArray array) {
+            return array.getList();
+        }
+        return value instanceof List<?> list ? list : null;
+    }
+
+    private static boolean isSameType(Object a, Object b) {
+        final int rank = rank(a);
+        return rank == rank(b) && (rank != 3 || a.getClass() == b.getClass());
+    }
+
+    private static void checkField(String field) {
+        if (field == null || field.isEmpty() || field.startsWith(".") || field.endsWith(".") || field.contains("..")) {
+            throw new IllegalArgumentException("Invalid data field '%s', expected a name or a path (e.g. 'author.name')"
+                    .formatted(field));
+        }
+    }
+
+    private static boolean isSortable(Object key) {
+        return key != NullKey.INSTANCE && key instanceof Comparable<?>;
+    }
+
+    /**
+     * @return the key of a value in the hash and sorted indexes, strings containing a number are numbers
+     */
+    private static Object normalize(Object value) {
+        return switch (value) {
+            case null -> NullKey.INSTANCE;
+            case BigDecimal d -> d.stripTrailingZeros();
+            case Double d when d.isNaN() || d.isInfinite() -> d;
+            case Float f when f.isNaN() || f.isInfinite() -> f.doubleValue();
+            case Number n -> new BigDecimal(n.toString()).stripTrailingZeros();
+            case CharSequence s when NUMBER.matcher(s).matches() -> new BigDecimal(s.toString()).stripTrailingZeros();
+            case CharSequence s -> s.toString();
+            case Enum<?> e -> e.name();
+            default -> value;
+        };
+    }
+
+    static Object fieldValue(Object item, String field) {
+        Object value = item;
+        int start = 0;
+        while (value != null && start <= field.length()) {
+            int end = field.indexOf('.', start);
+            if (end == -1) {
+                end = field.length();
+            }
+            value = property(value, field.substring(start, end));
+            start = end + 1;
+        }
+        return value;
+    }
+
+    private static Object property(Object target, String name) {
+        switch (target) {
+            case JsonObject object -> {
+                return object.getValue(name);
+            }
+            case Map<?, ?> map -> {
+                return map.get(name);
+            }
+            default -> {
+                final MethodHandle accessor = ACCESSORS.computeIfAbsent(target.getClass(), k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(name, n -> accessor(target.getClass(), n));
+                try {
+                    return accessor.invoke(target);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("Unable to read '%s' on %s".formatted(name, target.getClass().getName()),
+                            e);
+                }
+            }
+        }
+    }
+
+    private static MethodHandle accessor(Class<?> type, String name) {
+        try {
+            if (type.isRecord()) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    if (component.getName().equals(name)) {
+                        return unreflect(component.getAccessor());
+                    }
+                }
+            }
+            final String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (String methodName : List.of("get" + suffix, "is" + suffix, name)) {
+                try {
+                    final Method method = type.getMethod(methodName);
+                    if (method.getReturnType() != void.class && !Modifier.isStatic(method.getModifiers())) {
+                        return unreflect(method);
+                    }
+                } catch (NoSuchMethodException e) {
+                    // try the next name
+                }
+            }
+            final var fieldAccess = type.getField(name);
+            return MethodHandles.publicLookup().unreflectGetter(fieldAccess);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("No readable property '%s' on %s".formatted(name, type.getName()), e);
+        }
+    }
+
+    private static MethodHandle unreflect(Method method) throws IllegalAccessException {
+        method.setAccessible(true);
+        return MethodHandles.lookup().unreflect(method);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareKeys(Object a, Object b) {
+        final int rank = Integer.compare(rank(a), rank(b));
+        if (rank != 0) {
+            return rank;
+        }
+        if (a.getClass() != b.getClass()) {
+            return a.getClass().getName().compareTo(b.getClass().getName());
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private static int rank(Object key) {
+        if (key instanceof BigDecimal) {
+            return 0;
+        } else if (key instanceof String) {
+            return 1;
+        } else if (key instanceof Boolean) {
+            return 2;
+        }
+        return 3;
+    }
+
+    /**
+     * Key of the null values, it is not comparable so it is not in the sorted indexes.
+     */
+    private enum NullKey {
+        INSTANCE
+    }
+}
@@ -0,0 +1,131 @@
+package io.quarkiverse.roq.data.runtime;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The indexes declared on data beans, with {@code @DataMapping(indexes = ...)} or {@code quarkus.roq.data.indexes}.
+ * <p>
+ * Indexes are found from the data collection itself (a {@link JsonArray}, {@link JsonObject}, or the list/map of
+ * a mapping), so the queries also work on the client proxy of a bean. Collections without index are scanned.
+ */
+public final class RoqDataIndexes {
+
+    private static final Map<IdentityKey, RoqDataIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private RoqDataIndexes() {
+    }
+
+    /**
+     * Build and register the indexes for a data bean.
+     *
+     * @param data the data bean, a collection or a mapping with a list or map property
+     */
+    public static void register(Object data, Collection<String> fields) {
+        final Object collection = collectionOf(data);
+        INDEXES.put(new IdentityKey(identity(collection)), RoqDataIndex.build(collection, fields));
+    }
+
+    /**
+     * Rebuild the indexes of a collection after its content changed (dev mode reload), if it has any.
+     */
+    public static void refresh(Object data) {
+        final Object collection = collectionOf(data);
+        INDEXES.computeIfPresent(new IdentityKey(identity(collection)),
+                (key, index) -> RoqDataIndex.build(collection, index.fields()));
+    }
+
+    /**
+     * Drop the indexes of the previous application (dev mode restart).
+     */
+    public static void clear() {
+        INDEXES.clear();
+    }
+
+    /**
+     * @return the registered index of this collection or an index without fields (scanning the items)
+     */
+    public static RoqDataIndex of(Object collection) {
+        final RoqDataIndex index = INDEXES.get(new IdentityKey(identity(collection)));
+        return index != null ? index : RoqDataIndex.build(collection, List.of());
+    }
+
+    public static List<Object> by(Object collection, String field, Object value) {
+        return of(collection).by(field, value);
+    }
+
+    public static List<Object> range(Object collection, String field, Object from, Object to) {
+        return of(collection).range(field, from, to);
+    }
+
+    /**
+     * @return the collection of a data bean: the bean itself or its list/map property for a mapping
+     * @throws IllegalArgumentException if there is no collection
+     */
+    public static Object collectionOf(Object data) {
+        if (data instanceof JsonArray || data instanceof JsonObject || data instanceof List<?> || data instanceof Map<?, ?>) {
+            return data;
+        }
+        try {
+            final Class<?> type = data.getClass();
+            if (type.isRecord()) {
+                for (RecordComponent component : type.getRecordComponents()) {
+                    if (isCollection(component.getType())) {
+                        component.getAccessor().setAccessible(true);
+                        return component.getAccessor().invoke(data);
+                    }
+                }
+            } else {
+                for (Method method : type.getMethods()) {
+                    if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())
+                            && method.getDeclaringClass() != Object.class && isCollection(method.getReturnType())) {
+                        return method.invoke(data);
+                    }
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to read the collection of " + data.getClass().getName(), e);
+        }
+        throw new IllegalArgumentException("No list or map to index in " + data.getClass().getName());
+    }
+
+    private static boolean isCollection(Class<?> type) {
+        return List.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+    }
+
+    private static Object identity(Object collection) {
+        // Client proxies delegate to the bean, the underlying list or map is the same
+        if (collection instanceof JsonArray array) {
+            return array.getList();
+        } else if (collection instanceof JsonObject object) {
+            return object.getMap();
+        }
+        return collection;
+    }
+
+    private static final class IdentityKey {
+        private final Object value;
+
+        IdentityKey(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey other && other.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(value);
+        }
+    }
+}
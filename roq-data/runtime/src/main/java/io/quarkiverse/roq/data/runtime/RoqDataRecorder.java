@@ -1,5 +1,11 @@
 package io.quarkiverse.roq.data.runtime;
 
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import io.quarkiverse.roq.data.runtime.devmode.RoqDataHotReload;
+import io.quarkiverse.roq.dependencies.RoqDataDependencies;
 import io.quarkus.runtime.RuntimeValue;
 import io.quarkus.runtime.annotations.Recorder;
 
@@ -9,4 +15,40 @@ public class RoqDataRecorder {
     public RuntimeValue<Object> createRoqDataJson(Object data) {
         return new RuntimeValue<>(data);
     }
+
+    public Supplier<Object> loadRoqDataJson(String resourceName) {
+        return () -> RoqDataBinary.load(resourceName).root();
+    }
+
+    public Supplier<Object> loadRoqDataTree(String name, List<String> files) {
+        return () -> RoqDataTree.of(name, files);
+    }
+
+    public Supplier<Object> createRoqDataSupplier(Object data) {
+        return () -> data;
+    }
+
+    public Supplier<Object> indexRoqData(Supplier<Object> data, List<String> fields) {
+        return () -> {
+            final Object value = data.get();
+            RoqDataIndexes.register(value, fields);
+            return value;
+        };
+    }
+
+    public void resetRoqDataIndexes() {
+        RoqDataIndexes.clear();
+    }
+
+    public Supplier<Object> reloadableRoqData(String name, List<String> locations, Supplier<Object> data) {
+        return () -> RoqDataHotReload.register(name, locations, data.get());
+    }
+
+    public void resetRoqDataHotReload() {
+        RoqDataHotReload.clear();
+    }
+
+    public void registerRoqDataFingerprints(Map<String, String> fingerprints) {
+        RoqDataDependencies.setFingerprints(fingerprints);
+    }
 }
@@ -0,0 +1,183 @@
+package io.quarkiverse.roq.data.runtime;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A data directory of any depth, as a {@link JsonObject} with a key per file and sub-directory.
+ * <p>
+ * Nothing is loaded when the tree is created: a file is decoded from its {@link RoqDataBinary} resource and a
+ * sub-directory is created when a template first navigates into it, so the branches which are never rendered
+ * don't use any heap. When a file and a sub-directory have the same name, the key is the file. Like the decoded
+ * files, the tree is copied to a regular map on the first write.
+ */
+public final class RoqDataTree extends AbstractMap<String, Object> {
+
+    private final String name;
+    private final String[] keys;
+    private final Object[] nodes;
+    private final Object[] values;
+    private final Map<String, Integer> index;
+    private volatile Map<String, Object> copy;
+
+    private RoqDataTree(String name, Map<String, Object> children) {
+        this.name = name;
+        this.keys = children.keySet().toArray(new String[0]);
+        this.nodes = children.values().toArray();
+        this.values = new Object[keys.length];
+        this.index = new HashMap<>(keys.length * 2);
+        for (int i = 0; i < keys.length; i++) {
+            index.put(keys[i], i);
+        }
+    }
+
+    /**
+     * @param name the name of the directory data (e.g. {@code docs})
+     * @param files the path of each file relative to the directory, without extension (e.g. {@code v1/api/intro})
+     */
+    public static JsonObject of(String name, Collection<String> files) {
+        final Map<String, Object> root = new TreeMap<>();
+        for (String file : files) {
+            addFile(root, file, 0);
+        }
+        return new JsonObject(new RoqDataTree(name, root));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addFile(Map<String, Object> node, String path, int start) {
+        final int slash = path.indexOf('/', start);
+        if (slash == -1) {
+            // A file replaces a sub-directory with the same name
+            node.put(path.substring(start), path);
+            return;
+        }
+        final Object child = node.computeIfAbsent(path.substring(start, slash), k -> new TreeMap<String, Object>());
+        if (child instanceof Map<?, ?> directory) {
+            addFile((Map<String, Object>) directory, path, slash + 1);
+        }
+    }
+
+    private int indexOf(Object key) {
+        return index.getOrDefault(key, -1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object value(int i) {
+        Object value = values[i];
+        if (value == null) {
+            synchronized (this) {
+                value = values[i];
+                if (value == null) {
+                    if (nodes[i] instanceof String file) {
+                        value = RoqDataBinary.load(RoqDataBinary.RESOURCE_DIR + name + "/" + file + ".bin").root();
+                    } else {
+                        value = new JsonObject(new RoqDataTree(name, (Map<String, Object>) nodes[i]));
+                    }
+                    values[i] = value;
+                }
+            }
+        }
+        return value;
+    }
+
+    private synchronized Map<String, Object> copy() {
+        if (copy == null) {
+            final Map<String, Object> map = new LinkedHashMap<>(keys.length * 2);
+            for (int i = 0; i < keys.length; i++) {
+                map.put(keys[i], value(i));
+            }
+            copy = map;
+        }
+        return copy;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (copy != null) {
+            return copy.get(key);
+        }
+        final int i = indexOf(key);
+        return i == -1 ? null : value(i);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return copy != null ? copy.containsKey(key) : indexOf(key) != -1;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (copy != null) {
+            return copy.keySet();
+        }
+        // The keys don't load the values
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(keys)));
+    }
+
+    @Override
+    public int size() {
+        return copy != null ? copy.size() : keys.length;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return copy().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return copy().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        copy().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (copy != null) {
+            return copy.entrySet();
+        }
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < keys.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (i >= keys.length) {
+                            throw new NoSuchElementException();
+                        }
+                        final int current = i++;
+                        return new SimpleImmutableEntry<>(keys[current], value(current));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+}
@@ -44,6 +44,15 @@ public @interface DataMapping {
      */
     boolean required() default false;
 
+    /**
+     * The item fields to index, so templates can look up items with {@code by('field', value)} and
+     * {@code range('field', from, to)} without scanning the whole collection.
+     * A field can be a path (e.g. {@code author.name}).
+     *
+     * @return the indexed fields
+     */
+    String[] indexes() default {};
+
     enum Type {
         /**
          * Single data file mapped to a typed object (default).
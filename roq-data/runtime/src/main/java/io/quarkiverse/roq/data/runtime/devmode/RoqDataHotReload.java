@@ -0,0 +1,200 @@
+package io.quarkiverse.roq.data.runtime.devmode;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.roq.data.runtime.RoqDataIndexes;
+import io.quarkus.dev.console.DevConsoleManager;
+import io.vertx.core.json.Json;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Dev mode hot reload of the data beans, without restarting the application.
+ * <p>
+ * The data files which can be reloaded are watched without restart. The beans of these files delegate to a value
+ * which is replaced when the file changes: the file is converted again by the build (the
+ * {@value #CONVERT_ACTION} dev console action, which returns Json), its indexes are rebuilt and the listeners are
+ * notified (e.g. to drop the rendered pages).
+ */
+public final class RoqDataHotReload {
+
+    public static final String CONVERT_ACTION = "roq-data-convert";
+
+    private static final Logger LOG = Logger.getLogger(RoqDataHotReload.class);
+
+    private static final Map<String, Reloadable> BY_LOCATION = new ConcurrentHashMap<>();
+    private static final Map<String, Runnable> LISTENERS = new ConcurrentHashMap<>();
+
+    private RoqDataHotReload() {
+    }
+
+    /**
+     * Wrap a data bean value so that it can be replaced when one of its watched locations changes.
+     *
+     * @return a {@link JsonObject} or {@link JsonArray} delegating to the current value
+     */
+    public static Object register(String name, Collection<String> locations, Object data) {
+        final Reloadable reloadable = new Reloadable(name, data);
+        for (String location : locations) {
+            BY_LOCATION.put(location, reloadable);
+        }
+        return reloadable.bean;
+    }
+
+    /**
+     * Drop the beans of the previous application (dev mode restart).
+     */
+    public static void clear() {
+        BY_LOCATION.clear();
+    }
+
+    /**
+     * Set the listener called after data is reloaded, a listener with the same key is replaced.
+     */
+    public static void setListener(String key, Runnable listener) {
+        LISTENERS.put(key, listener);
+    }
+
+    static void onChange(Set<String> locations) {
+        boolean reloaded = false;
+        for (String location : locations) {
+            final Reloadable reloadable = BY_LOCATION.get(location);
+            if (reloadable != null) {
+                reloaded |= reloadable.reload();
+            }
+        }
+        if (reloaded) {
+            LISTENERS.values().forEach(Runnable::run);
+        }
+    }
+
+    private static final class Reloadable {
+        private final String name;
+        private final Object bean;
+        private final DelegatingMap map;
+        private final DelegatingList list;
+
+        Reloadable(String name, Object data) {
+            this.name = name;
+            if (data instanceof JsonObject object) {
+                this.map = new DelegatingMap(object.getMap());
+                this.list = null;
+                this.bean = new JsonObject(map);
+            } else if (data instanceof JsonArray array) {
+                this.map = null;
+                this.list = new DelegatingList(array.getList());
+                this.bean = new JsonArray(list);
+            } else {
+                throw new IllegalArgumentException("Only Json data can be reloaded: " + name);
+            }
+        }
+
+        boolean reload() {
+            final long start = System.nanoTime();
+            final Object value;
+            try {
+                value = Json.decodeValue(DevConsoleManager.<String> invoke(CONVERT_ACTION, Map.of("name", name)));
+            } catch (RuntimeException e) {
+                // The previous value is kept until the file is fixed
+                LOG.errorf(e, "Roq data '%s' could not be reloaded", name);
+                return false;
+            }
+            if (map != null && value instanceof JsonObject object) {
+                map.delegate = object.getMap();
+            } else if (list != null && value instanceof JsonArray array) {
+                list.delegate = array.getList();
+            } else {
+                LOG.errorf("Roq data '%s' could not be reloaded, changing between an object and an array needs a restart",
+                        name);
+                return false;
+            }
+            RoqDataIndexes.refresh(bean);
+            LOG.infof("Roq data '%s' reloaded in %dms", name, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        }
+    }
+
+    private static final class DelegatingMap extends AbstractMap<String, Object> {
+        private volatile Map<String, Object> delegate;
+
+        DelegatingMap(Map<String, Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return delegate.get(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return delegate.containsKey(key);
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return delegate.put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return delegate.remove(key);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return delegate.keySet();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return delegate.entrySet();
+        }
+    }
+
+    private static final class DelegatingList extends AbstractList<Object> {
+        private volatile List<Object> delegate;
+
+        DelegatingList(List<Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object get(int index) {
+            return delegate.get(index);
+        }
+
+        @Override
+        public Object set(int index, Object element) {
+            return delegate.set(index, element);
+        }
+
+        @Override
+        public void add(int index, Object element) {
+            delegate.add(index, element);
+        }
+
+        @Override
+        public Object remove(int index) {
+            return delegate.remove(index);
+        }
+
+        @Override
+        public int size() {
+            return delegate.size();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.quarkiverse.roq.data.runtime.devmode;
+
+import io.quarkus.dev.spi.HotReplacementContext;
+import io.quarkus.dev.spi.HotReplacementSetup;
+
+/**
+ * Reloads the data beans when their files change in dev mode, see {@link RoqDataHotReload}.
+ * Discovered via META-INF/services/io.quarkus.dev.spi.HotReplacementSetup.
+ */
+public class RoqDataHotReloadSetup implements HotReplacementSetup {
+
+    @Override
+    public void setupHotDeployment(HotReplacementContext context) {
+        context.consumeNoRestartChanges(RoqDataHotReload::onChange);
+    }
+}
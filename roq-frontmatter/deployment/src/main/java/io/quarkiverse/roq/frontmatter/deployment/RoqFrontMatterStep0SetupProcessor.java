@@ -9,6 +9,7 @@ import static io.quarkiverse.tools.stringpaths.StringPaths.addTrailingSlash;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.Predicate;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -19,7 +20,7 @@ import io.quarkiverse.roq.exception.RoqException;
 import io.quarkiverse.roq.frontmatter.deployment.exception.RoqFrontMatterReadingException;
 import io.quarkiverse.roq.frontmatter.deployment.items.data.RoqFrontMatterDataModificationBuildItem;
 import io.quarkiverse.roq.frontmatter.deployment.items.scan.RoqFrontMatterHeaderParserBuildItem;
-import io.quarkiverse.roq.frontmatter.deployment.util.RoqFrontMatterTemplateUtils;
+import io.quarkiverse.roq.frontmatter.deployment.items.scan.TemplateContext;
 import io.quarkiverse.roq.frontmatter.runtime.config.RoqSiteConfig;
 import io.quarkiverse.web.bundler.spi.items.WebBundlerWatchedDirBuildItem;
 import io.quarkus.deployment.IsDevelopment;
@@ -66,9 +67,11 @@ public class RoqFrontMatterStep0SetupProcessor {
     RoqFrontMatterHeaderParserBuildItem registerFrontMatterParse(RoqJacksonBuildItem jackson) {
         // Register the YAML front matter parser (--- delimited blocks at the top of files).
         // Other extensions can register additional parsers via RoqFrontMatterHeaderParserBuildItem.
-        return new RoqFrontMatterHeaderParserBuildItem(templateContext -> hasFrontMatter(templateContext.content()), c -> {
+        // The front matter block itself is split off at scan time (see TemplateContext#body()),
+        // so there is no header left to remove from the content here.
+        return new RoqFrontMatterHeaderParserBuildItem(TemplateContext::hasFrontMatter, c -> {
             try {
-                return readFM(jackson.getYamlMapper(), c.content());
+                return parseFM(jackson.getYamlMapper(), c.frontMatter());
             } catch (JsonProcessingException | IllegalArgumentException e) {
                 throw new RoqFrontMatterReadingException(
                         RoqException.builder("Front matter reading error")
@@ -77,7 +80,7 @@ public class RoqFrontMatterStep0SetupProcessor {
                                 .hint("Check that the YAML syntax between the --- delimiters is valid.")
                                 .cause(e));
             }
-        }, RoqFrontMatterTemplateUtils::stripFrontMatter, FRONTMATTER_HEADER_PARSER_PRIORITY);
+        }, Function.identity(), FRONTMATTER_HEADER_PARSER_PRIORITY);
     }
 
     @BuildStep(onlyIf = IsDevelopment.class)
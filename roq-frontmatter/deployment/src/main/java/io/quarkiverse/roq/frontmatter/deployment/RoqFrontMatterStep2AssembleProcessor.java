@@ -6,6 +6,7 @@ import static io.quarkiverse.tools.stringpaths.StringPaths.slugify;
 import static io.quarkiverse.tools.stringpaths.StringPaths.toUnixPath;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -19,6 +20,7 @@ import org.jboss.logging.Logger;
 import io.quarkiverse.roq.data.deployment.exception.DataConversionException;
 import io.quarkiverse.roq.data.deployment.items.DataMappingBuildItem;
 import io.quarkiverse.roq.data.deployment.items.RoqDataJsonBuildItem;
+import io.quarkiverse.roq.data.deployment.items.RoqDataRestartBuildItem;
 import io.quarkiverse.roq.deployment.items.RoqProjectBuildItem;
 import io.quarkiverse.roq.exception.RoqException;
 import io.quarkiverse.roq.frontmatter.deployment.exception.RoqFrontMatterReadingException;
@@ -140,7 +142,8 @@ public class RoqFrontMatterStep2AssembleProcessor {
             RoqFrontMatterAvailableLayoutsBuildItem availableLayouts,
             List<RoqDataJsonBuildItem> roqDataJsonBuildItems,
             List<DataMappingBuildItem> roqDataBeanBuildItems,
-            BuildProducer<RoqFrontMatterRawPageBuildItem> rawPageProducer) {
+            BuildProducer<RoqFrontMatterRawPageBuildItem> rawPageProducer,
+            BuildProducer<RoqDataRestartBuildItem> dataRestartProducer) {
 
         Map<String, Supplier<Object>> dataBeans = new HashMap<>(roqDataBeanBuildItems.stream()
                 .collect(Collectors.toMap(DataMappingBuildItem::getName, item -> () -> this.convert(item))));
@@ -148,6 +151,8 @@ public class RoqFrontMatterStep2AssembleProcessor {
                 .collect(Collectors.toMap(RoqDataJsonBuildItem::getName, item -> item::getData)));
 
         siteConfig.collections().forEach(collection -> collection.fromData().ifPresent(ignored -> {
+            // The pages are generated at build time, a change of their data needs a restart
+            dataRestartProducer.produce(new RoqDataRestartBuildItem(collection.dataName()));
             Supplier<Object> dataSupplier = dataBeans.get(collection.dataName());
             if (dataSupplier == null) {
                 throw new RoqFrontMatterReadingException(
@@ -163,11 +168,12 @@ public class RoqFrontMatterStep2AssembleProcessor {
     private void generateDataPages(RoqProjectBuildItem roqProject, ConfiguredCollection configuredCollection, Object item,
             BuildProducer<RoqFrontMatterRawPageBuildItem> rawPageProducer,
             RoqFrontMatterAvailableLayoutsBuildItem availableLayouts, RoqSiteConfig config) {
+        final List<JsonObject> entries = new ArrayList<>();
         switch (item) {
             case JsonObject jsonObject -> {
                 if (jsonObject.containsKey(configuredCollection.idKey())) {
                     // Single item with the id key at top level
-                    generateDataPage(configuredCollection, jsonObject, rawPageProducer, roqProject, availableLayouts, config);
+                    entries.add(jsonObject);
                 } else {
                     // Map of items (e.g. from a data directory), iterate values
                     for (Map.Entry<String, Object> entry : jsonObject) {
@@ -193,14 +199,13 @@ public class RoqFrontMatterStep2AssembleProcessor {
                                             .hint("Each data entry must contain the '%s' field configured as id-key"
                                                     .formatted(configuredCollection.idKey())));
                         }
-                        generateDataPage(configuredCollection, entryObject, rawPageProducer, roqProject, availableLayouts,
-                                config);
+                        entries.add(entryObject);
                     }
                 }
             }
             case JsonArray jsonArray -> jsonArray.forEach(element -> {
                 if (element instanceof JsonObject jsonObject) {
-                    generateDataPage(configuredCollection, jsonObject, rawPageProducer, roqProject, availableLayouts, config);
+                    entries.add(jsonObject);
                 } else {
                     throw new RoqFrontMatterReadingException(
                             RoqException.builder("Invalid data element in collection '%s'"
@@ -216,11 +221,25 @@ public class RoqFrontMatterStep2AssembleProcessor {
                             .detail("Expected a JSON object or array but got: %s".formatted(item.getClass().getSimpleName()))
                             .hint("The data file should contain either a single JSON object or an array of objects"));
         }
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        // The layout, generated template and site dir are resolved once and shared by all the pages of the collection
+        final String layoutId = availableLayouts.resolveCollectionLayoutId(config.theme(), configuredCollection);
+        final DataPageTemplate template = new DataPageTemplate(configuredCollection, layoutId,
+                getIncludeFilter(layoutId, true).apply(""),
+                toUnixPath(roqProject.local().roqDir().normalize().toAbsolutePath().toString()));
+        final long start = System.nanoTime();
+        for (JsonObject entry : entries) {
+            rawPageProducer.produce(generateDataPage(template, entry));
+        }
+        LOGGER.debugf("Roq collection '%s' generated %d data pages in %dms", configuredCollection.id(), entries.size(),
+                (System.nanoTime() - start) / 1_000_000);
     }
 
-    private void generateDataPage(ConfiguredCollection configuredCollection, JsonObject item,
-            BuildProducer<RoqFrontMatterRawPageBuildItem> rawPagesProducer, RoqProjectBuildItem roqProject,
-            RoqFrontMatterAvailableLayoutsBuildItem availableLayouts, RoqSiteConfig config) {
+    private static RoqFrontMatterRawPageBuildItem generateDataPage(DataPageTemplate template, JsonObject item) {
+        final ConfiguredCollection configuredCollection = template.collection();
         final String extractedKey = item.getString(configuredCollection.idKey());
         if (extractedKey == null) {
             throw new RoqFrontMatterReadingException(RoqException
@@ -230,31 +249,34 @@ public class RoqFrontMatterStep2AssembleProcessor {
         }
         final String id = configuredCollection.id() + "/" + slugify(extractedKey, false, false);
         final String path = id + ".html";
-        final String layoutId = availableLayouts.resolveCollectionLayoutId(config.theme(), configuredCollection);
-        rawPagesProducer.produce(new RoqFrontMatterRawPageBuildItem(
+        return new RoqFrontMatterRawPageBuildItem(
                 TemplateSource.create(
                         id,
                         null,
-                        new SourceFile(
-                                toUnixPath(roqProject.local().roqDir().normalize().toAbsolutePath()
-                                        .toString()),
-                                path),
+                        new SourceFile(template.siteDir(), path),
                         path,
                         id + ".html",
                         false,
                         true,
                         false,
                         false),
-                layoutId,
+                template.layoutId(),
                 item,
                 configuredCollection,
-                getIncludeFilter(layoutId, true).apply(""),
-                List.of()));
+                template.generatedTemplate(),
+                List.of());
+    }
+
+    /**
+     * What all the pages of a {@code from-data} collection share.
+     */
+    private record DataPageTemplate(ConfiguredCollection collection, String layoutId, String generatedTemplate,
+            String siteDir) {
     }
 
     private Object convert(DataMappingBuildItem dataMappingBuildItem) {
         try {
-            return dataMappingBuildItem.getConverter().convert(dataMappingBuildItem.getContent());
+            return dataMappingBuildItem.convert();
         } catch (IOException e) {
             throw new DataConversionException(
                     RoqException.builder("Unable to convert data file")
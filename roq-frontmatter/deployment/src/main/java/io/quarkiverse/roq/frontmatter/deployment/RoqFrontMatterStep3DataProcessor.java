@@ -7,12 +7,11 @@ import static io.quarkiverse.roq.frontmatter.runtime.RoqFrontMatterKeys.DRAFT;
 import static io.quarkiverse.roq.frontmatter.runtime.RoqFrontMatterKeys.LINK;
 import static io.quarkiverse.roq.frontmatter.runtime.RoqFrontMatterKeys.PAGINATE;
 
+import java.time.DateTimeException;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.DateTimeParseException;
-import java.time.temporal.ChronoField;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -39,6 +38,7 @@ import io.quarkiverse.roq.frontmatter.deployment.items.data.RoqFrontMatterPagina
 import io.quarkiverse.roq.frontmatter.deployment.items.data.RoqFrontMatterRootUrlBuildItem;
 import io.quarkiverse.roq.frontmatter.deployment.items.data.RoqFrontMatterStaticFileBuildItem;
 import io.quarkiverse.roq.frontmatter.deployment.items.publish.RoqFrontMatterPublishNormalPageBuildItem;
+import io.quarkiverse.roq.frontmatter.deployment.util.RoqFrontMatterDateUtils;
 import io.quarkiverse.roq.frontmatter.runtime.config.RoqSiteConfig;
 import io.quarkiverse.roq.frontmatter.runtime.model.PageFiles;
 import io.quarkiverse.roq.frontmatter.runtime.model.PageSource;
@@ -260,37 +260,11 @@ public class RoqFrontMatterStep3DataProcessor {
 
     static ZonedDateTime parsePublishDate(String path, JsonObject frontMatter, String dateFormat,
             ZoneId zoneId, TemplateSource source) {
-        String dateString;
-        final boolean fromFileName;
         if (frontMatter.containsKey(DATE) && frontMatter.getValue(DATE) != null) {
-            dateString = String.valueOf(frontMatter.getValue(DATE));
-            fromFileName = false;
-        } else {
-            Matcher matcher = FILE_NAME_DATE_PATTERN.matcher(path);
-            if (!matcher.find()) {
-                // No date in frontmatter or filename — caller decides the fallback.
-                return null;
-            }
-            dateString = matcher.group(1);
-            fromFileName = true;
-        }
-        try {
-            return new DateTimeFormatterBuilder().appendPattern(dateFormat)
-                    .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
-                    .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
-                    .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
-                    .toFormatter()
-                    .withZone(zoneId)
-                    .parse(dateString, ZonedDateTime::from);
-        } catch (DateTimeParseException e) {
-            if (fromFileName) {
-                throw new RoqSiteScanningException(
-                        RoqException.builder("Invalid date in file name")
-                                .sourceInfo(source.file().toSourceInfo())
-                                .detail("Could not parse date '%s' from the file name.".formatted(dateString))
-                                .hint("Rename the file so the date matches the configured format: '%s'.".formatted(dateFormat))
-                                .cause(e));
-            } else {
+            final String dateString = String.valueOf(frontMatter.getValue(DATE));
+            try {
+                return RoqFrontMatterDateUtils.parsePublishDate(dateString, dateFormat, zoneId);
+            } catch (DateTimeParseException e) {
                 throw new RoqFrontMatterReadingException(
                         RoqException.builder("Invalid date format")
                                 .sourceInfo(source.file().toSourceInfo())
@@ -299,7 +273,22 @@ public class RoqFrontMatterStep3DataProcessor {
                                 .cause(e));
             }
         }
-
+        Matcher matcher = FILE_NAME_DATE_PATTERN.matcher(path);
+        if (!matcher.find()) {
+            // No date in frontmatter or filename — caller decides the fallback.
+            return null;
+        }
+        final String dateString = matcher.group(1);
+        try {
+            return RoqFrontMatterDateUtils.parseFileNameDate(dateString, zoneId);
+        } catch (DateTimeException e) {
+            throw new RoqSiteScanningException(
+                    RoqException.builder("Invalid date in file name")
+                            .sourceInfo(source.file().toSourceInfo())
+                            .detail("Could not parse date '%s' from the file name.".formatted(dateString))
+                            .hint("Rename the file so the date is a valid 'yyyy-MM-dd' date.")
+                            .cause(e));
+        }
     }
 
 }
@@ -20,6 +20,7 @@ import io.quarkiverse.roq.frontmatter.deployment.items.publish.RoqFrontMatterPub
 import io.quarkiverse.roq.frontmatter.runtime.config.ConfiguredCollection;
 import io.quarkiverse.roq.frontmatter.runtime.config.RoqSiteConfig;
 import io.quarkiverse.roq.frontmatter.runtime.model.PageSource;
+import io.quarkiverse.roq.frontmatter.runtime.model.Pagination;
 import io.quarkiverse.roq.frontmatter.runtime.model.Paginator;
 import io.quarkiverse.roq.frontmatter.runtime.model.RootUrl;
 import io.quarkiverse.roq.frontmatter.runtime.model.RoqUrl;
@@ -110,30 +111,15 @@ class RoqFrontMatterStep4PublishProcessor {
                 paginatedPages.add(new PageToPublish(paginatedUrl, pageSource, data));
             }
 
-            // Second pass: publish each page with its Paginator containing prev/next navigation
+            // Second pass: publish each page with its Paginator. All the pages share the same Pagination
+            // (url list, sizes) and only hold their own index, prev/next navigation is computed from it.
             final List<RoqUrl> pagesUrl = paginatedPages.stream().map(PageToPublish::url).toList();
+            final Pagination shared = new Pagination(paginate.collection(), total, paginate.size(), pagesUrl);
 
             for (int i = 1; i <= countPages; i++) {
-                Integer prev = i > 1 ? i - 1 : null;
-                Integer next = i <= countPages - 1 ? i + 1 : null;
                 PageToPublish currentPage = paginatedPages.get(i - 1);
-                PageToPublish previousPage;
-                PageToPublish nextPage;
-                RoqUrl previousUrl = null;
-                RoqUrl nextUrl = null;
-                if (prev != null) {
-                    previousPage = paginatedPages.get(prev - 1);
-                    previousUrl = previousPage.url();
-                }
-                if (next != null) {
-                    nextPage = paginatedPages.get(next - 1);
-                    nextUrl = nextPage.url();
-                }
-                RoqUrl firstUrl = paginatedPages.get(0).url();
-                Paginator paginator = new Paginator(paginate.collection(), total, paginate.size(), countPages, i, firstUrl,
-                        prev, previousUrl, next, nextUrl, pagesUrl);
                 pagesProducer.produce(new RoqFrontMatterPublishNormalPageBuildItem(currentPage.url(), currentPage.source(),
-                        currentPage.data(), paginator));
+                        currentPage.data(), new Paginator(shared, i)));
             }
         }
 
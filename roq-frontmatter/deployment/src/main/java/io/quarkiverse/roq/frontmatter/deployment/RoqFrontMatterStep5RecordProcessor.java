@@ -2,6 +2,8 @@ package io.quarkiverse.roq.frontmatter.deployment;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -11,7 +13,9 @@ import jakarta.inject.Singleton;
 
 import org.jboss.logging.Logger;
 
+import io.quarkiverse.roq.deployment.util.RoqDigestUtils;
 import io.quarkiverse.roq.exception.RoqException;
+import io.quarkiverse.roq.frontmatter.deployment.exception.RoqFrontMatterReadingException;
 import io.quarkiverse.roq.frontmatter.deployment.exception.RoqPathConflictException;
 import io.quarkiverse.roq.frontmatter.deployment.exception.RoqSiteIndexNotFoundException;
 import io.quarkiverse.roq.frontmatter.deployment.items.assemble.RoqFrontMatterRawLayoutBuildItem;
@@ -21,24 +25,27 @@ import io.quarkiverse.roq.frontmatter.deployment.items.publish.RoqFrontMatterPub
 import io.quarkiverse.roq.frontmatter.deployment.items.publish.RoqFrontMatterPublishDocumentPageBuildItem;
 import io.quarkiverse.roq.frontmatter.deployment.items.publish.RoqFrontMatterPublishNormalPageBuildItem;
 import io.quarkiverse.roq.frontmatter.deployment.items.record.RoqFrontMatterOutputBuildItem;
-import io.quarkiverse.roq.frontmatter.deployment.items.record.RoqFrontMatterRecordedCollectionBuildItem;
-import io.quarkiverse.roq.frontmatter.deployment.items.record.RoqFrontMatterRecordedNormalPageBuildItem;
-import io.quarkiverse.roq.frontmatter.deployment.items.record.RoqFrontMatterRecordedPageBuildItem;
-import io.quarkiverse.roq.frontmatter.deployment.items.record.RoqFrontMatterRecordedSiteIndexBuildItem;
+import io.quarkiverse.roq.frontmatter.deployment.items.record.RoqFrontMatterSnapshotBuildItem;
 import io.quarkiverse.roq.frontmatter.runtime.RoqFrontMatterRecorder;
 import io.quarkiverse.roq.frontmatter.runtime.config.ConfiguredCollection;
 import io.quarkiverse.roq.frontmatter.runtime.config.RoqSiteConfig;
 import io.quarkiverse.roq.frontmatter.runtime.model.*;
+import io.quarkiverse.roq.frontmatter.runtime.utils.SiteSnapshot;
+import io.quarkiverse.roq.generator.deployment.items.GenerationInputBuildItem;
 import io.quarkiverse.tools.stringpaths.StringPaths;
 import io.quarkus.arc.deployment.SyntheticBeanBuildItem;
 import io.quarkus.arc.deployment.SyntheticBeansRuntimeInitBuildItem;
 import io.quarkus.deployment.annotations.*;
 import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.GeneratedResourceBuildItem;
 import io.quarkus.deployment.builditem.LaunchModeBuildItem;
+import io.quarkus.deployment.builditem.ShutdownContextBuildItem;
+import io.quarkus.deployment.builditem.nativeimage.NativeImageResourceBuildItem;
 import io.quarkus.runtime.LaunchMode;
 import io.quarkus.vertx.http.deployment.HttpRootPathBuildItem;
 import io.quarkus.vertx.http.deployment.RouteBuildItem;
 import io.quarkus.vertx.http.runtime.HandlerType;
+import io.vertx.core.json.JsonObject;
 
 // Records runtime objects via the Quarkus recorder pattern.
 // All @Record methods here run at STATIC_INIT (build time) to create Supplier-based
@@ -70,80 +77,74 @@ class RoqFrontMatterStep5RecordProcessor {
                 .done());
     }
 
-    // Record document pages grouped by collection, and derived collections (e.g. tag pages).
-    // Derived collections reference existing document suppliers by id — they don't create new pages.
+    // Write the published pages (url, source and FM data), the collections, the paginations and the routes
+    // into a binary snapshot resource loaded at startup.
+    // The whole site is then recorded as a single loader call, instead of recording each page, collection and
+    // FM data as bytecode.
     @BuildStep
     @Record(ExecutionTime.STATIC_INIT)
-    void bindCollections(
+    RoqFrontMatterSnapshotBuildItem writeSnapshot(
+            LaunchModeBuildItem launchMode,
             RoqFrontMatterRootUrlBuildItem rootUrlItem,
             List<RoqFrontMatterPublishDocumentPageBuildItem> documents,
+            List<RoqFrontMatterPublishNormalPageBuildItem> pages,
             List<RoqFrontMatterPublishDerivedCollectionBuildItem> generatedCollections,
-            BuildProducer<RoqFrontMatterRecordedCollectionBuildItem> collectionsProducer,
-            BuildProducer<RoqFrontMatterRecordedPageBuildItem> pagesProducer,
+            BuildProducer<GeneratedResourceBuildItem> generatedResourceProducer,
+            BuildProducer<NativeImageResourceBuildItem> nativeImageResourceProducer,
+            BuildProducer<GenerationInputBuildItem> generationInputProducer,
             RoqFrontMatterRecorder recorder) {
         if (rootUrlItem == null) {
-            return;
+            return null;
         }
+        final SiteSnapshot.Writer writer = new SiteSnapshot.Writer();
+        final List<PublishedPage> published = new ArrayList<>();
 
-        // Published collections
-        final Map<ConfiguredCollection, List<RoqFrontMatterPublishDocumentPageBuildItem>> byCollection = documents.stream()
-                .collect(Collectors.groupingBy(RoqFrontMatterPublishDocumentPageBuildItem::collection));
-        final Map<String, Supplier<DocumentPage>> documentsById = new HashMap<>();
-        for (Map.Entry<ConfiguredCollection, List<RoqFrontMatterPublishDocumentPageBuildItem>> e : byCollection.entrySet()) {
-            List<Supplier<DocumentPage>> docs = new ArrayList<>();
-            for (RoqFrontMatterPublishDocumentPageBuildItem item : e.getValue()) {
-                final RoqUrl url = item.url();
-                final Supplier<DocumentPage> document = recorder.createDocument(item.collection().id(),
-                        url,
-                        item.source(), item.data(), item.collection().hidden());
-                documentsById.put(item.source().id(), document);
-                pagesProducer
-                        .produce(
-                                new RoqFrontMatterRecordedPageBuildItem(item.source().id(), url, item.collection().hidden(),
-                                        document));
-                docs.add(document);
-            }
-            collectionsProducer.produce(new RoqFrontMatterRecordedCollectionBuildItem(e.getKey(), docs));
+        // Published collections, documents are grouped by collection
+        final Map<ConfiguredCollection, List<Integer>> byCollection = new LinkedHashMap<>();
+        final Map<String, Integer> documentsById = new HashMap<>();
+        for (RoqFrontMatterPublishDocumentPageBuildItem item : documents) {
+            final int entry = addToSnapshot(writer, item.url(), item.source(), item.data());
+            writer.addDocument(new SiteSnapshot.DocumentRef(entry, item.collection().id(), item.collection().hidden()));
+            byCollection.computeIfAbsent(item.collection(), c -> new ArrayList<>()).add(entry);
+            documentsById.put(item.source().id(), entry);
+            published.add(new PublishedPage(item.source().id(), item.url(), item.collection().hidden(), entry));
+        }
+        for (Map.Entry<ConfiguredCollection, List<Integer>> e : byCollection.entrySet()) {
+            writer.addCollection(new SiteSnapshot.CollectionRef(e.getKey(), e.getValue()));
         }
 
         // Derived collections (referencing existing documents)
         for (RoqFrontMatterPublishDerivedCollectionBuildItem i : generatedCollections) {
-            List<Supplier<DocumentPage>> docs = new ArrayList<>();
+            final List<Integer> docs = new ArrayList<>(i.documentIds().size());
             for (String id : i.documentIds()) {
-                final Supplier<DocumentPage> doc = documentsById.get(id);
-                if (doc == null) {
+                final Integer entry = documentsById.get(id);
+                if (entry == null) {
                     throw new IllegalStateException("No document found for id " + id);
                 }
-                docs.add(doc);
+                docs.add(entry);
             }
-            collectionsProducer.produce(new RoqFrontMatterRecordedCollectionBuildItem(i.collection(), docs));
+            writer.addCollection(new SiteSnapshot.CollectionRef(i.collection(), docs));
         }
-    }
 
-    // Record normal pages (non-collection pages) and identify the site index page
-    @BuildStep
-    @Record(ExecutionTime.STATIC_INIT)
-    void bindPages(
-            RoqFrontMatterRootUrlBuildItem rootUrlItem,
-            List<RoqFrontMatterPublishNormalPageBuildItem> pages,
-            BuildProducer<RoqFrontMatterRecordedNormalPageBuildItem> normalPagesProducer,
-            BuildProducer<RoqFrontMatterRecordedPageBuildItem> pagesProducer,
-            BuildProducer<RoqFrontMatterRecordedSiteIndexBuildItem> indexPageProducer,
-            RoqFrontMatterRecorder recorder) {
-        if (rootUrlItem == null) {
-            return;
-        }
-        List<RoqFrontMatterPublishNormalPageBuildItem> siteIndexPages = new ArrayList<>();
+        // Normal pages (non-collection pages) and the site index page
+        final List<RoqFrontMatterPublishNormalPageBuildItem> siteIndexPages = new ArrayList<>();
+        // The pagination is shared by the pages of a paginated source, it is written once
+        final Map<Pagination, Integer> paginations = new IdentityHashMap<>();
         for (RoqFrontMatterPublishNormalPageBuildItem page : pages) {
-            final Supplier<NormalPage> recordedPage = recorder.createPage(page.url(),
-                    page.source(), page.data(), page.paginator());
-            pagesProducer.produce(new RoqFrontMatterRecordedPageBuildItem(page.source().id(), page.url(), false, recordedPage));
-            normalPagesProducer
-                    .produce(new RoqFrontMatterRecordedNormalPageBuildItem(page.source().id(), page.url(), recordedPage));
+            final int entry = addToSnapshot(writer, page.url(), page.source(), page.data());
+            final Paginator paginator = page.paginator();
+            final int pagination = paginator == null ? -1
+                    : paginations.computeIfAbsent(paginator.pagination(), p -> writer.addPagination(
+                            new SiteSnapshot.PaginationRef(p.collection(), p.collectionSize(), p.limit(),
+                                    p.pagesUrl().isEmpty() ? null : p.pagesUrl().get(0).root(),
+                                    p.pagesUrl().stream().map(RoqUrl::resourcePath).toList())));
+            writer.addNormalPage(
+                    new SiteSnapshot.NormalPageRef(entry, pagination, paginator == null ? 0 : paginator.currentIndex()));
+            published.add(new PublishedPage(page.source().id(), page.url(), false, entry));
             if (page.source().isSiteIndex()) {
                 siteIndexPages.add(page);
                 if (siteIndexPages.size() == 1) {
-                    indexPageProducer.produce(new RoqFrontMatterRecordedSiteIndexBuildItem(recordedPage));
+                    writer.setSiteIndex(entry);
                 }
             }
         }
@@ -156,27 +157,8 @@ class RoqFrontMatterStep5RecordProcessor {
                             .detail("Found %d index pages: %s".formatted(siteIndexPages.size(), paths))
                             .hint("Remove the extra index files so only a single site index remains."));
         }
-    }
-
-    // Assemble the Site bean from all recorded pages/collections, detect path conflicts,
-    // and return the output build item that downstream steps (Step6) depend on
-    @BuildStep
-    @Record(ExecutionTime.STATIC_INIT)
-    RoqFrontMatterOutputBuildItem bindSite(
-            LaunchModeBuildItem launchMode,
-            RoqFrontMatterRootUrlBuildItem rootUrlItem,
-            RoqFrontMatterRecordedSiteIndexBuildItem indexPageItem,
-            List<RoqFrontMatterRecordedCollectionBuildItem> collectionItems,
-            List<RoqFrontMatterRecordedPageBuildItem> pageItems,
-            List<RoqFrontMatterRecordedNormalPageBuildItem> normalPageItems,
-            BuildProducer<SyntheticBeanBuildItem> beansProducer,
-            RoqFrontMatterRecorder recorder) {
-        if (rootUrlItem == null) {
-            return null;
-        }
-        // Create Site bean
-        if (indexPageItem == null) {
-            if (normalPageItems.isEmpty() && collectionItems.isEmpty()) {
+        if (siteIndexPages.isEmpty()) {
+            if (pages.isEmpty() && documents.isEmpty() && generatedCollections.isEmpty()) {
                 // No pages at all (e.g. plugin tests with only layouts on the classpath)
                 return null;
             }
@@ -185,61 +167,93 @@ class RoqFrontMatterStep5RecordProcessor {
                             .detail("No site index page (index.html, index.md, etc.) was found.")
                             .hint("Create an index file in your content or templates directory."));
         }
-        final Map<ConfiguredCollection, List<Supplier<DocumentPage>>> collectionsMap = collectionItems.stream().collect(
-                Collectors.toMap(RoqFrontMatterRecordedCollectionBuildItem::collection,
-                        RoqFrontMatterRecordedCollectionBuildItem::documents));
-        final Supplier<RoqCollections> collectionsSupplier = recorder.createRoqCollections(collectionsMap);
-        final List<Supplier<NormalPage>> pages = normalPageItems.stream()
-                .map(RoqFrontMatterRecordedNormalPageBuildItem::page)
-                .toList();
-        final Supplier<Site> siteSupplier = recorder.createSite(rootUrlItem.rootUrl(), indexPageItem.page(), pages,
-                collectionsSupplier);
-        beansProducer.produce(SyntheticBeanBuildItem.configure(Site.class)
-                .named("site")
-                .scope(Singleton.class)
-                .unremovable()
-                .supplier(siteSupplier)
-                .done());
-        // Build the path → page map for the route handler, checking for duplicate paths.
+
+        // Route each path to its page, checking for duplicate paths.
         // Hidden pages (e.g. from hidden collections) are excluded from routing.
-        Map<String, RoqFrontMatterRecordedPageBuildItem> itemsMap = new HashMap<>();
-        Map<String, Supplier<? extends Page>> allPagesByPath = new HashMap<>();
-        for (RoqFrontMatterRecordedPageBuildItem i : pageItems) {
+        final Map<String, PublishedPage> routesByPath = new LinkedHashMap<>();
+        for (PublishedPage r : published) {
             if (LOGGER.isDebugEnabled()) {
-                LOGGER.debugf("Published %spage '%s' on '%s'", i.hidden() ? "hidden " : "", i.id(), i.url().toString());
+                LOGGER.debugf("Published %spage '%s' on '%s'", r.hidden() ? "hidden " : "", r.id(), r.url().toString());
             }
-            if (i.hidden()) {
+            if (r.hidden()) {
                 continue;
             }
-            final RoqFrontMatterRecordedPageBuildItem prev = itemsMap.putIfAbsent(i.url().resourcePath(), i);
+            final PublishedPage prev = routesByPath.putIfAbsent(r.url().resourcePath(), r);
             if (prev != null) {
                 if (launchMode.getLaunchMode() == LaunchMode.DEVELOPMENT) {
                     LOGGER.warnf(
                             "Conflict detected: Duplicate path (%s) found in %s and %s. In development, the first occurrence will be kept, but this will cause an exception in normal mode.",
-                            i.url().resourcePath(), prev.id(), i.id());
+                            r.url().resourcePath(), prev.id(), r.id());
                     continue;
                 } else {
                     throw new RoqPathConflictException(
                             RoqException.builder("Path conflict")
                                     .detail("Duplicate path '%s' produced by both '%s' and '%s'.".formatted(
-                                            i.url().resourcePath(), prev.id(), i.id()))
+                                            r.url().resourcePath(), prev.id(), r.id()))
                                     .hint("Ensure each page resolves to a unique URL path, or use 'link:' in front matter to customize the output path."));
                 }
             }
-            allPagesByPath.put(i.url().resourcePath(), i.page());
+            writer.addRoute(r.entry());
+        }
+
+        final byte[] snapshot = writer.toByteArray();
+        generatedResourceProducer.produce(new GeneratedResourceBuildItem(SiteSnapshot.RESOURCE_NAME, snapshot));
+        // The pages, their urls and front matter data, the collections and the routes
+        generationInputProducer.produce(new GenerationInputBuildItem("site-snapshot", RoqDigestUtils.hex(snapshot)));
+        nativeImageResourceProducer.produce(new NativeImageResourceBuildItem(SiteSnapshot.RESOURCE_NAME));
+        return new RoqFrontMatterSnapshotBuildItem(recorder.loadSitePages(SiteSnapshot.RESOURCE_NAME),
+                routesByPath.keySet());
+    }
+
+    private record PublishedPage(String id, RoqUrl url, boolean hidden, int entry) {
+    }
+
+    private static int addToSnapshot(SiteSnapshot.Writer writer, RoqUrl url, PageSource source, JsonObject data) {
+        try {
+            return writer.add(url, source, data);
+        } catch (IllegalArgumentException e) {
+            throw new RoqFrontMatterReadingException(
+                    RoqException.builder("Unsupported front matter data")
+                            .sourceInfo(source.file().toSourceInfo())
+                            .detail("Page '%s': %s".formatted(source.id(), e.getMessage()))
+                            .hint("Front matter values must be strings, numbers, booleans, lists or objects.")
+                            .cause(e));
+        }
+    }
+
+    // Register the Site bean, built from the recorded site pages,
+    // and return the output build item that downstream steps (Step6) depend on
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    RoqFrontMatterOutputBuildItem bindSite(
+            RoqFrontMatterSnapshotBuildItem snapshot,
+            BuildProducer<SyntheticBeanBuildItem> beansProducer,
+            ShutdownContextBuildItem shutdownContext,
+            RoqFrontMatterRecorder recorder) {
+        if (snapshot == null) {
+            return null;
         }
-        return new RoqFrontMatterOutputBuildItem(allPagesByPath);
+        recorder.configureContentCache(shutdownContext);
+        recorder.registerSiteData();
+        final Supplier<Site> siteSupplier = recorder.createSite(snapshot.pages());
+        beansProducer.produce(SyntheticBeanBuildItem.configure(Site.class)
+                .named("site")
+                .scope(Singleton.class)
+                .unremovable()
+                .supplier(siteSupplier)
+                .done());
+        return new RoqFrontMatterOutputBuildItem(snapshot.pages(), snapshot.paths());
     }
 
     // Register the Vert.x route handler that serves rendered pages at runtime.
     // Runs at RUNTIME_INIT (after synthetic beans are available) so the handler
-    // can look up Page suppliers from the allPagesByPath map.
+    // can look up the pages by path from the recorded site pages.
     @BuildStep
     @Record(ExecutionTime.RUNTIME_INIT)
     @Consume(SyntheticBeansRuntimeInitBuildItem.class)
     public RouteBuildItem produceRoute(RoqSiteConfig config, RoqFrontMatterRecorder recorder,
             HttpRootPathBuildItem httpRootPath, RoqFrontMatterOutputBuildItem roqFrontMatterOutput) {
-        if (roqFrontMatterOutput == null || roqFrontMatterOutput.allPagesByPath().isEmpty()) {
+        if (roqFrontMatterOutput == null || roqFrontMatterOutput.paths().isEmpty()) {
             // There are no templates to serve
             return null;
         }
@@ -247,7 +261,7 @@ class RoqFrontMatterStep5RecordProcessor {
                 .routeFunction(httpRootPath.relativePath(StringPaths.join(config.pathPrefixOrEmpty(), "/*")),
                         recorder.initializeRoute())
                 .handlerType(HandlerType.BLOCKING)
-                .handler(recorder.handler(httpRootPath.getRootPath(), roqFrontMatterOutput.allPagesByPath()))
+                .handler(recorder.handler(httpRootPath.getRootPath(), roqFrontMatterOutput.pages()))
                 .build();
     }
 }
@@ -1,5 +1,8 @@
 package io.quarkiverse.roq.frontmatter.deployment;
 
+import static io.quarkiverse.roq.deployment.util.RoqDigestUtils.hex;
+import static io.quarkiverse.roq.deployment.util.RoqDigestUtils.sha256;
+import static io.quarkiverse.roq.deployment.util.RoqDigestUtils.update;
 import static io.quarkiverse.roq.frontmatter.runtime.RoqTemplates.isLayoutSourceTemplate;
 import static io.quarkiverse.tools.stringpaths.StringPaths.addTrailingSlash;
 import static io.quarkiverse.tools.stringpaths.StringPaths.prefixWithSlash;
@@ -8,12 +11,17 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
 import org.jboss.logging.Logger;
 
 import io.quarkiverse.roq.exception.RoqException;
@@ -33,6 +41,7 @@ import io.quarkiverse.roq.frontmatter.runtime.model.DocumentPage;
 import io.quarkiverse.roq.frontmatter.runtime.model.NormalPage;
 import io.quarkiverse.roq.frontmatter.runtime.model.Page;
 import io.quarkiverse.roq.frontmatter.runtime.model.PageSource;
+import io.quarkiverse.roq.frontmatter.runtime.model.Pagination;
 import io.quarkiverse.roq.frontmatter.runtime.model.Paginator;
 import io.quarkiverse.roq.frontmatter.runtime.model.RootUrl;
 import io.quarkiverse.roq.frontmatter.runtime.model.RoqCollection;
@@ -41,6 +50,8 @@ import io.quarkiverse.roq.frontmatter.runtime.model.RoqUrl;
 import io.quarkiverse.roq.frontmatter.runtime.model.Site;
 import io.quarkiverse.roq.frontmatter.runtime.model.SourceFile;
 import io.quarkiverse.roq.frontmatter.runtime.model.TemplateSource;
+import io.quarkiverse.roq.frontmatter.runtime.model.TextStats;
+import io.quarkiverse.roq.generator.deployment.items.GenerationInputBuildItem;
 import io.quarkiverse.roq.generator.deployment.items.SelectedPathBuildItem;
 import io.quarkiverse.tools.stringpaths.StringPaths;
 import io.quarkus.arc.deployment.AdditionalBeanBuildItem;
@@ -68,6 +79,39 @@ public class RoqFrontMatterStep6BindProcessor {
         return new FeatureBuildItem(FEATURE);
     }
 
+    // The templates (content, layouts and partials) and the site configuration are used to render any page,
+    // a change generates all the pages again in incremental generation
+    @BuildStep
+    void generationInputs(
+            List<TemplatePathBuildItem> templatePaths,
+            RoqFrontMatterOutputBuildItem roqOutput,
+            BuildProducer<GenerationInputBuildItem> generationInputProducer) {
+        if (roqOutput == null) {
+            return;
+        }
+        final MessageDigest templates = sha256();
+        templatePaths.stream()
+                .sorted(Comparator.comparing(TemplatePathBuildItem::getPath))
+                .forEach(template -> {
+                    update(templates, template.getPath());
+                    update(templates, template.getContent() != null ? template.getContent() : "");
+                });
+        generationInputProducer.produce(new GenerationInputBuildItem("templates", hex(templates)));
+
+        final Config config = ConfigProvider.getConfig();
+        final MessageDigest siteConfig = sha256();
+        final Set<String> names = new TreeSet<>();
+        for (String name : config.getPropertyNames()) {
+            if (name.startsWith("site.")) {
+                names.add(name);
+            }
+        }
+        for (String name : names) {
+            update(siteConfig, name + "=" + config.getOptionalValue(name, String.class).orElse(""));
+        }
+        generationInputProducer.produce(new GenerationInputBuildItem("site-config", hex(siteConfig)));
+    }
+
     // Write generated Qute templates to disk and register them with the Qute engine.
     // Also sets up type-safe validation so Qute knows page/site variable types.
     @BuildStep
@@ -198,6 +242,8 @@ public class RoqFrontMatterStep6BindProcessor {
                         RoqCollections.class,
                         RoqCollection.class,
                         Paginator.class,
+                        Pagination.class,
+                        TextStats.class,
                         SourceFile.class);
         if (roqOutput != null) {
             builder.setUnremovable();
@@ -219,7 +265,7 @@ public class RoqFrontMatterStep6BindProcessor {
 
         // Bind Roq Generator and dev-ui endpoints
         if (config.generator()) {
-            for (String path : roqOutput.allPagesByPath().keySet()) {
+            for (String path : roqOutput.paths()) {
                 // If there is no extension, we add a trailing slash to make it detected as a html page (this is Roq Generator api)
                 final String selectedPath = StringPaths.fileExtension(path) != null ? path : addTrailingSlash(path);
                 selectedPathProducer.produce(new SelectedPathBuildItem(prefixWithSlash(selectedPath), null));
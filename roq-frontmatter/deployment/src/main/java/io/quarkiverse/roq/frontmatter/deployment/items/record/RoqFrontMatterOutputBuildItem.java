@@ -1,21 +1,30 @@
 package io.quarkiverse.roq.frontmatter.deployment.items.record;
 
-import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 
-import io.quarkiverse.roq.frontmatter.runtime.model.Page;
+import io.quarkiverse.roq.frontmatter.runtime.utils.SitePages;
 import io.quarkus.builder.item.SimpleBuildItem;
 
 public final class RoqFrontMatterOutputBuildItem extends SimpleBuildItem {
 
-    private final Map<String, Supplier<? extends Page>> allPagesByPath;
+    private final Supplier<SitePages> pages;
+    private final Set<String> paths;
 
-    public RoqFrontMatterOutputBuildItem(Map<String, Supplier<? extends Page>> allPagesByPath) {
-        this.allPagesByPath = allPagesByPath;
+    public RoqFrontMatterOutputBuildItem(Supplier<SitePages> pages, Set<String> paths) {
+        this.pages = pages;
+        this.paths = paths;
     }
 
-    public Map<String, Supplier<? extends Page>> allPagesByPath() {
-        return allPagesByPath;
+    public Supplier<SitePages> pages() {
+        return pages;
     }
 
-}
\ No newline at end of file
+    /**
+     * @return the url paths of the routed pages
+     */
+    public Set<String> paths() {
+        return paths;
+    }
+
+}
@@ -0,0 +1,28 @@
+package io.quarkiverse.roq.frontmatter.deployment.items.record;
+
+import java.util.Set;
+import java.util.function.Supplier;
+
+import io.quarkiverse.roq.frontmatter.runtime.utils.SitePages;
+import io.quarkus.builder.item.SimpleBuildItem;
+
+/**
+ * The recorded site pages, loaded from the site snapshot, and the url paths they are served on.
+ */
+public final class RoqFrontMatterSnapshotBuildItem extends SimpleBuildItem {
+    private final Supplier<SitePages> pages;
+    private final Set<String> paths;
+
+    public RoqFrontMatterSnapshotBuildItem(Supplier<SitePages> pages, Set<String> paths) {
+        this.pages = pages;
+        this.paths = paths;
+    }
+
+    public Supplier<SitePages> pages() {
+        return pages;
+    }
+
+    public Set<String> paths() {
+        return paths;
+    }
+}
@@ -0,0 +1,145 @@
+package io.quarkiverse.roq.frontmatter.deployment.items.scan;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Raw content of a scanned template, kept as UTF-8 bytes.
+ * <p>
+ * The YAML front matter fences ({@code ---}) are located at byte level when the content is created,
+ * with the same rules as {@code RoqFrontMatterConstants.FRONTMATTER_PATTERN}. The front matter and the body
+ * are only decoded when they are requested, so big files are not copied into a full-size {@link String}
+ * just to find and strip their header.
+ */
+public final class TemplateContent {
+
+    private static final byte DASH = '-';
+
+    private final byte[] bytes;
+    // Byte offsets of the front matter block, or -1 when there is none
+    private final int headerStart;
+    private final int headerEnd;
+    private final int bodyStart;
+
+    private String full;
+    private String body;
+
+    private TemplateContent(byte[] bytes, String full) {
+        this.bytes = bytes;
+        this.full = full;
+        final int[] fences = findFences(bytes);
+        this.headerStart = fences[0];
+        this.headerEnd = fences[1];
+        this.bodyStart = fences[2];
+    }
+
+    public static TemplateContent of(byte[] content, Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)) {
+            return new TemplateContent(content, null);
+        }
+        // The fence scan works on UTF-8, other charsets are re-encoded once
+        final String decoded = new String(content, charset);
+        return new TemplateContent(decoded.getBytes(StandardCharsets.UTF_8), decoded);
+    }
+
+    public static TemplateContent of(String content) {
+        return new TemplateContent(content.getBytes(StandardCharsets.UTF_8), content);
+    }
+
+    public boolean hasFrontMatter() {
+        return headerStart != -1;
+    }
+
+    /**
+     * @return the trimmed text between the front matter fences, or an empty string when there is no front matter
+     */
+    public String frontMatter() {
+        if (!hasFrontMatter()) {
+            return "";
+        }
+        return new String(bytes, headerStart, headerEnd - headerStart, StandardCharsets.UTF_8).trim();
+    }
+
+    /**
+     * @return the content without its front matter block (decoded once on first access)
+     */
+    public String body() {
+        if (body == null) {
+            if (!hasFrontMatter()) {
+                body = full();
+            } else {
+                body = new String(bytes, bodyStart, bytes.length - bodyStart, StandardCharsets.UTF_8);
+            }
+        }
+        return body;
+    }
+
+    /**
+     * @return the full content including the front matter (decoded once on first access)
+     */
+    public String full() {
+        if (full == null) {
+            full = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return full;
+    }
+
+    /**
+     * Equivalent of {@code ^---\v.*?---(?:\v|$)} (DOTALL) on UTF-8 bytes.
+     *
+     * @return {headerStart, headerEnd, bodyStart}, all -1 when there is no front matter
+     */
+    static int[] findFences(byte[] b) {
+        final int[] none = { -1, -1, -1 };
+        if (b.length < 4 || !isFence(b, 0)) {
+            return none;
+        }
+        final int opening = verticalSpaceLength(b, 3);
+        if (opening == 0) {
+            return none;
+        }
+        final int headerStart = 3 + opening;
+        for (int i = headerStart; i + 3 <= b.length; i++) {
+            if (!isFence(b, i)) {
+                continue;
+            }
+            final int end = i + 3;
+            if (end == b.length) {
+                return new int[] { headerStart, i, end };
+            }
+            final int closing = verticalSpaceLength(b, end);
+            if (closing > 0) {
+                return new int[] { headerStart, i, end + closing };
+            }
+        }
+        return none;
+    }
+
+    private static boolean isFence(byte[] b, int i) {
+        return b[i] == DASH && b[i + 1] == DASH && b[i + 2] == DASH;
+    }
+
+    /**
+     * @return the byte length of the {@code \v} character (vertical whitespace) at {@code i}, or 0
+     */
+    private static int verticalSpaceLength(byte[] b, int i) {
+        if (i >= b.length) {
+            return 0;
+        }
+        final int c = b[i] & 0xFF;
+        if (c >= 0x0A && c <= 0x0D) {
+            // \n, \x0B, \f, \r
+            return 1;
+        }
+        if (c == 0xC2 && i + 1 < b.length && (b[i + 1] & 0xFF) == 0x85) {
+            // NEXT LINE
+            return 2;
+        }
+        if (c == 0xE2 && i + 2 < b.length && (b[i + 1] & 0xFF) == 0x80
+                && ((b[i + 2] & 0xFF) == 0xA8 || (b[i + 2] & 0xFF) == 0xA9)) {
+            // LINE SEPARATOR, PARAGRAPH SEPARATOR
+            return 3;
+        }
+        return 0;
+    }
+}
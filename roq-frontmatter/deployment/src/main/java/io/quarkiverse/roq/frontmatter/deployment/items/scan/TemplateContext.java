@@ -7,12 +7,42 @@ import java.util.stream.Stream;
 
 import io.quarkiverse.tools.stringpaths.StringPaths;
 
-public record TemplateContext(Path sourceFile, String templatePath, String content) {
+public record TemplateContext(Path sourceFile, String templatePath, TemplateContent source) {
+
+    public TemplateContext(Path sourceFile, String templatePath, String content) {
+        this(sourceFile, templatePath, TemplateContent.of(content));
+    }
 
     public String getExtension() {
         return StringPaths.fileExtension(templatePath);
     }
 
+    /**
+     * The full template content, including front matter.
+     * Prefer {@link #body()} or {@link #frontMatter()} which only decode the needed part.
+     */
+    public String content() {
+        return source.full();
+    }
+
+    /**
+     * The template content without its YAML front matter block.
+     */
+    public String body() {
+        return source.body();
+    }
+
+    /**
+     * The YAML front matter text (without fences), empty when there is none.
+     */
+    public String frontMatter() {
+        return source.frontMatter();
+    }
+
+    public boolean hasFrontMatter() {
+        return source.hasFrontMatter();
+    }
+
     public static <T extends Predicate<TemplateContext>> Stream<T> streamFilter(List<T> items, TemplateContext context) {
         return items.stream().filter(i -> i.test(context));
     }
@@ -0,0 +1,65 @@
+package io.quarkiverse.roq.frontmatter.deployment.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class RoqFrontMatterDateUtils {
+
+    private static final Map<FormatterKey, DateTimeFormatter> FORMATTERS = new ConcurrentHashMap<>();
+
+    private RoqFrontMatterDateUtils() {
+    }
+
+    private record FormatterKey(String dateFormat, ZoneId zoneId) {
+    }
+
+    // ── Configured format ───────────────────────────────────────────────
+
+    /**
+     * Get the publish date formatter for the configured format and zone.
+     * Formatters are immutable, so they are built once per (format, zone) and shared across pages.
+     */
+    public static DateTimeFormatter publishDateFormatter(String dateFormat, ZoneId zoneId) {
+        return FORMATTERS.computeIfAbsent(new FormatterKey(dateFormat, zoneId),
+                k -> new DateTimeFormatterBuilder().appendPattern(k.dateFormat())
+                        .parseDefaulting(ChronoField.HOUR_OF_DAY, 0)
+                        .parseDefaulting(ChronoField.MINUTE_OF_HOUR, 0)
+                        .parseDefaulting(ChronoField.SECOND_OF_MINUTE, 0)
+                        .toFormatter()
+                        .withZone(k.zoneId()));
+    }
+
+    public static ZonedDateTime parsePublishDate(String dateString, String dateFormat, ZoneId zoneId) {
+        return publishDateFormatter(dateFormat, zoneId).parse(dateString, ZonedDateTime::from);
+    }
+
+    // ── File name date ──────────────────────────────────────────────────
+
+    /**
+     * Fast path for dates matched by {@link RoqFrontMatterConstants#FILE_NAME_DATE_PATTERN} ({@code yyyy-M-d}).
+     * The shape is already guaranteed by the pattern, so the fields are read directly and resolved
+     * like the smart resolver does (out of range days are clamped to the end of the month).
+     *
+     * @throws DateTimeException if the month or day is out of range
+     */
+    public static ZonedDateTime parseFileNameDate(String dateString, ZoneId zoneId) {
+        final int firstDash = dateString.indexOf('-');
+        final int secondDash = dateString.indexOf('-', firstDash + 1);
+        final int year = Integer.parseInt(dateString, 0, firstDash, 10);
+        final int month = Integer.parseInt(dateString, firstDash + 1, secondDash, 10);
+        final int day = Integer.parseInt(dateString, secondDash + 1, dateString.length(), 10);
+        ChronoField.MONTH_OF_YEAR.checkValidValue(month);
+        ChronoField.DAY_OF_MONTH.checkValidValue(day);
+        final int lastDay = Month.of(month).length(Year.isLeap(year));
+        return LocalDate.of(year, month, Math.min(day, lastDay)).atStartOfDay(zoneId);
+    }
+}
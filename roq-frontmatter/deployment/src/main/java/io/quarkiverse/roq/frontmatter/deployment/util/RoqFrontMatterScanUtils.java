@@ -25,6 +25,7 @@ import io.quarkiverse.roq.frontmatter.deployment.items.assemble.RoqFrontMatterAt
 import io.quarkiverse.roq.frontmatter.deployment.items.scan.FrontMatterTemplateMetadata;
 import io.quarkiverse.roq.frontmatter.deployment.items.scan.RoqFrontMatterHeaderParserBuildItem;
 import io.quarkiverse.roq.frontmatter.deployment.items.scan.RoqFrontMatterQuteMarkupBuildItem;
+import io.quarkiverse.roq.frontmatter.deployment.items.scan.TemplateContent;
 import io.quarkiverse.roq.frontmatter.deployment.items.scan.TemplateContext;
 import io.quarkiverse.roq.frontmatter.deployment.util.RoqFrontMatterTemplateUtils.ParsedHeaders;
 import io.quarkiverse.roq.frontmatter.runtime.config.RoqSiteConfig;
@@ -285,11 +286,12 @@ public final class RoqFrontMatterScanUtils {
         String referencePath = normalizeReferencePath(file.scopedPath());
         String relativePath = toUnixPath(file.indexPath());
         String siteDirPath = deriveSiteDirPath(file.file(), relativePath);
-        String fullContent = new String(file.content(), file.charset());
+        // Front matter fences are found on the raw bytes, the body is decoded only when needed
+        TemplateContent content = TemplateContent.of(file.content(), file.charset());
 
         SourceFile sourceFile = new SourceFile(siteDirPath != null ? siteDirPath : "", relativePath);
 
-        TemplateContext templateContext = new TemplateContext(file.file(), referencePath, fullContent);
+        TemplateContext templateContext = new TemplateContext(file.file(), referencePath, content);
         RoqFrontMatterQuteMarkupBuildItem markup = RoqFrontMatterQuteMarkupBuildItem.findMarkupFilter(markupList,
                 templateContext);
         List<RoqFrontMatterHeaderParserBuildItem> headerParsers = RoqFrontMatterHeaderParserBuildItem
@@ -298,7 +300,7 @@ public final class RoqFrontMatterScanUtils {
         String templateId = resolveTemplateId(referencePath, isLayout);
         String outputPath = resolveOutputPath(referencePath, markup != null, templateContext);
 
-        ParsedHeaders parsed = parseHeaders(headerParsers, templateContext, fullContent);
+        ParsedHeaders parsed = parseHeaders(headerParsers, templateContext);
 
         boolean isHtml = isTemplateTargetHtml(referencePath);
         boolean isPartial = isPartialHtmlDocument(parsed.content(), isHtml);
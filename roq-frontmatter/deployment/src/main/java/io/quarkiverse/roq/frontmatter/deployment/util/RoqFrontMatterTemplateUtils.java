@@ -42,10 +42,17 @@ public final class RoqFrontMatterTemplateUtils {
         return "";
     }
 
-    @SuppressWarnings("unchecked")
     public static JsonObject readFM(YAMLMapper mapper, String fullContent)
             throws JsonProcessingException, IllegalArgumentException {
-        final String frontMatter = getFrontMatter(fullContent);
+        return parseFM(mapper, getFrontMatter(fullContent));
+    }
+
+    /**
+     * Parse the YAML text found between the front matter fences (see {@link TemplateContext#frontMatter()}).
+     */
+    @SuppressWarnings("unchecked")
+    public static JsonObject parseFM(YAMLMapper mapper, String frontMatter)
+            throws JsonProcessingException, IllegalArgumentException {
         if (frontMatter.isBlank()) {
             return new JsonObject();
         }
@@ -63,10 +70,15 @@ public final class RoqFrontMatterTemplateUtils {
     public record ParsedHeaders(JsonObject data, String content) {
     }
 
+    /**
+     * Merge data from all applicable header parsers and remove their headers from the content.
+     * The YAML front matter block is already split off by {@link TemplateContext#body()},
+     * so the full content is never decoded here.
+     */
     public static ParsedHeaders parseHeaders(List<RoqFrontMatterHeaderParserBuildItem> headerParsers,
-            TemplateContext templateContext, String fullContent) {
+            TemplateContext templateContext) {
         JsonObject data = new JsonObject();
-        String content = fullContent;
+        String content = templateContext.body();
         for (RoqFrontMatterHeaderParserBuildItem headerParser : headerParsers) {
             data.mergeIn(headerParser.parse().apply(templateContext), true);
             content = headerParser.removeHeader().apply(content);
@@ -116,14 +128,28 @@ public final class RoqFrontMatterTemplateUtils {
             return false;
         }
         // Fast path: if content doesn't contain <html or <!doctype, it's definitely partial
-        String lower = content.toLowerCase();
-        if (!lower.contains("<html") && !lower.contains("<!doctype")) {
+        if (!containsIgnoreCase(content, "<html") && !containsIgnoreCase(content, "<!doctype")) {
             return true;
         }
         // Only treat as complete HTML if the markers appear at the start of the document
         return !COMPLETE_HTML_PATTERN.matcher(content).find();
     }
 
+    /**
+     * Case-insensitive contains, without copying the content to lower case.
+     */
+    static boolean containsIgnoreCase(String content, String lowerCaseToken) {
+        final char first = lowerCaseToken.charAt(0);
+        final int max = content.length() - lowerCaseToken.length();
+        for (int i = 0; i <= max; i++) {
+            if (content.charAt(i) == first
+                    && content.regionMatches(true, i, lowerCaseToken, 0, lowerCaseToken.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // ── Content transforms ──────────────────────────────────────────────
 
     public record TransformedContent(String generatedTemplate) {
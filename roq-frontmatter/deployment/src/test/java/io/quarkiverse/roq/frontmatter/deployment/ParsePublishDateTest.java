@@ -2,7 +2,9 @@ package io.quarkiverse.roq.frontmatter.deployment;
 
 import static io.quarkiverse.roq.frontmatter.deployment.RoqFrontMatterStep3DataProcessor.parsePublishDate;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.time.ZoneId;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.Test;
 
 import io.quarkiverse.roq.frontmatter.deployment.exception.RoqFrontMatterReadingException;
 import io.quarkiverse.roq.frontmatter.deployment.exception.RoqSiteScanningException;
+import io.quarkiverse.roq.frontmatter.deployment.util.RoqFrontMatterDateUtils;
 import io.quarkiverse.roq.frontmatter.runtime.model.SourceFile;
 import io.quarkiverse.roq.frontmatter.runtime.model.TemplateSource;
 import io.vertx.core.json.JsonObject;
@@ -187,4 +190,22 @@ public class ParsePublishDateTest {
                         testSource("9999-99-99-post.md")));
     }
 
+    @Test
+    @DisplayName("Filename date past the end of the month is clamped like the smart resolver")
+    public void testFilenameDateClampedToEndOfMonth() {
+        ZonedDateTime result = parsePublishDate("2023-02-30-post.md", JsonObject.of(), DEFAULT_DATE_FORMAT, GMT,
+                testSource("2023-02-30-post.md"));
+
+        assertEquals("2023-02-28T00:00:00Z[GMT]", result.format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+    }
+
+    @Test
+    @DisplayName("Publish date formatter is built once per format and zone")
+    public void testFormatterIsCached() {
+        assertSame(RoqFrontMatterDateUtils.publishDateFormatter(DEFAULT_DATE_FORMAT, GMT),
+                RoqFrontMatterDateUtils.publishDateFormatter(DEFAULT_DATE_FORMAT, GMT));
+        assertNotSame(RoqFrontMatterDateUtils.publishDateFormatter(DEFAULT_DATE_FORMAT, GMT),
+                RoqFrontMatterDateUtils.publishDateFormatter(DEFAULT_DATE_FORMAT, ZoneId.of("Europe/Paris")));
+    }
+
 }
@@ -0,0 +1,98 @@
+package io.quarkiverse.roq.frontmatter.deployment.apptest;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusExtensionTest;
+import io.restassured.RestAssured;
+
+/**
+ * Site: {@code data-generated-page-dir} (resource)
+ * <p>
+ * Features tested: by() and range() template extensions on a data array, a data object and a mapped data list,
+ * RoqCollection.by() still used for collections
+ */
+@DisplayName("Roq FrontMatter - Data queries")
+public class RoqFrontMatterDataQueriesTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .overrideConfigKey("site.collections.events.layout", "page-event")
+            .overrideConfigKey("site.collections.events.from-data.id-key", "id")
+            .overrideConfigKey("quarkus.roq.resource-dir", "data-generated-page-dir")
+            .withApplicationRoot((jar) -> jar
+                    .addClasses(Incidents.class, Incidents.Incident.class)
+                    .addAsResource("data-generated-page-dir")
+                    .addAsResource(new StringAsset("""
+                            [
+                              {"name": "Book", "category": "books", "price": 12.5},
+                              {"name": "Pen", "category": "office", "price": 2},
+                              {"name": "Novel", "category": "books", "price": 9}
+                            ]
+                            """), "data-generated-page-dir/data/products.json")
+                    .addAsResource(new StringAsset("""
+                            pen:
+                              name: Pen
+                              category: office
+                              price: 2
+                            book:
+                              name: Book
+                              category: books
+                              price: 12.5
+                            stapler:
+                              name: Stapler
+                              category: office
+                              price: 4
+                            """), "data-generated-page-dir/data/catalog.yml")
+                    .addAsResource(new StringAsset("""
+                            ---
+                            layout: default
+                            ---
+                            <span class="array-by">{#each cdi:products.by('category', 'books')}{it.name},{/each}</span>
+                            <span class="array-range">{#each cdi:products.range('price', 5, 20)}{it.name},{/each}</span>
+                            <span class="object-by">{#each cdi:catalog.by('category', 'office')}{it.name},{/each}</span>
+                            <span class="object-range">{#each cdi:catalog.range('price', null, 5)}{it.name},{/each}</span>
+                            {#let incidents=cdi:incidents.incidents events=site.collections.events}
+                            <span class="list-by">{#each incidents.by('id', 'Roq and roll')}{it.name},{/each}</span>
+                            <span class="list-range">{#each incidents.range('name', 'A', 'G')}{it.name},{/each}</span>
+                            <span class="collection-by">{#each events.by('name', 'description')}{it},{/each}</span>
+                            {/let}
+                            """), "data-generated-page-dir/content/queries.html"));
+
+    @Test
+    @DisplayName("Queries on a data array")
+    public void testJsonArray() {
+        RestAssured.when().get("/queries/").then().statusCode(200).log().ifValidationFails()
+                .body("html.body.span.find { it.@class == 'array-by' }.text()", equalTo("Book,Novel,"))
+                .body("html.body.span.find { it.@class == 'array-range' }.text()", equalTo("Novel,Book,"));
+    }
+
+    @Test
+    @DisplayName("Queries on a data object")
+    public void testJsonObject() {
+        RestAssured.when().get("/queries/").then().statusCode(200).log().ifValidationFails()
+                .body("html.body.span.find { it.@class == 'object-by' }.text()", equalTo("Pen,Stapler,"))
+                .body("html.body.span.find { it.@class == 'object-range' }.text()", equalTo("Pen,Stapler,"));
+    }
+
+    @Test
+    @DisplayName("Queries on a mapped data list")
+    public void testList() {
+        RestAssured.when().get("/queries/").then().statusCode(200).log().ifValidationFails()
+                .body("html.body.span.find { it.@class == 'list-by' }.text()", equalTo("SSG FTW,"))
+                .body("html.body.span.find { it.@class == 'list-range' }.text()", equalTo("First event,"));
+    }
+
+    @Test
+    @DisplayName("RoqCollection.by is not shadowed by the data query")
+    public void testCollection() {
+        RestAssured.when().get("/queries/").then().statusCode(200).log().ifValidationFails()
+                .body("html.body.span.find { it.@class == 'collection-by' }.text()",
+                        containsString("This is the first event"));
+    }
+}
@@ -0,0 +1,81 @@
+package io.quarkiverse.roq.frontmatter.deployment.apptest;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkiverse.roq.dependencies.RoqDataDependencies;
+import io.quarkus.test.QuarkusExtensionTest;
+import io.restassured.RestAssured;
+
+/**
+ * Site: {@code data-generated-page-dir} (resource)
+ * <p>
+ * Features tested: Data read by a page, or by the content of the pages it uses, returned to the generator
+ */
+@DisplayName("Roq FrontMatter - Roq data dependencies")
+public class RoqFrontMatterRoqDataDependenciesTest {
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .overrideConfigKey("site.collections.events.layout", "page-event")
+            .overrideConfigKey("site.collections.events.from-data.id-key", "id")
+            .overrideConfigKey("quarkus.roq.resource-dir", "data-generated-page-dir")
+            .withApplicationRoot((jar) -> jar
+                    .addClasses(Incidents.class, Incidents.Incident.class)
+                    .addAsResource("data-generated-page-dir")
+                    .addAsResource(new StringAsset("""
+                            ---
+                            layout: default
+                            ---
+                            <ul>
+                            {#for incident in cdi:incidents.incidents}
+                            <li>{incident.name}</li>
+                            {/for}
+                            </ul>
+                            """), "data-generated-page-dir/content/incidents.html")
+                    .addAsResource(new StringAsset("""
+                            ---
+                            layout: default
+                            ---
+                            <div class="summary">{site.page('incidents.html').content}</div>
+                            """), "data-generated-page-dir/content/summary.html"));
+
+    @Test
+    @DisplayName("Page reading a data bean")
+    public void testTrackedData() {
+        RestAssured.given().header(RoqDataDependencies.TRACK_HEADER, "true")
+                .when().get("/incidents/").then().statusCode(200).log().ifValidationFails()
+                .header(RoqDataDependencies.DATA_HEADER, equalTo("incidents"))
+                .body(containsString("First event"));
+    }
+
+    @Test
+    @DisplayName("Page using the content of a page reading a data bean")
+    public void testTrackedContentData() {
+        RestAssured.given().header(RoqDataDependencies.TRACK_HEADER, "true")
+                .when().get("/summary/").then().statusCode(200).log().ifValidationFails()
+                .header(RoqDataDependencies.DATA_HEADER, equalTo("incidents"))
+                .body(containsString("First event"));
+    }
+
+    @Test
+    @DisplayName("Page not reading any data bean")
+    public void testNoTrackedData() {
+        RestAssured.given().header(RoqDataDependencies.TRACK_HEADER, "true")
+                .when().get("/events/hello-lads/").then().statusCode(200).log().ifValidationFails()
+                .header(RoqDataDependencies.DATA_HEADER, equalTo(""));
+    }
+
+    @Test
+    @DisplayName("Data not tracked without the header")
+    public void testNotTracked() {
+        RestAssured.when().get("/incidents/").then().statusCode(200).log().ifValidationFails()
+                .header(RoqDataDependencies.DATA_HEADER, nullValue());
+    }
+}
@@ -0,0 +1,49 @@
+package io.quarkiverse.roq.frontmatter.deployment.apptest;
+
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jboss.shrinkwrap.api.asset.StringAsset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import io.quarkus.test.QuarkusExtensionTest;
+import io.restassured.RestAssured;
+
+/**
+ * Site: {@code data-generated-page} (resource)
+ * <p>
+ * Features tested: Pages of a large roq-data collection generated in the data order
+ */
+@DisplayName("Roq FrontMatter - Roq data large collection")
+public class RoqFrontMatterRoqDataLargeCollectionTest {
+
+    private static final int SIZE = 200;
+
+    @RegisterExtension
+    static final QuarkusExtensionTest unitTest = new QuarkusExtensionTest()
+            .overrideConfigKey("site.collections.events.layout", "page-event")
+            .overrideConfigKey("site.collections.events.from-data.id-key", "id")
+            .overrideConfigKey("site.collections.products.layout", "page-event")
+            .overrideConfigKey("site.collections.products.from-data.id-key", "id")
+            .overrideConfigKey("quarkus.roq.resource-dir", "data-generated-page")
+            .withApplicationRoot((jar) -> jar
+                    .addAsResource("data-generated-page")
+                    .addAsResource(new StringAsset(IntStream.range(0, SIZE)
+                            .mapToObj(i -> "{\"id\": \"product %d\", \"name\": \"Product %d\"}".formatted(i, i))
+                            .collect(Collectors.joining("\n"))), "data-generated-page/data/products.ndjson"));
+
+    @Test
+    @DisplayName("Every item rendered")
+    public void testAllPages() {
+        for (int i = 0; i < SIZE; i += 37) {
+            RestAssured.when().get("/products/product-%d/".formatted(i)).then().statusCode(200).log().ifValidationFails()
+                    .body("html.body.h1", equalTo("product " + i))
+                    .body("html.body.h2", equalTo("Product " + i));
+        }
+        RestAssured.when().get("/products/product-%d/".formatted(SIZE - 1)).then().statusCode(200);
+    }
+}
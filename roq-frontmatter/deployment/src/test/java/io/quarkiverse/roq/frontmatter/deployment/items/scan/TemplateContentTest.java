@@ -0,0 +1,76 @@
+package io.quarkiverse.roq.frontmatter.deployment.items.scan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.roq.frontmatter.deployment.util.RoqFrontMatterTemplateUtils;
+
+/**
+ * Pure unit tests for the byte-level front matter split in {@link TemplateContent}.
+ */
+@DisplayName("Roq FrontMatter - Template content split")
+public class TemplateContentTest {
+
+    private static TemplateContent utf8(String content) {
+        return TemplateContent.of(content.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Front matter and body are split at the fences")
+    void splitsFrontMatter() {
+        TemplateContent content = utf8("---\ntitle: Héllo\n---\nContent é");
+        assertTrue(content.hasFrontMatter());
+        assertEquals("title: Héllo", content.frontMatter());
+        assertEquals("Content é", content.body());
+        assertEquals("---\ntitle: Héllo\n---\nContent é", content.full());
+    }
+
+    @Test
+    @DisplayName("Content without front matter is returned unchanged")
+    void noFrontMatter() {
+        TemplateContent content = utf8("<div>Hello</div>");
+        assertFalse(content.hasFrontMatter());
+        assertEquals("", content.frontMatter());
+        assertEquals("<div>Hello</div>", content.body());
+    }
+
+    @Test
+    @DisplayName("Unclosed front matter is not a front matter")
+    void unclosedFrontMatter() {
+        TemplateContent content = utf8("---\ntitle: Hello");
+        assertFalse(content.hasFrontMatter());
+        assertEquals("---\ntitle: Hello", content.body());
+    }
+
+    @Test
+    @DisplayName("Closing fence at the end of the file leaves an empty body")
+    void closingFenceAtEnd() {
+        TemplateContent content = utf8("---\ntitle: Hello\n---");
+        assertTrue(content.hasFrontMatter());
+        assertEquals("title: Hello", content.frontMatter());
+        assertEquals("", content.body());
+    }
+
+    @Test
+    @DisplayName("Split matches the front matter pattern for CRLF and inline dashes")
+    void matchesPattern() {
+        for (String s : new String[] { "---\r\ntitle: a---b\r\n---\r\nBody", "---\n---\nContent", "--- \nNope\n---\n",
+                "---\nx: 1\n---\n---\nSecond\n---\n" }) {
+            assertEquals(RoqFrontMatterTemplateUtils.hasFrontMatter(s), utf8(s).hasFrontMatter(), s);
+            assertEquals(RoqFrontMatterTemplateUtils.stripFrontMatter(s), utf8(s).body(), s);
+        }
+    }
+
+    @Test
+    @DisplayName("Non UTF-8 content is decoded with its charset")
+    void otherCharset() {
+        TemplateContent content = TemplateContent.of("---\ntitle: é\n---\nà".getBytes(StandardCharsets.ISO_8859_1),
+                StandardCharsets.ISO_8859_1);
+        assertEquals("title: é", content.frontMatter());
+        assertEquals("à", content.body());
+    }
+}
@@ -1,27 +1,34 @@
 package io.quarkiverse.roq.frontmatter.runtime;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.roq.data.runtime.devmode.RoqDataHotReload;
+import io.quarkiverse.roq.dependencies.RoqDataDependencies;
 import io.quarkiverse.roq.frontmatter.runtime.config.ConfiguredCollection;
 import io.quarkiverse.roq.frontmatter.runtime.config.RoqSiteConfig;
 import io.quarkiverse.roq.frontmatter.runtime.model.*;
+import io.quarkiverse.roq.frontmatter.runtime.utils.ContentCache;
+import io.quarkiverse.roq.frontmatter.runtime.utils.SitePages;
+import io.quarkiverse.roq.frontmatter.runtime.utils.SiteSnapshot;
+import io.quarkus.arc.impl.LazyValue;
 import io.quarkus.runtime.LocalesBuildTimeConfig;
+import io.quarkus.runtime.ShutdownContext;
 import io.quarkus.runtime.annotations.Recorder;
 import io.quarkus.vertx.http.runtime.VertxHttpBuildTimeConfig;
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpMethod;
-import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.Route;
 import io.vertx.ext.web.RoutingContext;
 
 @Recorder
 public class RoqFrontMatterRecorder {
 
+    private static final Logger LOG = Logger.getLogger(RoqFrontMatterRecorder.class);
+
     private final VertxHttpBuildTimeConfig httpConfig;
     private final RoqSiteConfig config;
     private final LocalesBuildTimeConfig locales;
@@ -32,40 +39,39 @@ public class RoqFrontMatterRecorder {
         this.locales = locales;
     }
 
-    public Supplier<RoqCollections> createRoqCollections(
-            Map<ConfiguredCollection, List<Supplier<DocumentPage>>> collectionSuppliers) {
-        return () -> {
-            final var c = new HashMap<String, RoqCollection>();
-            for (Map.Entry<ConfiguredCollection, List<Supplier<DocumentPage>>> e : collectionSuppliers.entrySet()) {
-                List<DocumentPage> docs = new ArrayList<>();
-                for (Supplier<DocumentPage> v : e.getValue()) {
-                    docs.add(v.get());
-                }
-                c.put(e.getKey().id(), new RoqCollection(e.getKey(), docs));
-            }
-            return new RoqCollections(Map.copyOf(c));
-        };
+    // Loaded once: the site, its collections and the route handler all share the same page instances,
+    // and the FM data is only decoded from the snapshot when a template reads it.
+    public Supplier<SitePages> loadSitePages(String resourceName) {
+        return new LazyValue<>(() -> new SitePages(SiteSnapshot.load(resourceName)))::get;
     }
 
-    public Supplier<NormalPage> createPage(RoqUrl url, PageSource source, JsonObject data, Paginator paginator) {
-        return () -> new NormalPage(url, source, data, paginator);
+    public void configureContentCache(ShutdownContext shutdownContext) {
+        ContentCache.configure(config.contentCacheSize().asLongValue());
+        // Pages rendered with the previous data are dropped when data is hot reloaded (dev mode)
+        RoqDataHotReload.setListener("roq-content-cache", () -> ContentCache.instance().invalidateAll());
+        shutdownContext.addShutdownTask(() -> {
+            if (LOG.isDebugEnabled()) {
+                final ContentCache.Stats stats = ContentCache.instance().stats();
+                LOG.debugf("Roq content cache: %d hits, %d misses (%.1f%% hit rate), %d evictions, %d entries (%d/%d bytes)",
+                        stats.hits(), stats.misses(), stats.hitRate() * 100, stats.evictions(), stats.size(),
+                        stats.weightedSize(), stats.maximumWeight());
+            }
+        });
     }
 
-    public Supplier<DocumentPage> createDocument(String collection, RoqUrl url, PageSource source, JsonObject data,
-            boolean hidden) {
-        return () -> new DocumentPage(collection, url, source, data, hidden);
+    public void registerSiteData() {
+        // The pages of these collections are generated from the data, a change may add or remove pages anywhere
+        RoqDataDependencies.setSiteData(config.collections().stream()
+                .filter(collection -> collection.fromData().isPresent())
+                .map(ConfiguredCollection::dataName)
+                .toList());
     }
 
-    public Supplier<Site> createSite(RootUrl rootUrl, Supplier<NormalPage> indexPage,
-            List<Supplier<NormalPage>> normalPagesSuppliers,
-            Supplier<RoqCollections> roqCollectionsSupplier) {
+    public Supplier<Site> createSite(Supplier<SitePages> sitePages) {
         return () -> {
-            final List<NormalPage> pages = new ArrayList<>();
-            for (Supplier<NormalPage> pagesSupplier : normalPagesSuppliers) {
-                pages.add(pagesSupplier.get());
-            }
-            return new Site(indexPage.get().url(), config.imagesPath(),
-                    indexPage.get().data(), pages, roqCollectionsSupplier.get());
+            final SitePages pages = sitePages.get();
+            final NormalPage index = pages.siteIndex();
+            return new Site(index.url(), config.imagesPath(), index.data(), pages.normalPages(), pages.collections());
         };
     }
 
@@ -80,9 +86,8 @@ public class RoqFrontMatterRecorder {
         };
     }
 
-    public Handler<RoutingContext> handler(String rootPath,
-            Map<String, Supplier<? extends Page>> pageSuppliers) {
-        return new RoqRouteHandler(rootPath, httpConfig, pageSuppliers, config, locales);
+    public Handler<RoutingContext> handler(String rootPath, Supplier<SitePages> pages) {
+        return new RoqRouteHandler(rootPath, httpConfig, pages, config, locales);
     }
 
     public Handler<RoutingContext> aliasRoute(String target) {
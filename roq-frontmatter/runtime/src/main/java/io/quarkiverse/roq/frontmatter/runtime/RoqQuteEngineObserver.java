@@ -7,20 +7,36 @@ import static io.quarkiverse.roq.frontmatter.runtime.RoqTemplates.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 
+import io.quarkiverse.roq.frontmatter.runtime.model.Page;
+import io.quarkiverse.roq.frontmatter.runtime.model.Site;
 import io.quarkiverse.roq.frontmatter.runtime.model.SourceFile;
 import io.quarkiverse.roq.frontmatter.runtime.model.Sources;
 import io.quarkiverse.roq.frontmatter.runtime.model.TemplateSource;
+import io.quarkiverse.roq.frontmatter.runtime.utils.RoqDataTracking;
 import io.quarkus.qute.EngineBuilder;
+import io.quarkus.qute.EvalContext;
+import io.quarkus.qute.NamespaceResolver;
+import io.quarkus.qute.Results;
+import io.quarkus.qute.ValueResolver;
+import io.quarkus.qute.WithPriority;
 
 @ApplicationScoped
 public class RoqQuteEngineObserver {
 
+    // Before the CDI namespace resolvers, which resolve the bean when the data is tracked
+    private static final int DATA_TRACKING_PRIORITY = WithPriority.DEFAULT_PRIORITY + 100;
+
+    // The page properties using its rendered content
+    private static final Set<String> PAGE_CONTENT_PROPERTIES = Set.of("content", "textStats", "readTime",
+            "contentAbstract");
+
     private final Map<String, SourceFile> templatePathMapping;
 
     @Inject
@@ -37,6 +53,39 @@ public class RoqQuteEngineObserver {
             }
         });
 
+        for (String namespace : new String[] { "cdi", "inject" }) {
+            // Records the data read by the page and lets the next resolver resolve the bean
+            builder.addNamespaceResolver(NamespaceResolver.builder(namespace)
+                    .priority(DATA_TRACKING_PRIORITY)
+                    .resolve(ctx -> {
+                        RoqDataTracking.accessed(ctx.getAttribute(RoqDataTracking.ATTRIBUTE), ctx.getName());
+                        return Results.NotFound.from(ctx);
+                    })
+                    .build());
+        }
+
+        // Records the data read by the content of the pages used by the page (e.g. {post.content} or {post.readTime})
+        builder.addValueResolver(ValueResolver.builder()
+                .priority(DATA_TRACKING_PRIORITY)
+                .appliesTo(ctx -> ctx.getBase() instanceof Page && PAGE_CONTENT_PROPERTIES.contains(ctx.getName())
+                        && ctx.getAttribute(RoqDataTracking.ATTRIBUTE) != null)
+                .resolveSync(ctx -> {
+                    contentRead(ctx, (Page) ctx.getBase());
+                    return Results.NotFound.from(ctx);
+                })
+                .build());
+        builder.addValueResolver(ValueResolver.builder()
+                .priority(DATA_TRACKING_PRIORITY)
+                .appliesTo(ctx -> ctx.getBase() instanceof Site && "pageContent".equals(ctx.getName())
+                        && ctx.getParams().size() == 1 && ctx.getAttribute(RoqDataTracking.ATTRIBUTE) != null)
+                .resolveAsync(ctx -> ctx.evaluate(ctx.getParams().get(0)).thenApply(page -> {
+                    if (page instanceof Page p) {
+                        contentRead(ctx, p);
+                    }
+                    return Results.NotFound.from(ctx);
+                }))
+                .build());
+
         builder.addTemplateInstanceInitializer(templateInstance -> {
             final String templateId = templateInstance.getTemplate().getId();
             templateInstance.setAttribute(TEMPLATE_ID, templateId);
@@ -54,6 +103,12 @@ public class RoqQuteEngineObserver {
         });
     }
 
+    private static void contentRead(EvalContext ctx, Page page) {
+        // The content is cached, rendering it first gives the data it read
+        page.content();
+        RoqDataTracking.accessed(ctx.getAttribute(RoqDataTracking.ATTRIBUTE), page.contentData());
+    }
+
     private static Map<String, SourceFile> initTemplatePathMapping(Sources sources) {
         final Map<String, SourceFile> templatePathMapping = new HashMap<>();
         if (sources == null) {
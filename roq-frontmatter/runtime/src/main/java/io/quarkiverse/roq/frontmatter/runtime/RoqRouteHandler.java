@@ -8,6 +8,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
@@ -15,11 +16,14 @@ import jakarta.enterprise.event.Event;
 
 import org.jboss.logging.Logger;
 
+import io.quarkiverse.roq.dependencies.RoqDataDependencies;
 import io.quarkiverse.roq.exception.RoqException;
 import io.quarkiverse.roq.frontmatter.runtime.config.RoqSiteConfig;
 import io.quarkiverse.roq.frontmatter.runtime.devmode.RoqErrorPage;
 import io.quarkiverse.roq.frontmatter.runtime.model.Page;
 import io.quarkiverse.roq.frontmatter.runtime.model.Site;
+import io.quarkiverse.roq.frontmatter.runtime.utils.RoqDataTracking;
+import io.quarkiverse.roq.frontmatter.runtime.utils.SitePages;
 import io.quarkiverse.roq.frontmatter.runtime.utils.Sites;
 import io.quarkus.arc.Arc;
 import io.quarkus.arc.ArcContainer;
@@ -50,7 +54,7 @@ public class RoqRouteHandler implements Handler<RoutingContext> {
     private final RoqSiteConfig config;
     private final LocalesBuildTimeConfig locales;
     // request path to template path
-    private final Map<String, Supplier<? extends Page>> pages;
+    private final Supplier<SitePages> pages;
     private final Map<String, Page> extractedPaths;
 
     private final Event<SecurityIdentity> securityIdentityEvent;
@@ -61,7 +65,7 @@ public class RoqRouteHandler implements Handler<RoutingContext> {
     private final LazyValue<Site> site;
 
     public RoqRouteHandler(String rootPath, VertxHttpBuildTimeConfig httpBuildTimeConfig,
-            Map<String, Supplier<? extends Page>> pages,
+            Supplier<SitePages> pages,
             RoqSiteConfig config,
             LocalesBuildTimeConfig locales) {
         this.pages = pages;
@@ -155,6 +159,13 @@ public class RoqRouteHandler implements Handler<RoutingContext> {
 
             RoqTemplateAttributes.setPageData(instance, page, site.get());
             instance.setAttribute(TemplateInstance.LOCALE, getLocale(page, rc));
+            // The generator asks for the data read by the page
+            final Set<String> data = rc.request().getHeader(RoqDataDependencies.TRACK_HEADER) != null
+                    ? RoqDataTracking.newTracker()
+                    : null;
+            if (data != null) {
+                instance.setAttribute(RoqDataTracking.ATTRIBUTE, data);
+            }
             instance.renderAsync().whenComplete((r, t) -> {
                 if (t != null) {
                     Throwable rootCause = rootCause(t);
@@ -172,6 +183,9 @@ public class RoqRouteHandler implements Handler<RoutingContext> {
                         rc.fail(rootCause);
                     }
                 } else {
+                    if (data != null) {
+                        rc.response().putHeader(RoqDataDependencies.DATA_HEADER, RoqDataDependencies.format(data));
+                    }
                     rc.response().setStatusCode(200).end(r);
                 }
             });
@@ -194,10 +208,7 @@ public class RoqRouteHandler implements Handler<RoutingContext> {
 
         // Check if we have a matching linked template
         final String link = addTrailingSlashIfNoExt(path);
-        if (pages.containsKey(link)) {
-            return pages.get(link).get();
-        }
-        return null;
+        return pages.get().page(link);
     }
 
     private String getLocale(Page page, RoutingContext rc) {
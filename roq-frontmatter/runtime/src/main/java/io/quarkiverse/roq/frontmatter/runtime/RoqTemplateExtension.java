@@ -13,8 +13,9 @@ import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.quarkiverse.roq.data.runtime.RoqDataIndexes;
 import io.quarkiverse.roq.frontmatter.runtime.model.*;
-import io.quarkiverse.roq.frontmatter.runtime.utils.TemplateLink;
+import io.quarkiverse.roq.frontmatter.runtime.utils.HtmlText;
 import io.quarkiverse.tools.stringpaths.StringPaths;
 import io.quarkus.qute.TemplateExtension;
 import io.quarkus.qute.TemplateExtension.TemplateAttribute;
@@ -29,14 +30,6 @@ public class RoqTemplateExtension {
     private static final int QUTE_FALLBACK_PRIORITY = -2;
 
     private static final Pattern COUNT_WORDS = Pattern.compile("\\b\\w+\\b");
-    private static final Pattern STRIP_HTML_PATTERN = Pattern.compile("<[^>]*>");
-    private static final Pattern BR_PATTERN = Pattern.compile("(?i)<br\\s*/?>");
-    private static final Pattern BLOCK_CLOSE_PATTERN = Pattern
-            .compile("(?i)</(p|h[1-6]|div|blockquote|ul|ol|table)\\s*>");
-    private static final Pattern LI_CLOSE_PATTERN = Pattern.compile("(?i)</li\\s*>");
-    private static final Pattern SPACES_PATTERN = Pattern.compile("[ \\t]+");
-    private static final Pattern TRAILING_SPACES_PATTERN = Pattern.compile(" *\\n");
-    private static final Pattern MULTI_NEWLINES_PATTERN = Pattern.compile("\\n{3,}");
 
     /**
      * Returns the number of words in the given text.<br>
@@ -60,9 +53,7 @@ public class RoqTemplateExtension {
      * Example: "{page.readTime}" → 4.
      */
     public static Long readTime(Page page) {
-        final String text = stripHtml(page.site().pageContent(page));
-        final long count = numberOfWords(text);
-        return ceilDiv(count, 200);
+        return page.textStats().readTime();
     }
 
     /**
@@ -78,7 +69,7 @@ public class RoqTemplateExtension {
      * Example: "{page.contentAbstract(10)}".
      */
     public static String contentAbstract(Page page, int limit) {
-        return contentAbstract(page.content(), limit);
+        return page.textStats().contentAbstract(limit);
     }
 
     /**
@@ -86,7 +77,7 @@ public class RoqTemplateExtension {
      * Example: "{'<div>Hello World</div>'.contentAbstract(10)}".
      */
     public static String contentAbstract(String htmlContent, int limit) {
-        return wordLimit(stripHtml(htmlContent), limit);
+        return TextStats.ofHtml(htmlContent).contentAbstract(limit);
     }
 
     // ── Page link placeholder extensions ──────────────────────────────────
@@ -97,7 +88,7 @@ public class RoqTemplateExtension {
      * Example: "{page.slug}" → "my-post-title".
      */
     public static String slug(Page page) {
-        return TemplateLink.resolveSlug(page.source(), page.data()).toLowerCase();
+        return page.resolvedSlug(true);
     }
 
     /**
@@ -107,7 +98,7 @@ public class RoqTemplateExtension {
      */
     @TemplateExtension(matchName = "Slug")
     public static String slugCasePreserving(Page page) {
-        return TemplateLink.resolveSlug(page.source(), page.data());
+        return page.resolvedSlug(false);
     }
 
     /**
@@ -117,7 +108,7 @@ public class RoqTemplateExtension {
      */
     @TemplateExtension(matchName = "name")
     public static String pageName(Page page) {
-        return TemplateLink.resolveName(page.source()).toLowerCase();
+        return page.resolvedName(true);
     }
 
     /**
@@ -127,7 +118,7 @@ public class RoqTemplateExtension {
      */
     @TemplateExtension(matchName = "Name")
     public static String pageNameCasePreserving(Page page) {
-        return TemplateLink.resolveName(page.source());
+        return page.resolvedName(false);
     }
 
     /**
@@ -135,10 +126,7 @@ public class RoqTemplateExtension {
      * Example: "{'<div>Hello World</div>'.stripHtml}" → "Hello World".
      */
     public static String stripHtml(String html) {
-        if (html == null) {
-            return null;
-        }
-        return STRIP_HTML_PATTERN.matcher(html).replaceAll("");
+        return HtmlText.strip(html);
     }
 
     /**
@@ -158,20 +146,7 @@ public class RoqTemplateExtension {
         if (!preserveParagraphs) {
             return stripHtml(html);
         }
-        if (html == null || html.isEmpty()) {
-            return "";
-        }
-        String text = html;
-        text = BR_PATTERN.matcher(text).replaceAll("\n");
-        text = BLOCK_CLOSE_PATTERN.matcher(text).replaceAll("\n\n");
-        text = LI_CLOSE_PATTERN.matcher(text).replaceAll("\n");
-        text = STRIP_HTML_PATTERN.matcher(text).replaceAll("");
-        text = text.replace("&amp;", "&").replace("&quot;", "\"")
-                .replace("&#39;", "'").replace("&nbsp;", " ");
-        text = SPACES_PATTERN.matcher(text).replaceAll(" ");
-        text = TRAILING_SPACES_PATTERN.matcher(text).replaceAll("\n");
-        text = MULTI_NEWLINES_PATTERN.matcher(text).replaceAll("\n\n");
-        return text.strip();
+        return HtmlText.toText(html);
     }
 
     /**
@@ -366,6 +341,55 @@ public class RoqTemplateExtension {
         return list.stream().sorted(comparing).toList();
     }
 
+    // ── Data queries ─────────────────────────────────────────────────────
+
+    /**
+     * Returns the data items where the field is equal to (or, for a list, contains) the value, using the index
+     * of the data if the field is indexed.<br>
+     * Example: "{#for p in cdi:products.by('category', 'books')}".
+     */
+    public static List<Object> by(JsonArray data, String field, Object value) {
+        return RoqDataIndexes.by(data, field, value);
+    }
+
+    /**
+     * Same as {@link #by(JsonArray, String, Object)} for the values of a data object.
+     */
+    public static List<Object> by(JsonObject data, String field, Object value) {
+        return RoqDataIndexes.by(data, field, value);
+    }
+
+    /**
+     * Same as {@link #by(JsonArray, String, Object)} for a mapped data list. A {@link RoqCollection} still uses its
+     * own {@link RoqCollection#by(String...)} (class members have priority over template extensions).
+     */
+    public static List<Object> by(List<?> data, String field, Object value) {
+        return RoqDataIndexes.by(data, field, value);
+    }
+
+    /**
+     * Returns the data items where the field is between the two values (inclusive, null for no bound), ordered by
+     * this field.<br>
+     * Example: "{#for p in cdi:products.range('price', 10, 20)}".
+     */
+    public static List<Object> range(JsonArray data, String field, Object from, Object to) {
+        return RoqDataIndexes.range(data, field, from, to);
+    }
+
+    /**
+     * Same as {@link #range(JsonArray, String, Object, Object)} for the values of a data object.
+     */
+    public static List<Object> range(JsonObject data, String field, Object from, Object to) {
+        return RoqDataIndexes.range(data, field, from, to);
+    }
+
+    /**
+     * Same as {@link #range(JsonArray, String, Object, Object)} for a mapped data list.
+     */
+    public static List<Object> range(List<?> data, String field, Object from, Object to) {
+        return RoqDataIndexes.range(data, field, from, to);
+    }
+
     // ── Date formatting ──────────────────────────────────────────────────
 
     private static final DateTimeFormatter RFC_822 = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss Z",
@@ -464,12 +488,4 @@ public class RoqTemplateExtension {
         return Locale.getDefault();
     }
 
-    private static long ceilDiv(long x, long y) {
-        final long q = x / y;
-        // if the signs are the same and modulo not zero, round up
-        if ((x ^ y) >= 0 && (q * y != x)) {
-            return q + 1;
-        }
-        return q;
-    }
 }
@@ -10,6 +10,7 @@ import jakarta.validation.constraints.Pattern;
 import io.quarkus.runtime.annotations.ConfigDocDefault;
 import io.quarkus.runtime.annotations.ConfigPhase;
 import io.quarkus.runtime.annotations.ConfigRoot;
+import io.quarkus.runtime.configuration.MemorySize;
 import io.smallrye.config.ConfigMapping;
 import io.smallrye.config.WithDefault;
 import io.smallrye.config.WithName;
@@ -190,6 +191,15 @@ public interface RoqSiteConfig {
     @WithDefault("true")
     boolean slugifyFiles();
 
+    /**
+     * The memory budget for the rendered page contents kept in memory (e.g. for `page.content` and `readTime`).
+     * <p>
+     * When it is reached, the least used contents are evicted and rendered again when needed. The cache hits, misses and
+     * evictions are logged at shutdown with the {@code io.quarkiverse.roq.frontmatter} category at DEBUG level.
+     */
+    @WithDefault("64M")
+    MemorySize contentCacheSize();
+
     /**
      * The directory names (in the Roq site directory) containing collections as key
      * and the corresponding collection config as value
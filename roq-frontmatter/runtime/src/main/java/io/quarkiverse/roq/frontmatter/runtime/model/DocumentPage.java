@@ -2,10 +2,10 @@ package io.quarkiverse.roq.frontmatter.runtime.model;
 
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.inject.Vetoed;
 
-import io.quarkus.arc.Arc;
 import io.quarkus.qute.TemplateData;
 import io.vertx.core.json.JsonObject;
 
@@ -37,11 +37,49 @@ public final class DocumentPage extends Page {
         this.hidden = hidden;
     }
 
+    /**
+     * @param url the url to this page
+     * @param collectionId the collection id
+     * @param source the page source
+     * @param data the FM data supplier of this page, called on first access
+     * @param hidden if hidden, the page is not visible on the given url
+     */
+    public DocumentPage(
+            String collectionId,
+            RoqUrl url,
+            PageSource source,
+            Supplier<JsonObject> data,
+            boolean hidden) {
+        this(collectionId, url, source, data, hidden, null, null);
+    }
+
+    /**
+     * @param url the url to this page
+     * @param collectionId the collection id
+     * @param source the page source
+     * @param data the FM data supplier of this page, called on first access
+     * @param hidden if hidden, the page is not visible on the given url
+     * @param slug the case-preserving slug resolved at build time, or null to resolve it on first use
+     * @param name the case-preserving name resolved at build time, or null to resolve it on first use
+     */
+    public DocumentPage(
+            String collectionId,
+            RoqUrl url,
+            PageSource source,
+            Supplier<JsonObject> data,
+            boolean hidden,
+            String slug,
+            String name) {
+        super(url, source, data, slug, name);
+        this.collectionId = collectionId;
+        this.hidden = hidden;
+    }
+
     /**
      * @return the collection associated with this page
      */
     public RoqCollection collection() {
-        return Arc.container().beanInstanceSupplier(Site.class).get().get().collections().resolveCollection(this);
+        return site().collections().resolveCollection(this);
     }
 
     /**
@@ -1,7 +1,7 @@
 package io.quarkiverse.roq.frontmatter.runtime.model;
 
-import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.inject.Vetoed;
 
@@ -28,23 +28,32 @@ public final class NormalPage extends Page {
         this.paginator = paginator;
     }
 
-    public Paginator paginator() {
-        return paginator;
+    /**
+     * @param url the url to this page
+     * @param source the page info
+     * @param data the FM data supplier of this page, called on first access
+     * @param paginator the paginator if any
+     */
+    public NormalPage(RoqUrl url, PageSource source, Supplier<JsonObject> data, Paginator paginator) {
+        this(url, source, data, paginator, null, null);
     }
 
-    @Override
-    public boolean equals(Object o) {
-        if (o == null || getClass() != o.getClass())
-            return false;
-        if (!super.equals(o))
-            return false;
-        NormalPage that = (NormalPage) o;
-        return Objects.equals(paginator, that.paginator);
+    /**
+     * @param url the url to this page
+     * @param source the page info
+     * @param data the FM data supplier of this page, called on first access
+     * @param paginator the paginator if any
+     * @param slug the case-preserving slug resolved at build time, or null to resolve it on first use
+     * @param name the case-preserving name resolved at build time, or null to resolve it on first use
+     */
+    public NormalPage(RoqUrl url, PageSource source, Supplier<JsonObject> data, Paginator paginator, String slug,
+            String name) {
+        super(url, source, data, slug, name);
+        this.paginator = paginator;
     }
 
-    @Override
-    public int hashCode() {
-        return Objects.hash(super.hashCode(), paginator);
+    public Paginator paginator() {
+        return paginator;
     }
 
     @Override
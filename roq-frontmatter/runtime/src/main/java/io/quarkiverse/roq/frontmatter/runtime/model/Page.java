@@ -13,9 +13,13 @@ import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Supplier;
 
 import jakarta.enterprise.inject.Vetoed;
 
@@ -24,8 +28,13 @@ import org.jboss.logging.Logger;
 import io.quarkiverse.roq.exception.RoqException;
 import io.quarkiverse.roq.frontmatter.runtime.RoqTemplateAttributes;
 import io.quarkiverse.roq.frontmatter.runtime.exception.RoqStaticFileException;
+import io.quarkiverse.roq.frontmatter.runtime.utils.ContentCache;
+import io.quarkiverse.roq.frontmatter.runtime.utils.RoqDataTracking;
+import io.quarkiverse.roq.frontmatter.runtime.utils.Sites;
 import io.quarkiverse.roq.frontmatter.runtime.utils.SoftLazyValue;
+import io.quarkiverse.roq.frontmatter.runtime.utils.TemplateLink;
 import io.quarkus.arc.Arc;
+import io.quarkus.arc.impl.LazyValue;
 import io.quarkus.qute.Engine;
 import io.quarkus.qute.Template;
 import io.quarkus.qute.TemplateData;
@@ -41,17 +50,54 @@ public class Page {
 
     private static final Logger LOG = Logger.getLogger(Page.class);
 
+    // Pages being rendered by the current render, shared by all the pages (nested renders are synchronous)
+    private static final ThreadLocal<Set<Page>> RENDERING = new ThreadLocal<>();
+
     private final RoqUrl url;
-    private final JsonObject data;
+    private final LazyValue<JsonObject> data;
     private final PageSource source;
-    private final SoftLazyValue<String> contentLazy = new SoftLazyValue<>(this::resolveContentLazy);
+    private final ZonedDateTime date;
+    private final int hash;
+    // Link placeholders values (:Slug and :Name), usually resolved at build time
+    private volatile String slug;
+    private volatile String name;
+    private volatile String lowerCaseSlug;
+    private volatile String lowerCaseName;
+    // Rendered content and its stats are kept in the shared size-bounded cache
+    private final ContentCache.Slot<String> contentSlot = new ContentCache.Slot<>();
+    private final ContentCache.Slot<TextStats> textStatsSlot = new ContentCache.Slot<>();
+    // Data read by the rendered content, also read by the pages using the cached content
+    private volatile Set<String> contentData = Set.of();
     private final SoftLazyValue<String> rawTemplateLazy = new SoftLazyValue<>(this::resolveRawTemplateLazy);
-    private final ThreadLocal<Boolean> resolvingContent = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    // Bound when the site is assembled, so templates don't look the Site bean up on each call
+    private volatile Site site;
 
     protected Page(RoqUrl url, PageSource source, JsonObject data) {
+        this(url, source, () -> data);
+    }
+
+    /**
+     * Create a page whose FM data is only materialized when it is first accessed.
+     * The url, source and date are kept resident so listings can be sorted and linked without loading the data.
+     *
+     * @param data the FM data supplier, called at most once
+     */
+    protected Page(RoqUrl url, PageSource source, Supplier<JsonObject> data) {
+        this(url, source, data, null, null);
+    }
+
+    /**
+     * @param slug the case-preserving slug resolved at build time, or null to resolve it on first use
+     * @param name the case-preserving name resolved at build time, or null to resolve it on first use
+     */
+    protected Page(RoqUrl url, PageSource source, Supplier<JsonObject> data, String slug, String name) {
         this.url = url;
-        this.data = data;
+        this.data = new LazyValue<>(data);
         this.source = source;
+        this.date = source.date();
+        this.hash = Objects.hash(source.id(), url);
+        this.slug = slug;
+        this.name = name;
     }
 
     /**
@@ -80,17 +126,22 @@ public class Page {
      * Renders the inner content (without the layouts) of the given {@link Page} using the Qute template engine.
      */
     public String content() {
-        if (resolvingContent.get()) {
-            LOG.warnf("Recursive call to {page.content} detected in page: '%s'",
-                    sourcePath());
-            return "";
-        }
-        resolvingContent.set(true);
-        try {
-            return contentLazy.get();
-        } finally {
-            resolvingContent.set(false);
-        }
+        return ContentCache.instance().get(contentSlot, this::resolveContentLazy, ContentCache::weigh);
+    }
+
+    /**
+     * The names of the data read by the last render of the {@link #content()}, see {@link RoqDataTracking}.
+     */
+    public Set<String> contentData() {
+        return contentData;
+    }
+
+    /**
+     * The text statistics of the rendered content (plain text, word count, reading time, abstracts).
+     * They are computed from {@link #content()} and cached like it.
+     */
+    public TextStats textStats() {
+        return ContentCache.instance().get(textStatsSlot, () -> TextStats.ofHtml(content()), TextStats::weight);
     }
 
     /**
@@ -109,6 +160,31 @@ public class Page {
     }
 
     private String resolveContentLazy() {
+        Set<Page> rendering = RENDERING.get();
+        final boolean root = rendering == null;
+        if (root) {
+            rendering = Collections.newSetFromMap(new IdentityHashMap<>());
+            RENDERING.set(rendering);
+        }
+        if (!rendering.add(this)) {
+            LOG.warnf("Recursive call to {page.content} detected in page: '%s'",
+                    sourcePath());
+            return "";
+        }
+        try {
+            final Set<String> data = RoqDataTracking.newTracker();
+            final String content = renderContent(data);
+            contentData = data;
+            return content;
+        } finally {
+            rendering.remove(this);
+            if (root) {
+                RENDERING.remove();
+            }
+        }
+    }
+
+    private String renderContent(Set<String> data) {
         try {
             final Engine engine = Arc.container().instance(Engine.class).get();
             final String id = source().template().generatedQuteTemplateId();
@@ -119,6 +195,7 @@ public class Page {
             final Template contentTemplate = template.getFragment(ROQ_PAGE_CONTENT_FRAGMENT);
             final TemplateInstance instance = (contentTemplate != null ? contentTemplate : template).instance();
             RoqTemplateAttributes.setPageData(instance, this, site());
+            instance.setAttribute(RoqDataTracking.ATTRIBUTE, data);
             return instance.render();
 
         } catch (Exception e) {
@@ -140,6 +217,50 @@ public class Page {
         return "";
     }
 
+    /**
+     * The slug of this page, as used by the {@code :Slug} and {@code :slug} link placeholders.
+     *
+     * @param lowerCase true to get the lowercased slug ({@code :slug})
+     */
+    public String resolvedSlug(boolean lowerCase) {
+        String s = slug;
+        if (s == null) {
+            s = TemplateLink.resolveSlug(source(), data());
+            slug = s;
+        }
+        if (!lowerCase) {
+            return s;
+        }
+        String l = lowerCaseSlug;
+        if (l == null) {
+            l = s.toLowerCase();
+            lowerCaseSlug = l;
+        }
+        return l;
+    }
+
+    /**
+     * The name of this page, as used by the {@code :Name} and {@code :name} link placeholders.
+     *
+     * @param lowerCase true to get the lowercased name ({@code :name})
+     */
+    public String resolvedName(boolean lowerCase) {
+        String n = name;
+        if (n == null) {
+            n = TemplateLink.resolveName(source());
+            name = n;
+        }
+        if (!lowerCase) {
+            return n;
+        }
+        String l = lowerCaseName;
+        if (l == null) {
+            l = n.toLowerCase();
+            lowerCaseName = l;
+        }
+        return l;
+    }
+
     /**
      * The file name without the extension (e.g. my-favorite-beer)
      */
@@ -166,7 +287,7 @@ public class Page {
      * or null if not available
      */
     public ZonedDateTime date() {
-        return source().date();
+        return date;
     }
 
     /**
@@ -200,8 +321,20 @@ public class Page {
         return image(img);
     }
 
+    /**
+     * The site this page belongs to
+     */
     public Site site() {
-        return Arc.container().beanInstanceSupplier(Site.class).get().get();
+        final Site bound = site;
+        if (bound != null) {
+            return bound;
+        }
+        // Pages which are not part of the site bean (e.g. created by hand)
+        return Sites.getSite();
+    }
+
+    void bindSite(Site site) {
+        this.site = site;
     }
 
     /**
@@ -307,7 +440,7 @@ public class Page {
      * The FM data
      */
     public JsonObject data() {
-        return data;
+        return data.get();
     }
 
     /**
@@ -339,19 +472,20 @@ public class Page {
         if (o == null || getClass() != o.getClass())
             return false;
         Page page = (Page) o;
-        return Objects.equals(url, page.url) && Objects.equals(data, page.data) && Objects.equals(source, page.source);
+        // A page is identified by its source id and url (paginated pages share the same source)
+        return hash == page.hash && Objects.equals(id(), page.id()) && Objects.equals(url, page.url);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(url, data, source);
+        return hash;
     }
 
     @Override
     public String toString() {
         return new StringJoiner(", ", Page.class.getSimpleName() + "[", "]")
                 .add("url=" + url)
-                .add("data=" + data)
+                .add("data=" + data())
                 .add("source=" + source)
                 .toString();
     }
@@ -0,0 +1,39 @@
+package io.quarkiverse.roq.frontmatter.runtime.model;
+
+import java.util.List;
+
+import jakarta.enterprise.inject.Vetoed;
+
+import io.quarkus.qute.TemplateData;
+
+/**
+ * The pagination of a source page, shared by all the {@link Paginator} of its generated pages.
+ *
+ * @param collection the paginated collection
+ * @param collectionSize the collection size (count of documents)
+ * @param limit the limit of document per page
+ * @param pagesUrl the url list of all the paginator pages
+ */
+@TemplateData
+@Vetoed
+public record Pagination(
+        String collection,
+        int collectionSize,
+        int limit,
+        List<RoqUrl> pagesUrl) {
+
+    /**
+     * @return the total amount of pages
+     */
+    public int total() {
+        return pagesUrl.size();
+    }
+
+    /**
+     * @param index the page index 1-based
+     * @return the url of this page
+     */
+    public RoqUrl url(int index) {
+        return pagesUrl.get(index - 1);
+    }
+}
@@ -1,5 +1,7 @@
 package io.quarkiverse.roq.frontmatter.runtime.model;
 
+import java.util.List;
+
 import jakarta.enterprise.inject.Vetoed;
 
 import io.quarkus.qute.TemplateData;
@@ -7,32 +9,87 @@ import io.quarkus.qute.TemplateData;
 /**
  * A paginator allows to achieve collection pagination.
  * The same page will be called with different values in the paginator allowing to generate new pages.
+ * <p>
+ * All the pages of a paginated source share the same {@link Pagination}, the navigation is computed from the current index.
  *
- * @param collection the paginated collection
- * @param collectionSize the collection size (count of documents)
- * @param limit the limit of document per page
- * @param total the total amount of pages
+ * @param pagination the shared pagination of the source page
  * @param currentIndex the current document page index 1-based
- * @param firstUrl the url to the first document page
- * @param previousIndex the previous page index 1-based
- * @param previous the url to the previous document page
- * @param nextIndex the next document page index 1-based
- * @param next the url to the next document page
- * @param pagesUrl the url list of all the paginator pages
  */
 @TemplateData
 @Vetoed
 public record Paginator(
-        String collection,
-        int collectionSize,
-        int limit,
-        int total,
-        int currentIndex,
-        RoqUrl firstUrl,
-        Integer previousIndex,
-        RoqUrl previous,
-        Integer nextIndex,
-        RoqUrl next, java.util.List<RoqUrl> pagesUrl) {
+        Pagination pagination,
+        int currentIndex) {
+
+    /**
+     * @return the paginated collection
+     */
+    public String collection() {
+        return pagination.collection();
+    }
+
+    /**
+     * @return the collection size (count of documents)
+     */
+    public int collectionSize() {
+        return pagination.collectionSize();
+    }
+
+    /**
+     * @return the limit of document per page
+     */
+    public int limit() {
+        return pagination.limit();
+    }
+
+    /**
+     * @return the total amount of pages
+     */
+    public int total() {
+        return pagination.total();
+    }
+
+    /**
+     * @return the url to the first document page
+     */
+    public RoqUrl firstUrl() {
+        return pagination.url(1);
+    }
+
+    /**
+     * @return the previous page index 1-based
+     */
+    public Integer previousIndex() {
+        return currentIndex > 1 ? currentIndex - 1 : null;
+    }
+
+    /**
+     * @return the url to the previous document page
+     */
+    public RoqUrl previous() {
+        return currentIndex > 1 ? pagination.url(currentIndex - 1) : null;
+    }
+
+    /**
+     * @return the next document page index 1-based
+     */
+    public Integer nextIndex() {
+        return currentIndex < total() ? currentIndex + 1 : null;
+    }
+
+    /**
+     * @return the url to the next document page
+     */
+    public RoqUrl next() {
+        return currentIndex < total() ? pagination.url(currentIndex + 1) : null;
+    }
+
+    /**
+     * @return the url list of all the paginator pages
+     */
+    public List<RoqUrl> pagesUrl() {
+        return pagination.pagesUrl();
+    }
 
     public Integer prevIndex() {
         return previousIndex();
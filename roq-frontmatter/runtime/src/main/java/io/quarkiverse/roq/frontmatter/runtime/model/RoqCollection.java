@@ -1,7 +1,9 @@
 package io.quarkiverse.roq.frontmatter.runtime.model;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 import jakarta.enterprise.inject.Vetoed;
 
@@ -15,6 +17,8 @@ import io.quarkus.qute.TemplateData;
 @Vetoed
 public class RoqCollection extends ArrayList<DocumentPage> {
     private final ConfiguredCollection collection;
+    // Secondary indexes, built on first use and dropped when the collection is modified (guarded by this)
+    private transient Indexes indexes;
     public static final Comparator<DocumentPage> BY_DATE = Comparator
             .comparing(DocumentPage::date, Comparator.nullsLast(Comparator.naturalOrder())).reversed();
 
@@ -45,7 +49,7 @@ public class RoqCollection extends ArrayList<DocumentPage> {
      * Resolve the next document page in this collection
      */
     public DocumentPage nextPage(DocumentPage page) {
-        final int i = this.indexOf(page);
+        final int i = this.position(page);
         if (i == -1 || i >= this.size() - 1) {
             return null;
         }
@@ -56,7 +60,7 @@ public class RoqCollection extends ArrayList<DocumentPage> {
      * Resolve the previous document page in this collection
      */
     public DocumentPage previousPage(DocumentPage page) {
-        final int i = this.indexOf(page);
+        final int i = this.position(page);
         if (i <= 0) {
             return null;
         }
@@ -67,6 +71,20 @@ public class RoqCollection extends ArrayList<DocumentPage> {
         return this.previousPage(page);
     }
 
+    private int position(DocumentPage page) {
+        final Indexes i = indexes();
+        Map<DocumentPage, Integer> p = i.positions;
+        if (p == null) {
+            // Same result as indexOf, without a scan for each document of a "next/previous" navigation
+            p = new HashMap<>(size() * 4 / 3 + 1);
+            for (int j = 0; j < size(); j++) {
+                p.putIfAbsent(get(j), j);
+            }
+            i.positions = p;
+        }
+        return p.getOrDefault(page, -1);
+    }
+
     /**
      * Get the sub-list of documents depending on the given paginator
      */
@@ -88,16 +106,26 @@ public class RoqCollection extends ArrayList<DocumentPage> {
      * This method searches through all the pages for each of the provided keys and
      * collects all non-null values associated with the keys.
      *
+     * The result is computed once per keys and shared by the next calls, until the collection is modified.
+     *
      * @param keys the keys to search for in the pages' data. Multiple keys can be passed.
-     * @return a {@code List<Object>} containing all non-null values found in the pages for the specified keys.
+     * @return an unmodifiable {@code List<Object>} containing all non-null values found in the pages for the specified keys.
      */
     public List<Object> by(String... keys) {
-        return this.stream()
-                .flatMap(page -> Arrays.stream(keys)
-                        .map(page::data) // Get the data for each key
-                        .filter(Objects::nonNull) // Filter out null results
-                )
-                .collect(Collectors.toList()); // Collect non-null values into a list
+        return indexes().by.computeIfAbsent(Arrays.asList(keys.clone()), this::collectValues);
+    }
+
+    private List<Object> collectValues(List<String> keys) {
+        final List<Object> values = new ArrayList<>();
+        for (Page page : this) {
+            for (String key : keys) {
+                Object value = page.data(key);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+        }
+        return List.copyOf(values);
     }
 
     /**
@@ -106,12 +134,120 @@ public class RoqCollection extends ArrayList<DocumentPage> {
      * based on the values associated with that key. The resulting map will contain the
      * found values as keys and the corresponding list of pages that contain those values.
      *
+     * The index is built once per keys and shared by the next calls, until the collection is modified.
+     *
      * @param keys the keys to group pages by. Multiple keys can be passed.
-     * @return a {@code Map<Object, List<Page>>} where each key is a unique value found
+     * @return an unmodifiable {@code Map<Object, List<Page>>} where each key is a unique value found
      *         in the pages' data for the specified keys, and the corresponding value is
-     *         a list of pages where the value was found.
+     *         an unmodifiable list of pages where the value was found.
      */
     public Map<Object, List<Page>> group(String... keys) {
+        return indexes().group.computeIfAbsent(Arrays.asList(keys.clone()), this::groupPages);
+    }
+
+    /**
+     * The indexes of the current documents, built again when they were modified since (including through an iterator
+     * or a sub-list, which don't go through the overridden mutators).
+     */
+    private synchronized Indexes indexes() {
+        Indexes i = indexes;
+        if (i == null || i.modCount != modCount) {
+            i = new Indexes(modCount);
+            indexes = i;
+        }
+        return i;
+    }
+
+    private static final class Indexes {
+        private final int modCount;
+        private final Map<List<String>, List<Object>> by = new ConcurrentHashMap<>();
+        private final Map<List<String>, Map<Object, List<Page>>> group = new ConcurrentHashMap<>();
+        private volatile Map<DocumentPage, Integer> positions;
+
+        private Indexes(int modCount) {
+            this.modCount = modCount;
+        }
+    }
+
+    @Override
+    public synchronized boolean add(DocumentPage page) {
+        indexes = null;
+        return super.add(page);
+    }
+
+    @Override
+    public synchronized void add(int index, DocumentPage page) {
+        indexes = null;
+        super.add(index, page);
+    }
+
+    @Override
+    public synchronized boolean addAll(Collection<? extends DocumentPage> pages) {
+        indexes = null;
+        return super.addAll(pages);
+    }
+
+    @Override
+    public synchronized boolean addAll(int index, Collection<? extends DocumentPage> pages) {
+        indexes = null;
+        return super.addAll(index, pages);
+    }
+
+    @Override
+    public synchronized DocumentPage set(int index, DocumentPage page) {
+        indexes = null;
+        return super.set(index, page);
+    }
+
+    @Override
+    public synchronized DocumentPage remove(int index) {
+        indexes = null;
+        return super.remove(index);
+    }
+
+    @Override
+    public synchronized boolean remove(Object page) {
+        indexes = null;
+        return super.remove(page);
+    }
+
+    @Override
+    public synchronized boolean removeAll(Collection<?> pages) {
+        indexes = null;
+        return super.removeAll(pages);
+    }
+
+    @Override
+    public synchronized boolean retainAll(Collection<?> pages) {
+        indexes = null;
+        return super.retainAll(pages);
+    }
+
+    @Override
+    public synchronized boolean removeIf(Predicate<? super DocumentPage> filter) {
+        indexes = null;
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public synchronized void replaceAll(UnaryOperator<DocumentPage> operator) {
+        indexes = null;
+        super.replaceAll(operator);
+    }
+
+    @Override
+    public synchronized void sort(Comparator<? super DocumentPage> c) {
+        indexes = null;
+        super.sort(c);
+    }
+
+    @Override
+    public synchronized void clear() {
+        indexes = null;
+        super.clear();
+    }
+
+    private Map<Object, List<Page>> groupPages(List<String> keys) {
         Map<Object, List<Page>> resultMap = new LinkedHashMap<>();
 
         for (Page page : this) {
@@ -122,8 +258,8 @@ public class RoqCollection extends ArrayList<DocumentPage> {
                 }
             }
         }
-
-        return resultMap;
+        resultMap.replaceAll((value, pages) -> List.copyOf(pages));
+        return Collections.unmodifiableMap(resultMap);
     }
 
     @Override
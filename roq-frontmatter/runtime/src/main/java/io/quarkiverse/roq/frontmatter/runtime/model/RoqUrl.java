@@ -13,21 +13,46 @@ import io.quarkus.qute.TemplateData;
 
 /**
  * This represents a Roq url for pages, resources, ...
- *
- * @param root the site url with root path included (e.g. "https://example.com/my-root/")
- * @param resourcePath the path of the resource (e.g. "site/posts/hello-world/") without the root path
+ * <p>
+ * Urls are immutable, their string forms (path, absolute, encoded) are computed on first use and kept
+ * since themes print them many times per page (links, canonical, feeds...).
  */
 @TemplateData
 @Vetoed
-public record RoqUrl(
-        RootUrl root,
-        String resourcePath) {
+public final class RoqUrl {
 
+    private final RootUrl root;
+    private final String resourcePath;
+    // Racy single-check caches, the computed strings are immutable
+    private String path;
+    private String rawPath;
+    private String absolute;
+    private String encoded;
+    private int hash;
+
+    /**
+     * @param root the site url with root path included (e.g. "https://example.com/my-root/")
+     * @param resourcePath the path of the resource (e.g. "site/posts/hello-world/") without the root path
+     */
     public RoqUrl(RootUrl root, String resourcePath) {
         this.resourcePath = resourcePath;
         this.root = root;
     }
 
+    /**
+     * The site url with root path included (e.g. "https://example.com/my-root/") or null if external
+     */
+    public RootUrl root() {
+        return root;
+    }
+
+    /**
+     * The path of the resource (e.g. "site/posts/hello-world/") without the root path
+     */
+    public String resourcePath() {
+        return resourcePath;
+    }
+
     /**
      * Using a RootUrl as a String will print url path
      */
@@ -53,11 +78,27 @@ public record RoqUrl(
         if (isExternal()) {
             return resourcePath();
         }
-        final String path = StringPaths.join(root.rootPath(), resourcePath());
-        return encoded ? encode(path) : path;
+        String raw = rawPath;
+        if (raw == null) {
+            raw = StringPaths.join(root.rootPath(), resourcePath());
+            rawPath = raw;
+        }
+        if (!encoded) {
+            return raw;
+        }
+        String result = path;
+        if (result == null) {
+            result = encode(raw);
+            path = result;
+        }
+        return result;
     }
 
     private static String encode(String path) {
+        if (isSafe(path)) {
+            // Nothing to encode (most generated paths)
+            return path;
+        }
         try {
             return new URI(null, null, path, null).toASCIIString();
         } catch (URISyntaxException e) {
@@ -65,6 +106,17 @@ public record RoqUrl(
         }
     }
 
+    private static boolean isSafe(String path) {
+        for (int i = 0; i < path.length(); i++) {
+            final char c = path.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '/' || c == '-' || c == '_' || c == '.' || c == '~')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * @return same as {@link #path()} ()}
      */
@@ -79,14 +131,24 @@ public record RoqUrl(
         if (isExternal()) {
             return resourcePath();
         }
-        return StringPaths.join(root().url(), path());
+        String result = absolute;
+        if (result == null) {
+            result = StringPaths.join(root().url(), path());
+            absolute = result;
+        }
+        return result;
     }
 
     /**
      * Encode this full url to be used as a query parameter
      */
     public String encoded() {
-        return URLEncoder.encode(absolute(), StandardCharsets.UTF_8);
+        String result = encoded;
+        if (result == null) {
+            result = URLEncoder.encode(absolute(), StandardCharsets.UTF_8);
+            encoded = result;
+        }
+        return result;
     }
 
     /**
@@ -96,7 +158,8 @@ public record RoqUrl(
      */
     public static boolean isFullPath(String path) {
         Objects.requireNonNull(path, "path is required");
-        return path.startsWith("http://") || path.startsWith("https://");
+        return !path.isEmpty() && path.charAt(0) == 'h'
+                && (path.startsWith("http://") || path.startsWith("https://"));
     }
 
     /**
@@ -107,10 +170,28 @@ public record RoqUrl(
      * @return the new joined url
      */
     public RoqUrl resolve(Object other) {
-        if (isFullPath(other.toString())) {
-            return new RoqUrl(null, other.toString());
+        final String path = other.toString();
+        if (isFullPath(path)) {
+            return new RoqUrl(null, path);
+        }
+        if (isSimpleSegment(path) && resourcePath().endsWith("/")) {
+            // Already normalized relative segment (e.g. "page/2/"), a plain concatenation is enough
+            return new RoqUrl(root(), resourcePath().concat(path));
+        }
+        return new RoqUrl(root(), StringPaths.join(resourcePath(), path));
+    }
+
+    private static boolean isSimpleSegment(String path) {
+        if (path.isEmpty() || path.charAt(0) == '/' || path.charAt(0) == '.') {
+            return false;
         }
-        return new RoqUrl(root(), StringPaths.join(resourcePath(), other.toString()));
+        for (int i = 1; i < path.length(); i++) {
+            final char c = path.charAt(i);
+            if (c == '/' && (path.charAt(i - 1) == '/' || path.startsWith(".", i + 1))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -212,4 +293,21 @@ public record RoqUrl(
         return new RoqUrl(root(), newPath);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof RoqUrl that && Objects.equals(root, that.root) && Objects.equals(resourcePath, that.resourcePath);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = 31 * Objects.hashCode(root) + Objects.hashCode(resourcePath);
+            hash = h;
+        }
+        return h;
+    }
 }
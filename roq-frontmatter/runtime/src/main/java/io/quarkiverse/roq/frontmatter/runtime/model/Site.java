@@ -12,7 +12,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -22,6 +21,7 @@ import org.jboss.logging.Logger;
 
 import io.quarkiverse.roq.exception.RoqException;
 import io.quarkiverse.roq.frontmatter.runtime.exception.RoqStaticFileException;
+import io.quarkiverse.roq.frontmatter.runtime.utils.ContentCache;
 import io.quarkiverse.tools.stringpaths.StringPaths;
 import io.quarkus.arc.impl.LazyValue;
 import io.quarkus.qute.TemplateData;
@@ -44,7 +44,6 @@ public final class Site {
     private final LazyValue<Map<String, NormalPage>> pagesById;
     private final LazyValue<Map<String, DocumentPage>> documentsById;
     private final NormalPage page;
-    private final Map<Page, String> pageContentCache = new ConcurrentHashMap<>();
     private final List<Page> allPages;
 
     /**
@@ -66,6 +65,9 @@ public final class Site {
         this.documentsById = new LazyValue<>(() -> collections().collections().values().stream()
                 .flatMap(Collection::stream).collect(Collectors.toMap(DocumentPage::id, Function.identity(), (a, b) -> a)));
         this.allPages = getAllPages(pages, collections);
+        for (Page p : allPages) {
+            p.bindSite(this);
+        }
     }
 
     /**
@@ -291,6 +293,7 @@ public final class Site {
 
     /**
      * Renders the inner content of the given {@link Page} using the Qute template engine.
+     * The result is kept in the shared {@link ContentCache}, within its size budget.
      *
      * @param page the {@link Page} to render
      * @return the rendered content of the page
@@ -304,14 +307,13 @@ public final class Site {
         if (o == null || getClass() != o.getClass())
             return false;
         Site site = (Site) o;
-        return Objects.equals(url, site.url) && Objects.equals(imagesDir, site.imagesDir) && Objects.equals(data, site.data)
-                && Objects.equals(page, site.page)
-                && Objects.equals(allPages, site.allPages);
+        // The site is identified by its url and index page, the pages are not compared
+        return Objects.equals(url, site.url) && Objects.equals(page, site.page);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(url, imagesDir, data, page, allPages);
+        return Objects.hash(url, page);
     }
 
     @Override
@@ -321,7 +323,6 @@ public final class Site {
                 .add("imagesDir='" + imagesDir + "'")
                 .add("data=" + data)
                 .add("page=" + page)
-                .add("pageContentCache=" + pageContentCache)
                 .add("allPages=" + allPages)
                 .toString();
     }
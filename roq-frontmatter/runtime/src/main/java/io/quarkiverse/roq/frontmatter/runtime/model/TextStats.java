@@ -0,0 +1,120 @@
+package io.quarkiverse.roq.frontmatter.runtime.model;
+
+import static io.quarkiverse.roq.frontmatter.runtime.utils.HtmlText.isWordChar;
+
+import java.util.Arrays;
+
+import jakarta.enterprise.inject.Vetoed;
+
+import io.quarkiverse.roq.frontmatter.runtime.utils.ContentCache;
+import io.quarkiverse.roq.frontmatter.runtime.utils.HtmlText;
+import io.quarkus.qute.TemplateData;
+
+/**
+ * Text statistics of a rendered page content (plain text, word count, reading time and abstracts).
+ * <p>
+ * They are computed once from the rendered html: the tags are stripped in a single pass, then the words
+ * are counted while the end offsets of the first words are kept, so abstracts are a simple substring.
+ */
+@TemplateData
+@Vetoed
+public final class TextStats {
+
+    public static final int WORDS_PER_MINUTE = 200;
+    // Word end offsets kept for abstracts (the default abstract is 75 words)
+    private static final int INDEXED_WORDS = 256;
+
+    private final String text;
+    private final int wordCount;
+    private final int[] wordEnds;
+
+    private TextStats(String text, int wordCount, int[] wordEnds) {
+        this.text = text;
+        this.wordCount = wordCount;
+        this.wordEnds = wordEnds;
+    }
+
+    public static TextStats ofHtml(String html) {
+        return ofText(HtmlText.strip(html == null ? "" : html));
+    }
+
+    public static TextStats ofText(String text) {
+        int count = 0;
+        int[] ends = new int[16];
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            final boolean word = isWordChar(text.charAt(i));
+            if (inWord && !word) {
+                ends = addEnd(ends, count++, i);
+            }
+            inWord = word;
+        }
+        if (inWord) {
+            ends = addEnd(ends, count++, text.length());
+        }
+        return new TextStats(text, count, Arrays.copyOf(ends, Math.min(count, INDEXED_WORDS)));
+    }
+
+    private static int[] addEnd(int[] ends, int index, int end) {
+        if (index >= INDEXED_WORDS) {
+            return ends;
+        }
+        if (index == ends.length) {
+            ends = Arrays.copyOf(ends, Math.min(ends.length * 2, INDEXED_WORDS));
+        }
+        ends[index] = end;
+        return ends;
+    }
+
+    /**
+     * @return the plain text (html tags stripped)
+     */
+    public String text() {
+        return text;
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    /**
+     * @return the estimated reading time in minutes
+     */
+    public long readTime() {
+        return (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE;
+    }
+
+    /**
+     * @return the text limited to the given number of words, with "..." added if truncated
+     */
+    public String contentAbstract(int limit) {
+        if (limit <= 0 || limit > wordCount) {
+            return text;
+        }
+        final int end = limit <= wordEnds.length ? wordEnds[limit - 1] : wordEnd(limit);
+        if (end >= text.length()) {
+            return text;
+        }
+        return text.substring(0, end).trim() + "...";
+    }
+
+    /**
+     * Approximate memory size in bytes, used to bound the content cache.
+     */
+    long weight() {
+        return ContentCache.weigh(text) + 16L + 4L * wordEnds.length;
+    }
+
+    private int wordEnd(int limit) {
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            final boolean word = isWordChar(text.charAt(i));
+            if (inWord && !word && ++count == limit) {
+                return i;
+            }
+            inWord = word;
+        }
+        return text.length();
+    }
+}
@@ -0,0 +1,403 @@
+package io.quarkiverse.roq.frontmatter.runtime.utils;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Central cache for rendered page contents, bounded by an approximate size in bytes.
+ * <p>
+ * The eviction policy is a simplified W-TinyLFU: new entries go to a small LRU window, entries leaving the window
+ * are only admitted to the main segmented LRU (probation, protected) if they are used more often than the entry
+ * they would evict. Frequencies are estimated with a small count-min sketch which is periodically halved, so a burst
+ * of one-off renders (e.g. a crawler) doesn't flush the pages which are really used.
+ * <p>
+ * The owners keep their {@link Slot} so there is no key lookup, the cache only keeps the slots in its queues
+ * and clears the value of the evicted ones.
+ */
+public final class ContentCache {
+
+    public static final long DEFAULT_MAXIMUM_WEIGHT = 64L * 1024 * 1024;
+
+    private static volatile ContentCache instance = new ContentCache(DEFAULT_MAXIMUM_WEIGHT);
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Queue window = new Queue();
+    private final Queue probation = new Queue();
+    private final Queue protectedQueue = new Queue();
+    private final FrequencySketch sketch;
+    private long windowWeight;
+    private long protectedWeight;
+    private long weightedSize;
+    private int size;
+    // Incremented by each invalidation, the values loaded meanwhile are not cached
+    private volatile long epoch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ContentCache(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        this.maximumWeight = maximumWeight;
+        this.windowMaximum = Math.max(1, maximumWeight / 100);
+        this.protectedMaximum = (maximumWeight - windowMaximum) * 80 / 100;
+        // Sized for contents of a few kilobytes
+        this.sketch = new FrequencySketch((int) Math.min(1 << 20, Math.max(256, maximumWeight >>> 12)));
+    }
+
+    /**
+     * @return the cache shared by all the pages
+     */
+    public static ContentCache instance() {
+        return instance;
+    }
+
+    /**
+     * Replace the shared cache with a new one of the given size (the current entries are dropped).
+     */
+    public static void configure(long maximumWeight) {
+        instance = new ContentCache(maximumWeight);
+    }
+
+    /**
+     * Approximate weight of a string in bytes.
+     */
+    public static long weigh(String value) {
+        return 48L + 2L * value.length();
+    }
+
+    /**
+     * Get the cached value of the slot, or load, cache and return it.
+     * The loader is called outside the cache lock, concurrent loads of the same slot are possible. A value loaded while
+     * the cache is invalidated is returned but not cached, it may have been computed from the previous data.
+     */
+    public <T> T get(Slot<T> slot, Supplier<T> loader, ToLongFunction<T> weigher) {
+        final T cached = slot.value;
+        if (cached != null) {
+            hits.increment();
+            onAccess(slot);
+            return cached;
+        }
+        misses.increment();
+        final long loadEpoch = epoch;
+        final T value = loader.get();
+        if (value != null) {
+            put(slot, value, weigher.applyAsLong(value), loadEpoch);
+        }
+        return value;
+    }
+
+    /**
+     * Remove the value of this slot from the cache.
+     */
+    public void invalidate(Slot<?> slot) {
+        lock.lock();
+        try {
+            epoch++;
+            if (slot.queue != -1) {
+                unlink(slot);
+            }
+            slot.value = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove all the values from the cache (e.g. when the data used by the pages changed).
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            epoch++;
+            for (Queue queue : List.of(window, probation, protectedQueue)) {
+                Slot<?> slot;
+                while ((slot = queue.head()) != null) {
+                    unlink(slot);
+                    slot.value = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(hits.sum(), misses.sum(), evictions.sum(), size, weightedSize, maximumWeight);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void onAccess(Slot<?> slot) {
+        // Access reordering is best effort, it is skipped under contention instead of blocking readers
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            sketch.increment(slot.hash);
+            switch (slot.queue) {
+                case WINDOW -> window.moveToTail(slot);
+                case PROBATION -> {
+                    probation.remove(slot);
+                    slot.queue = PROTECTED;
+                    protectedQueue.add(slot);
+                    protectedWeight += slot.weight;
+                    demoteProtected();
+                }
+                case PROTECTED -> protectedQueue.moveToTail(slot);
+                default -> {
+                    // evicted meanwhile
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> void put(Slot<T> slot, T value, long weight, long loadEpoch) {
+        if (weight > maximumWeight) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (epoch != loadEpoch) {
+                // Invalidated while loading
+                return;
+            }
+            sketch.increment(slot.hash);
+            if (slot.queue != -1) {
+                unlink(slot);
+            }
+            slot.value = value;
+            slot.weight = weight;
+            slot.queue = WINDOW;
+            window.add(slot);
+            windowWeight += weight;
+            weightedSize += weight;
+            size++;
+            Slot<?> candidate = null;
+            while (windowWeight > windowMaximum && window.head() != null) {
+                // Move the window LRU to the main space, where it has to win against a victim to stay
+                final Slot<?> first = window.head();
+                window.remove(first);
+                windowWeight -= first.weight;
+                first.queue = PROBATION;
+                probation.add(first);
+                candidate = first;
+            }
+            evict(candidate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(Slot<?> candidate) {
+        while (weightedSize > maximumWeight) {
+            Slot<?> victim = probation.head();
+            if (victim == null) {
+                victim = protectedQueue.head();
+            }
+            if (victim == null) {
+                victim = window.head();
+            }
+            if (candidate != null && candidate != victim && candidate.queue == PROBATION
+                    && sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+                // The candidate is not used more than the victim, it is not admitted
+                victim = candidate;
+                candidate = null;
+            }
+            unlink(victim);
+            victim.value = null;
+            evictions.increment();
+        }
+    }
+
+    private void demoteProtected() {
+        while (protectedWeight > protectedMaximum) {
+            final Slot<?> first = protectedQueue.head();
+            protectedQueue.remove(first);
+            protectedWeight -= first.weight;
+            first.queue = PROBATION;
+            probation.add(first);
+        }
+    }
+
+    private void unlink(Slot<?> slot) {
+        switch (slot.queue) {
+            case WINDOW -> {
+                window.remove(slot);
+                windowWeight -= slot.weight;
+            }
+            case PROBATION -> probation.remove(slot);
+            case PROTECTED -> {
+                protectedQueue.remove(slot);
+                protectedWeight -= slot.weight;
+            }
+            default -> {
+                return;
+            }
+        }
+        slot.queue = -1;
+        weightedSize -= slot.weight;
+        size--;
+    }
+
+    /**
+     * The cache counters.
+     *
+     * @param hits the number of values found in the cache
+     * @param misses the number of values loaded
+     * @param evictions the number of values evicted to stay under the size budget
+     * @param size the current number of values
+     * @param weightedSize the current approximate size in bytes
+     * @param maximumWeight the size budget in bytes
+     */
+    public record Stats(long hits, long misses, long evictions, int size, long weightedSize, long maximumWeight) {
+
+        public double hitRate() {
+            final long requests = hits + misses;
+            return requests == 0 ? 1.0 : (double) hits / requests;
+        }
+    }
+
+    /**
+     * The place of a value in the cache, kept by its owner (e.g. a page for its content).
+     */
+    public static final class Slot<T> {
+        private final int hash = spread(System.identityHashCode(this));
+        private volatile T value;
+        private long weight;
+        private int queue = -1;
+        private Slot<?> previous;
+        private Slot<?> next;
+
+        /**
+         * @return the cached value or null if it is not cached
+         */
+        public T getIfPresent() {
+            return value;
+        }
+
+        private static int spread(int h) {
+            h ^= h >>> 16;
+            h *= 0x45d9f3b;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    private static final class Queue {
+        private Slot<?> head;
+        private Slot<?> tail;
+
+        Slot<?> head() {
+            return head;
+        }
+
+        void add(Slot<?> slot) {
+            slot.previous = tail;
+            slot.next = null;
+            if (tail == null) {
+                head = slot;
+            } else {
+                tail.next = slot;
+            }
+            tail = slot;
+        }
+
+        void remove(Slot<?> slot) {
+            if (slot.previous == null) {
+                head = slot.next;
+            } else {
+                slot.previous.next = slot.next;
+            }
+            if (slot.next == null) {
+                tail = slot.previous;
+            } else {
+                slot.next.previous = slot.previous;
+            }
+            slot.previous = null;
+            slot.next = null;
+        }
+
+        void moveToTail(Slot<?> slot) {
+            if (tail != slot) {
+                remove(slot);
+                add(slot);
+            }
+        }
+    }
+
+    /**
+     * Count-min sketch with 4 rows of 4-bit saturating counters (stored in bytes), halved every {@code 10 * width}
+     * increments so the frequencies follow recent usage.
+     */
+    static final class FrequencySketch {
+        private static final int[] SEEDS = { 0x97cb3127, 0x8c9b7a4f, 0xb56c2f1d, 0xd1b54a33 };
+        private static final int MAX_COUNT = 15;
+
+        private final byte[][] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int width) {
+            final int size = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+            this.table = new byte[SEEDS.length][size];
+            this.mask = size - 1;
+            this.sampleSize = 10 * size;
+        }
+
+        int frequency(int hash) {
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < SEEDS.length; row++) {
+                frequency = Math.min(frequency, table[row][index(hash, row)]);
+            }
+            return frequency;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int row = 0; row < SEEDS.length; row++) {
+                final int i = index(hash, row);
+                if (table[row][i] < MAX_COUNT) {
+                    table[row][i]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private void reset() {
+            for (byte[] row : table) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = (byte) (row[i] >>> 1);
+                }
+            }
+            additions /= 2;
+        }
+
+        private int index(int hash, int row) {
+            int h = hash * SEEDS[row];
+            h ^= h >>> 17;
+            return h & mask;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+package io.quarkiverse.roq.frontmatter.runtime.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hand-written HTML to text scanners, used instead of chained regular expressions on full page contents.
+ */
+public final class HtmlText {
+
+    // HTML 4 named character references (and &apos;), name=code point
+    private static final String NAMED_ENTITIES = "Aacute=193,aacute=225,Acirc=194,acirc=226,acute=180,AElig=198,aelig=230,Agrave=192,agrave=224,"
+            + "alefsym=8501,Alpha=913,alpha=945,amp=38,and=8743,ang=8736,apos=39,Aring=197,aring=229,asymp=8776,"
+            + "Atilde=195,atilde=227,Auml=196,auml=228,bdquo=8222,Beta=914,beta=946,brvbar=166,bull=8226,cap=8745,"
+            + "Ccedil=199,ccedil=231,cedil=184,cent=162,Chi=935,chi=967,circ=710,clubs=9827,cong=8773,copy=169,"
+            + "crarr=8629,cup=8746,curren=164,Dagger=8225,dagger=8224,dArr=8659,darr=8595,deg=176,Delta=916,"
+            + "delta=948,diams=9830,divide=247,Eacute=201,eacute=233,Ecirc=202,ecirc=234,Egrave=200,egrave=232,"
+            + "empty=8709,emsp=8195,ensp=8194,Epsilon=917,epsilon=949,equiv=8801,Eta=919,eta=951,ETH=208,eth=240,"
+            + "Euml=203,euml=235,euro=8364,exist=8707,fnof=402,forall=8704,frac12=189,frac14=188,frac34=190,"
+            + "frasl=8260,Gamma=915,gamma=947,ge=8805,gt=62,hArr=8660,harr=8596,hearts=9829,hellip=8230,Iacute=205,"
+            + "iacute=237,Icirc=206,icirc=238,iexcl=161,Igrave=204,igrave=236,image=8465,infin=8734,int=8747,"
+            + "Iota=921,iota=953,iquest=191,isin=8712,Iuml=207,iuml=239,Kappa=922,kappa=954,Lambda=923,lambda=955,"
+            + "lang=9001,laquo=171,lArr=8656,larr=8592,lceil=8968,ldquo=8220,le=8804,lfloor=8970,lowast=8727,"
+            + "loz=9674,lrm=8206,lsaquo=8249,lsquo=8216,lt=60,macr=175,mdash=8212,micro=181,middot=183,minus=8722,"
+            + "Mu=924,mu=956,nabla=8711,nbsp=160,ndash=8211,ne=8800,ni=8715,not=172,notin=8713,nsub=8836,"
+            + "Ntilde=209,ntilde=241,Nu=925,nu=957,Oacute=211,oacute=243,Ocirc=212,ocirc=244,OElig=338,oelig=339,"
+            + "Ograve=210,ograve=242,oline=8254,Omega=937,omega=969,Omicron=927,omicron=959,oplus=8853,or=8744,"
+            + "ordf=170,ordm=186,Oslash=216,oslash=248,Otilde=213,otilde=245,otimes=8855,Ouml=214,ouml=246,"
+            + "para=182,part=8706,permil=8240,perp=8869,Phi=934,phi=966,Pi=928,pi=960,piv=982,plusmn=177,pound=163,"
+            + "Prime=8243,prime=8242,prod=8719,prop=8733,Psi=936,psi=968,quot=34,radic=8730,rang=9002,raquo=187,"
+            + "rArr=8658,rarr=8594,rceil=8969,rdquo=8221,real=8476,reg=174,rfloor=8971,Rho=929,rho=961,rlm=8207,"
+            + "rsaquo=8250,rsquo=8217,sbquo=8218,Scaron=352,scaron=353,sdot=8901,sect=167,shy=173,Sigma=931,"
+            + "sigma=963,sigmaf=962,sim=8764,spades=9824,sub=8834,sube=8838,sum=8721,sup=8835,sup1=185,sup2=178,"
+            + "sup3=179,supe=8839,szlig=223,Tau=932,tau=964,there4=8756,Theta=920,theta=952,thetasym=977,"
+            + "thinsp=8201,THORN=222,thorn=254,tilde=732,times=215,trade=8482,Uacute=218,uacute=250,uArr=8657,"
+            + "uarr=8593,Ucirc=219,ucirc=251,Ugrave=217,ugrave=249,uml=168,upsih=978,Upsilon=933,upsilon=965,"
+            + "Uuml=220,uuml=252,weierp=8472,Xi=926,xi=958,Yacute=221,yacute=253,yen=165,Yuml=376,yuml=255,"
+            + "Zeta=918,zeta=950,zwj=8205,zwnj=8204";
+    private static final Map<String, Character> ENTITIES = new HashMap<>(512);
+    private static final int MAX_ENTITY_NAME_LENGTH = 8;
+
+    // Buffers bigger than this are not kept for reuse
+    private static final int MAX_REUSED_BUFFER = 1 << 20;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(8192));
+
+    static {
+        for (String entity : NAMED_ENTITIES.split(",")) {
+            final int eq = entity.indexOf('=');
+            ENTITIES.put(entity.substring(0, eq), (char) Integer.parseInt(entity.substring(eq + 1)));
+        }
+    }
+
+    private HtmlText() {
+    }
+
+    // ── Tags ────────────────────────────────────────────────────────────
+
+    /**
+     * Remove all the tags in a single pass, equivalent to {@code html.replaceAll("<[^>]*>", "")}.
+     */
+    public static String strip(String html) {
+        if (html == null) {
+            return null;
+        }
+        int lt = html.indexOf('<');
+        if (lt == -1) {
+            return html;
+        }
+        final StringBuilder out = new StringBuilder(html.length());
+        int from = 0;
+        while (lt != -1) {
+            final int gt = html.indexOf('>', lt + 1);
+            if (gt == -1) {
+                // An unclosed '<' is kept as text, and no tag can follow it
+                break;
+            }
+            out.append(html, from, lt);
+            from = gt + 1;
+            lt = html.indexOf('<', from);
+        }
+        out.append(html, from, html.length());
+        return out.toString();
+    }
+
+    // ── Text with paragraphs ────────────────────────────────────────────
+
+    /**
+     * Convert html to readable plain text in a single pass:
+     * <ul>
+     * <li>{@code <br>} becomes a line break, closing {@code li} a line break and closing block elements
+     * ({@code p, h1-h6, div, blockquote, ul, ol, table}) a blank line</li>
+     * <li>other tags are removed</li>
+     * <li>character references are decoded (HTML 4 named entities, decimal and hexadecimal), non-breaking spaces
+     * become spaces and unknown references are kept as is</li>
+     * <li>spaces and tabs are collapsed, trailing spaces are removed, more than two line breaks are collapsed
+     * into a blank line and the result is stripped</li>
+     * </ul>
+     * The text is built in a reused per-thread buffer, only the result is allocated.
+     */
+    public static String toText(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        final StringBuilder buffer = BUFFER.get();
+        buffer.setLength(0);
+        try {
+            appendText(html, buffer);
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() > MAX_REUSED_BUFFER) {
+                BUFFER.remove();
+            } else {
+                buffer.setLength(0);
+            }
+        }
+    }
+
+    /**
+     * Same as {@link #toText(String)}, appending the text to the given builder.
+     */
+    public static void appendText(CharSequence html, StringBuilder out) {
+        final TextWriter writer = new TextWriter(out);
+        final int length = html.length();
+        // Once a '<' has no closing '>', no tag can follow
+        boolean tags = true;
+        int i = 0;
+        while (i < length) {
+            final char c = html.charAt(i);
+            if (c == '<' && tags) {
+                int end = brEnd(html, i);
+                if (end != -1) {
+                    writer.newLines(1);
+                    i = end;
+                    continue;
+                }
+                end = closingTagEnd(html, i);
+                if (end != -1) {
+                    writer.newLines(end < 0 ? 1 : 2);
+                    i = end < 0 ? -end : end;
+                    continue;
+                }
+                end = indexOf(html, '>', i + 1);
+                if (end == -1) {
+                    // An unclosed '<' is kept as text
+                    tags = false;
+                    writer.append(c);
+                    i++;
+                    continue;
+                }
+                i = end + 1;
+            } else if (c == '&') {
+                i = appendReference(html, i, writer);
+            } else {
+                writer.append(c);
+                i++;
+            }
+        }
+        writer.finish();
+    }
+
+    /**
+     * @return the index after a {@code <br>}, {@code <br/>} or {@code <br />} tag (case-insensitive) at {@code i}, or -1
+     */
+    private static int brEnd(CharSequence s, int i) {
+        if (i + 3 >= s.length() || !isChar(s.charAt(i + 1), 'b') || !isChar(s.charAt(i + 2), 'r')) {
+            return -1;
+        }
+        int j = skipSpaces(s, i + 3);
+        if (j < s.length() && s.charAt(j) == '/') {
+            j++;
+        }
+        return j < s.length() && s.charAt(j) == '>' ? j + 1 : -1;
+    }
+
+    /**
+     * Match a closing {@code li} or block element tag at {@code i}.
+     *
+     * @return the index after the tag for block elements, the negated index after the tag for {@code li}, or -1
+     */
+    private static int closingTagEnd(CharSequence s, int i) {
+        if (i + 3 >= s.length() || s.charAt(i + 1) != '/') {
+            return -1;
+        }
+        int j = i + 2;
+        while (j < s.length() && isAsciiLetterOrDigit(s.charAt(j))) {
+            j++;
+        }
+        final int nameLength = j - i - 2;
+        if (nameLength == 0 || nameLength > 10) {
+            return -1;
+        }
+        final boolean li = nameLength == 2 && isChar(s.charAt(i + 2), 'l') && isChar(s.charAt(i + 3), 'i');
+        if (!li && !isBlockElement(s, i + 2, nameLength)) {
+            return -1;
+        }
+        j = skipSpaces(s, j);
+        if (j >= s.length() || s.charAt(j) != '>') {
+            return -1;
+        }
+        return li ? -(j + 1) : j + 1;
+    }
+
+    private static boolean isBlockElement(CharSequence s, int start, int length) {
+        final char first = Character.toLowerCase(s.charAt(start));
+        return switch (length) {
+            case 1 -> first == 'p';
+            case 2 -> (first == 'h' && s.charAt(start + 1) >= '1' && s.charAt(start + 1) <= '6')
+                    || regionMatches(s, start, "ul")
+                    || regionMatches(s, start, "ol");
+            case 3 -> regionMatches(s, start, "div");
+            case 5 -> regionMatches(s, start, "table");
+            case 10 -> regionMatches(s, start, "blockquote");
+            default -> false;
+        };
+    }
+
+    /**
+     * Decode the character reference at {@code i} (on {@code &}), or write the {@code &} as is.
+     *
+     * @return the index after what has been consumed
+     */
+    private static int appendReference(CharSequence s, int i, TextWriter writer) {
+        final int semicolon = indexOf(s, ';', i + 1, i + 2 + MAX_ENTITY_NAME_LENGTH);
+        if (semicolon == -1 || semicolon == i + 1) {
+            writer.append('&');
+            return i + 1;
+        }
+        if (s.charAt(i + 1) == '#') {
+            final int codePoint = parseCodePoint(s, i + 2, semicolon);
+            if (codePoint == -1) {
+                writer.append('&');
+                return i + 1;
+            }
+            writer.appendCodePoint(codePoint);
+            return semicolon + 1;
+        }
+        final Character decoded = ENTITIES.get(s.subSequence(i + 1, semicolon).toString());
+        if (decoded == null) {
+            writer.append('&');
+            return i + 1;
+        }
+        writer.appendCodePoint(decoded);
+        return semicolon + 1;
+    }
+
+    /**
+     * @return the code point of a numeric reference ({@code 123} or {@code x7B}), U+FFFD if it is not a valid
+     *         code point, or -1 if it is not a numeric reference
+     */
+    private static int parseCodePoint(CharSequence s, int start, int end) {
+        int radix = 10;
+        if (start < end && (s.charAt(start) == 'x' || s.charAt(start) == 'X')) {
+            radix = 16;
+            start++;
+        }
+        if (start == end) {
+            return -1;
+        }
+        int value = 0;
+        for (int k = start; k < end; k++) {
+            final int digit = Character.digit(s.charAt(k), radix);
+            if (digit == -1) {
+                return -1;
+            }
+            value = value * radix + digit;
+        }
+        if (value == 0 || value > Character.MAX_CODE_POINT
+                || (value >= Character.MIN_SURROGATE && value <= Character.MAX_SURROGATE)) {
+            return 0xFFFD;
+        }
+        return value;
+    }
+
+    /**
+     * Apply the whitespace rules while the text is written: spaces and line breaks are kept pending
+     * until the next visible character, so they can be collapsed or dropped without rewriting the output.
+     */
+    private static final class TextWriter {
+        private final StringBuilder out;
+        private final int start;
+        private int pendingNewLines;
+        private boolean pendingSpace;
+
+        private TextWriter(StringBuilder out) {
+            this.out = out;
+            this.start = out.length();
+        }
+
+        void newLines(int count) {
+            // Spaces before a line break are trailing spaces
+            pendingSpace = false;
+            pendingNewLines += count;
+        }
+
+        void appendCodePoint(int codePoint) {
+            if (codePoint == 0xA0) {
+                // Non-breaking space
+                append(' ');
+            } else if (Character.isBmpCodePoint(codePoint)) {
+                append((char) codePoint);
+            } else {
+                append(Character.highSurrogate(codePoint));
+                append(Character.lowSurrogate(codePoint));
+            }
+        }
+
+        void append(char c) {
+            switch (c) {
+                case '\n' -> newLines(1);
+                case ' ', '\t' -> pendingSpace = true;
+                default -> {
+                    if (out.length() == start) {
+                        // Leading whitespace is stripped
+                        pendingNewLines = 0;
+                        pendingSpace = false;
+                        if (Character.isWhitespace(c)) {
+                            return;
+                        }
+                    } else {
+                        for (int n = Math.min(pendingNewLines, 2); n > 0; n--) {
+                            out.append('\n');
+                        }
+                        pendingNewLines = 0;
+                        if (pendingSpace) {
+                            out.append(' ');
+                            pendingSpace = false;
+                        }
+                    }
+                    out.append(c);
+                }
+            }
+        }
+
+        void finish() {
+            // Pending spaces and line breaks are trailing whitespace, then strip the remaining one
+            int end = out.length();
+            while (end > start && Character.isWhitespace(out.charAt(end - 1))) {
+                end--;
+            }
+            out.setLength(end);
+        }
+    }
+
+    private static boolean isChar(char c, char lowerCase) {
+        return c == lowerCase || c == lowerCase - 32;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private static boolean regionMatches(CharSequence s, int start, String lowerCase) {
+        for (int k = 0; k < lowerCase.length(); k++) {
+            if (!isChar(s.charAt(start + k), lowerCase.charAt(k))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skip {@code \s*} (space, tab, line feed, vertical tab, form feed, carriage return).
+     */
+    private static int skipSpaces(CharSequence s, int i) {
+        while (i < s.length() && (s.charAt(i) == ' ' || (s.charAt(i) >= '\t' && s.charAt(i) <= '\r'))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int indexOf(CharSequence s, char c, int from) {
+        return indexOf(s, c, from, s.length());
+    }
+
+    private static int indexOf(CharSequence s, char c, int from, int to) {
+        final int end = Math.min(to, s.length());
+        for (int k = from; k < end; k++) {
+            if (s.charAt(k) == c) {
+                return k;
+            }
+        }
+        return -1;
+    }
+
+    // ── Words ───────────────────────────────────────────────────────────
+
+    /**
+     * A word is a maximal run of {@code [a-zA-Z0-9_]} characters (like {@code \b\w+\b}).
+     */
+    public static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+    }
+}
@@ -0,0 +1,53 @@
+package io.quarkiverse.roq.frontmatter.runtime.utils;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.quarkiverse.roq.dependencies.RoqDataDependencies;
+
+/**
+ * Tracks the data read while a page is rendered, see {@link RoqDataDependencies}.
+ * <p>
+ * The data is read by the {@code cdi:} and {@code inject:} expressions of the templates and by the content of the
+ * other pages used by a page. The tracked data is kept in the attribute {@value #ATTRIBUTE} of the rendered template
+ * instance and recorded from the resolution context, whatever the thread resolving the expression. The content of a
+ * page is rendered with its own tracker, its data is recorded by the pages using this content.
+ */
+public final class RoqDataTracking {
+
+    public static final String ATTRIBUTE = "roqDataTracking";
+
+    private RoqDataTracking() {
+    }
+
+    /**
+     * @return a new set to collect the names of the data read by a page
+     */
+    public static Set<String> newTracker() {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Record that the data was read, if a tracker is given (the template instance attribute).
+     */
+    public static void accessed(Object tracker, String name) {
+        if (tracker instanceof Set<?> && RoqDataDependencies.isData(name)) {
+            names(tracker).add(name);
+        }
+    }
+
+    /**
+     * Record that the data was read by a part of the page rendered separately (e.g. the content of another page).
+     */
+    public static void accessed(Object tracker, Collection<String> names) {
+        if (tracker instanceof Set<?> && !names.isEmpty()) {
+            names(tracker).addAll(names);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<String> names(Object tracker) {
+        return (Set<String>) tracker;
+    }
+}
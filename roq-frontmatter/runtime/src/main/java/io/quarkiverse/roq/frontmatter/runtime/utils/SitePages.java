@@ -0,0 +1,91 @@
+package io.quarkiverse.roq.frontmatter.runtime.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.quarkiverse.roq.frontmatter.runtime.model.DocumentPage;
+import io.quarkiverse.roq.frontmatter.runtime.model.NormalPage;
+import io.quarkiverse.roq.frontmatter.runtime.model.Page;
+import io.quarkiverse.roq.frontmatter.runtime.model.Pagination;
+import io.quarkiverse.roq.frontmatter.runtime.model.Paginator;
+import io.quarkiverse.roq.frontmatter.runtime.model.RoqCollection;
+import io.quarkiverse.roq.frontmatter.runtime.model.RoqCollections;
+import io.quarkiverse.roq.frontmatter.runtime.model.RoqUrl;
+
+/**
+ * The pages and collections of a {@link SiteSnapshot}, created once and shared by the site, its collections and the
+ * route handler. The front matter data of a page is only decoded when it is read.
+ */
+public final class SitePages {
+
+    private final List<NormalPage> normalPages;
+    private final NormalPage siteIndex;
+    private final RoqCollections collections;
+    // Routed url path to page
+    private final Map<String, Page> pagesByPath;
+
+    public SitePages(SiteSnapshot snapshot) {
+        final Page[] pages = new Page[snapshot.size()];
+        final List<Pagination> paginations = new ArrayList<>(snapshot.paginations().size());
+        for (SiteSnapshot.PaginationRef p : snapshot.paginations()) {
+            paginations.add(new Pagination(p.collection(), p.collectionSize(), p.limit(),
+                    p.pagesPath().stream().map(path -> new RoqUrl(p.root(), path)).toList()));
+        }
+        final List<NormalPage> normalPages = new ArrayList<>(snapshot.normalPages().size());
+        for (SiteSnapshot.NormalPageRef ref : snapshot.normalPages()) {
+            final int i = ref.entry();
+            final Paginator paginator = ref.pagination() == -1 ? null
+                    : new Paginator(paginations.get(ref.pagination()), ref.currentIndex());
+            final NormalPage page = new NormalPage(snapshot.url(i), snapshot.source(i), () -> snapshot.data(i),
+                    paginator, snapshot.slug(i), snapshot.name(i));
+            pages[i] = page;
+            normalPages.add(page);
+        }
+        this.normalPages = List.copyOf(normalPages);
+        for (SiteSnapshot.DocumentRef ref : snapshot.documents()) {
+            final int i = ref.entry();
+            pages[i] = new DocumentPage(ref.collection(), snapshot.url(i), snapshot.source(i), () -> snapshot.data(i),
+                    ref.hidden(), snapshot.slug(i), snapshot.name(i));
+        }
+        final Map<String, RoqCollection> collections = new HashMap<>();
+        for (SiteSnapshot.CollectionRef ref : snapshot.collections()) {
+            final List<DocumentPage> documents = new ArrayList<>(ref.documents().size());
+            for (int i : ref.documents()) {
+                documents.add((DocumentPage) pages[i]);
+            }
+            collections.put(ref.collection().id(), new RoqCollection(ref.collection(), documents));
+        }
+        this.collections = new RoqCollections(Map.copyOf(collections));
+        this.siteIndex = snapshot.siteIndex() == -1 ? null : (NormalPage) pages[snapshot.siteIndex()];
+        final int[] routes = snapshot.routes();
+        this.pagesByPath = new HashMap<>(routes.length * 4 / 3 + 1);
+        for (int i : routes) {
+            pagesByPath.put(pages[i].url().resourcePath(), pages[i]);
+        }
+    }
+
+    /**
+     * @return the normal pages (not in a collection)
+     */
+    public List<NormalPage> normalPages() {
+        return normalPages;
+    }
+
+    public NormalPage siteIndex() {
+        return siteIndex;
+    }
+
+    public RoqCollections collections() {
+        return collections;
+    }
+
+    /**
+     * @param path the url path of the page (e.g. {@code posts/hello/})
+     * @return the page served on this path, or null if there is none
+     */
+    public Page page(String path) {
+        return pagesByPath.get(path);
+    }
+}
@@ -0,0 +1,1080 @@
+package io.quarkiverse.roq.frontmatter.runtime.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import io.quarkiverse.roq.frontmatter.runtime.config.ConfiguredCollection;
+import io.quarkiverse.roq.frontmatter.runtime.model.PageFiles;
+import io.quarkiverse.roq.frontmatter.runtime.model.PageSource;
+import io.quarkiverse.roq.frontmatter.runtime.model.RootUrl;
+import io.quarkiverse.roq.frontmatter.runtime.model.RoqUrl;
+import io.quarkiverse.roq.frontmatter.runtime.model.SourceFile;
+import io.quarkiverse.roq.frontmatter.runtime.model.TemplateSource;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Compact binary snapshot of the published pages (url, source and front matter data) and of the site structure
+ * (normal pages and their pagination, documents, collections, site index and routed pages).
+ * <p>
+ * It is written at build time as a generated resource and loaded once at startup, instead of recording every
+ * page as bytecode, so the recorded bytecode doesn't grow with the number of pages. All strings (front matter keys
+ * and values, paths, ids...) are stored once in a shared table and referenced by index. Each entry keeps the
+ * offset of its data, so the front matter of a page is only decoded when it is requested.
+ * <p>
+ * Nested objects and arrays which are equal across pages (e.g. inherited from a layout) are written once and
+ * referenced. They are decoded once and shared by all the pages, each page reading them through a copy-on-write
+ * view which only copies a value for the page writing to it, so the heap grows with the unique front matter
+ * content rather than with pages × layout data.
+ */
+public final class SiteSnapshot {
+
+    public static final String RESOURCE_NAME = "META-INF/roq/site-snapshot.bin";
+
+    private static final int MAGIC = 0x524F5153; // ROQS
+    private static final int VERSION = 4;
+
+    private static final byte NULL = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+    private static final byte INT = 3;
+    private static final byte LONG = 4;
+    private static final byte DOUBLE = 5;
+    private static final byte FLOAT = 6;
+    private static final byte STRING = 7;
+    private static final byte OBJECT = 8;
+    private static final byte ARRAY = 9;
+    private static final byte BIG_INTEGER = 10;
+    private static final byte BIG_DECIMAL = 11;
+    private static final byte INSTANT = 12;
+    private static final byte BINARY = 13;
+    private static final byte SHARED = 14;
+    private static final byte SHARED_DEF = 15;
+
+    private static final int FLAG_LAYOUT = 1;
+    private static final int FLAG_TARGET_HTML = 1 << 1;
+    private static final int FLAG_INDEX = 1 << 2;
+    private static final int FLAG_SITE_INDEX = 1 << 3;
+    private static final int FLAG_DRAFT = 1 << 4;
+    private static final int FLAG_GENERATED = 1 << 5;
+    private static final int FLAG_SLUGIFIED = 1 << 6;
+
+    private static final int COLLECTION_DERIVED = 1;
+    private static final int COLLECTION_HIDDEN = 1 << 1;
+    private static final int COLLECTION_FUTURE = 1 << 2;
+    private static final int COLLECTION_FROM_DATA = 1 << 3;
+
+    /**
+     * A normal page of the site.
+     *
+     * @param entry the snapshot entry of the page
+     * @param pagination the index of its pagination in {@link #paginations()}, -1 if it is not paginated
+     * @param currentIndex the 1-based index of the page in its pagination
+     */
+    public record NormalPageRef(int entry, int pagination, int currentIndex) {
+    }
+
+    /**
+     * A document page of a collection.
+     *
+     * @param entry the snapshot entry of the document
+     */
+    public record DocumentRef(int entry, String collection, boolean hidden) {
+    }
+
+    /**
+     * @param documents the snapshot entries of the documents, a document may be in several collections
+     */
+    public record CollectionRef(ConfiguredCollection collection, List<Integer> documents) {
+    }
+
+    /**
+     * The pagination shared by the pages of a paginated source.
+     */
+    public record PaginationRef(String collection, int collectionSize, int limit, RootUrl root, List<String> pagesPath) {
+    }
+
+    private final byte[] bytes;
+    private final int[] stringOffsets;
+    private final String[] strings;
+    private final RootUrl[] roots;
+    private final int[] entryOffsets;
+    private final int[] dataOffsets;
+    private final int bodyOffset;
+    private final Map<Integer, Object> sharedValues = new ConcurrentHashMap<>();
+    private final List<PaginationRef> paginations;
+    private final List<NormalPageRef> normalPages;
+    private final List<DocumentRef> documents;
+    private final List<CollectionRef> collections;
+    private final int siteIndex;
+    private final int[] routes;
+
+    private SiteSnapshot(byte[] bytes) {
+        this.bytes = bytes;
+        final Cursor in = new Cursor(bytes, 0);
+        if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+            throw new IllegalStateException("Invalid or incompatible Roq site snapshot");
+        }
+        final int stringCount = in.readVarInt();
+        this.stringOffsets = new int[stringCount];
+        this.strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            stringOffsets[i] = in.position;
+            final int length = in.readVarInt();
+            in.position += length;
+        }
+        final int rootCount = in.readVarInt();
+        this.roots = new RootUrl[rootCount];
+        for (int i = 0; i < rootCount; i++) {
+            roots[i] = new RootUrl(readString(in), readString(in));
+        }
+        final int entryCount = in.readVarInt();
+        this.entryOffsets = new int[entryCount];
+        this.dataOffsets = new int[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            entryOffsets[i] = in.readInt();
+            dataOffsets[i] = in.readInt();
+        }
+        final int siteOffset = in.readInt();
+        this.bodyOffset = in.position;
+
+        // The site structure is small (a few numbers per page), it is read at once
+        final Cursor site = new Cursor(bytes, siteOffset);
+        final int paginationCount = site.readVarInt();
+        final List<PaginationRef> paginations = new ArrayList<>(paginationCount);
+        for (int i = 0; i < paginationCount; i++) {
+            final String collection = readString(site);
+            final int collectionSize = site.readVarInt();
+            final int limit = site.readVarInt();
+            final int root = site.readVarInt();
+            final int pathCount = site.readVarInt();
+            final List<String> pagesPath = new ArrayList<>(pathCount);
+            for (int j = 0; j < pathCount; j++) {
+                pagesPath.add(readString(site));
+            }
+            paginations.add(new PaginationRef(collection, collectionSize, limit, root == 0 ? null : roots[root - 1],
+                    List.copyOf(pagesPath)));
+        }
+        this.paginations = List.copyOf(paginations);
+        final int normalPageCount = site.readVarInt();
+        final List<NormalPageRef> normalPages = new ArrayList<>(normalPageCount);
+        for (int i = 0; i < normalPageCount; i++) {
+            normalPages.add(new NormalPageRef(site.readVarInt(), site.readVarInt() - 1, site.readVarInt()));
+        }
+        this.normalPages = List.copyOf(normalPages);
+        final int documentCount = site.readVarInt();
+        final List<DocumentRef> documents = new ArrayList<>(documentCount);
+        for (int i = 0; i < documentCount; i++) {
+            documents.add(new DocumentRef(site.readVarInt(), readString(site), site.readByte() == TRUE));
+        }
+        this.documents = List.copyOf(documents);
+        final int collectionCount = site.readVarInt();
+        final List<CollectionRef> collections = new ArrayList<>(collectionCount);
+        for (int i = 0; i < collectionCount; i++) {
+            final String id = readString(site);
+            final int flags = site.readVarInt();
+            final String layout = readString(site);
+            final Optional<ConfiguredCollection.CollectionFromData> fromData = (flags & COLLECTION_FROM_DATA) != 0
+                    ? Optional.of(new ConfiguredCollection.CollectionFromData(readString(site), readString(site)))
+                    : Optional.empty();
+            final int size = site.readVarInt();
+            final List<Integer> entries = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                entries.add(site.readVarInt());
+            }
+            collections.add(new CollectionRef(new ConfiguredCollection(id, (flags & COLLECTION_DERIVED) != 0,
+                    (flags & COLLECTION_HIDDEN) != 0, (flags & COLLECTION_FUTURE) != 0, layout, fromData),
+                    List.copyOf(entries)));
+        }
+        this.collections = List.copyOf(collections);
+        this.siteIndex = site.readVarInt() - 1;
+        this.routes = new int[site.readVarInt()];
+        for (int i = 0; i < routes.length; i++) {
+            routes[i] = site.readVarInt();
+        }
+    }
+
+    public static SiteSnapshot read(byte[] bytes) {
+        return new SiteSnapshot(bytes);
+    }
+
+    public static SiteSnapshot load(String resourceName) {
+        final ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        try (InputStream is = cl.getResourceAsStream(resourceName)) {
+            if (is == null) {
+                throw new IllegalStateException("Roq site snapshot not found: " + resourceName);
+            }
+            return new SiteSnapshot(is.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read Roq site snapshot: " + resourceName, e);
+        }
+    }
+
+    public int size() {
+        return entryOffsets.length;
+    }
+
+    /**
+     * @return the normal pages, in publication order
+     */
+    public List<NormalPageRef> normalPages() {
+        return normalPages;
+    }
+
+    public List<PaginationRef> paginations() {
+        return paginations;
+    }
+
+    public List<DocumentRef> documents() {
+        return documents;
+    }
+
+    public List<CollectionRef> collections() {
+        return collections;
+    }
+
+    /**
+     * @return the entry of the site index page, -1 if there is none
+     */
+    public int siteIndex() {
+        return siteIndex;
+    }
+
+    /**
+     * @return the entries served by the route handler (the pages which are not hidden), one per path
+     */
+    public int[] routes() {
+        return routes.clone();
+    }
+
+    public RoqUrl url(int index) {
+        final Cursor in = new Cursor(bytes, entryOffsets[index]);
+        return readUrl(in);
+    }
+
+    public PageSource source(int index) {
+        final Cursor in = new Cursor(bytes, entryOffsets[index]);
+        readUrl(in);
+        // slug and name
+        in.readVarInt();
+        in.readVarInt();
+        return readSource(in);
+    }
+
+    /**
+     * @return the case-preserving slug resolved at build time (see {@link TemplateLink#resolveSlug(PageSource, JsonObject)})
+     */
+    public String slug(int index) {
+        final Cursor in = new Cursor(bytes, entryOffsets[index]);
+        readUrl(in);
+        return readString(in);
+    }
+
+    /**
+     * @return the case-preserving name resolved at build time (see {@link TemplateLink#resolveName(PageSource)})
+     */
+    public String name(int index) {
+        final Cursor in = new Cursor(bytes, entryOffsets[index]);
+        readUrl(in);
+        in.readVarInt();
+        return readString(in);
+    }
+
+    /**
+     * Decode the front matter data of the given entry. A new object is returned on each call.
+     */
+    public JsonObject data(int index) {
+        final Cursor in = new Cursor(bytes, dataOffsets[index]);
+        return (JsonObject) readValue(in, false);
+    }
+
+    // ── Reading ─────────────────────────────────────────────────────────
+
+    private String readString(Cursor in) {
+        final int ref = in.readVarInt();
+        if (ref == 0) {
+            return null;
+        }
+        final int i = ref - 1;
+        String s = strings[i];
+        if (s == null) {
+            final Cursor c = new Cursor(bytes, stringOffsets[i]);
+            final int length = c.readVarInt();
+            s = new String(bytes, c.position, length, StandardCharsets.UTF_8);
+            strings[i] = s;
+        }
+        return s;
+    }
+
+    private RoqUrl readUrl(Cursor in) {
+        final int root = in.readVarInt();
+        final String resourcePath = readString(in);
+        return new RoqUrl(root == 0 ? null : roots[root - 1], resourcePath);
+    }
+
+    private PageSource readSource(Cursor in) {
+        final int flags = in.readVarInt();
+        final String id = readString(in);
+        final String markup = readString(in);
+        final String siteDirPath = readString(in);
+        final String relativePath = readString(in);
+        final String path = readString(in);
+        final String generatedQuteId = readString(in);
+        final String dateString = readString(in);
+        final TemplateSource template = new TemplateSource(id, markup,
+                relativePath == null ? null : new SourceFile(siteDirPath, relativePath),
+                path, generatedQuteId,
+                (flags & FLAG_LAYOUT) != 0,
+                (flags & FLAG_TARGET_HTML) != 0,
+                (flags & FLAG_INDEX) != 0,
+                (flags & FLAG_SITE_INDEX) != 0);
+        final int filesCount = in.readVarInt();
+        PageFiles files = null;
+        if (filesCount > 0) {
+            final List<String> names = new ArrayList<>(filesCount - 1);
+            for (int i = 1; i < filesCount; i++) {
+                names.add(readString(in));
+            }
+            files = new PageFiles(List.copyOf(names), (flags & FLAG_SLUGIFIED) != 0);
+        }
+        return new PageSource(template, (flags & FLAG_DRAFT) != 0, dateString, files, (flags & FLAG_GENERATED) != 0);
+    }
+
+    /**
+     * @param shared whether the value is shared between pages, the containers are then read-only and the pages get a
+     *        copy-on-write view of them
+     */
+    private Object readValue(Cursor in, boolean shared) {
+        final byte type = in.readByte();
+        return switch (type) {
+            case NULL -> null;
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case INT -> (int) in.readZigZag();
+            case LONG -> in.readZigZag();
+            case DOUBLE -> Double.longBitsToDouble(in.readLong());
+            case FLOAT -> Float.intBitsToFloat(in.readInt());
+            case STRING -> readString(in);
+            case OBJECT -> {
+                final int size = in.readVarInt();
+                final Map<String, Object> map = new LinkedHashMap<>(Math.max(4, (int) (size / 0.75f) + 1));
+                for (int i = 0; i < size; i++) {
+                    final String key = readString(in);
+                    map.put(key, readValue(in, shared));
+                }
+                yield new JsonObject(shared ? Collections.unmodifiableMap(map) : map);
+            }
+            case ARRAY -> {
+                final int size = in.readVarInt();
+                final List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, shared));
+                }
+                yield new JsonArray(shared ? Collections.unmodifiableList(list) : list);
+            }
+            case BIG_INTEGER -> new BigInteger(readString(in));
+            case BIG_DECIMAL -> new BigDecimal(readString(in));
+            case INSTANT -> Instant.parse(readString(in));
+            case BINARY -> {
+                final int length = in.readVarInt();
+                final byte[] b = new byte[length];
+                System.arraycopy(bytes, in.position, b, 0, length);
+                in.position += length;
+                yield b;
+            }
+            case SHARED -> {
+                final Object value = readShared(in.readVarInt());
+                yield shared ? value : copyOnWrite(value);
+            }
+            case SHARED_DEF -> {
+                final int offset = in.position - bodyOffset;
+                Object value = sharedValues.get(offset);
+                if (value != null) {
+                    skipValue(in);
+                } else {
+                    value = cacheShared(offset, readValue(in, true));
+                }
+                yield shared ? value : copyOnWrite(value);
+            }
+            default -> throw new IllegalStateException("Invalid value type in Roq site snapshot: " + type);
+        };
+    }
+
+    private Object readShared(int offset) {
+        final Object value = sharedValues.get(offset);
+        if (value != null) {
+            return value;
+        }
+        return cacheShared(offset, readValue(new Cursor(bytes, bodyOffset + offset), true));
+    }
+
+    private Object cacheShared(int offset, Object value) {
+        final Object previous = sharedValues.putIfAbsent(offset, value);
+        return previous != null ? previous : value;
+    }
+
+    /**
+     * @return a view of the given shared value, copied on the first write
+     */
+    private static Object copyOnWrite(Object value) {
+        if (value instanceof JsonObject object) {
+            return new JsonObject(new CopyOnWriteMap(object.getMap()));
+        }
+        if (value instanceof JsonArray array) {
+            return new JsonArray(new CopyOnWriteList(array.getList()));
+        }
+        return value;
+    }
+
+    /**
+     * Page view of a shared object, copied to a regular map on the first write.
+     * Nested objects and arrays are wrapped on first access, so writing to them only changes this page too.
+     */
+    private static final class CopyOnWriteMap extends AbstractMap<String, Object> {
+        private final Map<String, Object> shared;
+        private final Map<String, Object> children = new ConcurrentHashMap<>();
+        private volatile Map<String, Object> copy;
+
+        private CopyOnWriteMap(Map<String, Object> shared) {
+            this.shared = shared;
+        }
+
+        private Object child(String key, Object value) {
+            if (value instanceof JsonObject || value instanceof JsonArray) {
+                return children.computeIfAbsent(key, k -> copyOnWrite(value));
+            }
+            return value;
+        }
+
+        private synchronized Map<String, Object> copy() {
+            if (copy == null) {
+                final Map<String, Object> map = new LinkedHashMap<>(Math.max(4, (int) (shared.size() / 0.75f) + 1));
+                for (Entry<String, Object> e : shared.entrySet()) {
+                    map.put(e.getKey(), child(e.getKey(), e.getValue()));
+                }
+                copy = map;
+            }
+            return copy;
+        }
+
+        @Override
+        public Object get(Object key) {
+            if (copy != null) {
+                return copy.get(key);
+            }
+            final Object value = shared.get(key);
+            return value == null ? null : child((String) key, value);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return copy != null ? copy.containsKey(key) : shared.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return copy != null ? copy.size() : shared.size();
+        }
+
+        @Override
+        public Object put(String key, Object value) {
+            return copy().put(key, value);
+        }
+
+        @Override
+        public Object remove(Object key) {
+            return copy().remove(key);
+        }
+
+        @Override
+        public void clear() {
+            copy().clear();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            if (copy != null) {
+                return copy.entrySet();
+            }
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Object>> iterator() {
+                    final Iterator<Entry<String, Object>> it = shared.entrySet().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return it.hasNext();
+                        }
+
+                        @Override
+                        public Entry<String, Object> next() {
+                            final Entry<String, Object> e = it.next();
+                            return new SimpleImmutableEntry<>(e.getKey(), child(e.getKey(), e.getValue()));
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return shared.size();
+                }
+            };
+        }
+    }
+
+    /**
+     * Page view of a shared array, copied to a regular list on the first write.
+     */
+    private static final class CopyOnWriteList extends AbstractList<Object> {
+        private final List<Object> shared;
+        private final Object[] children;
+        private volatile List<Object> copy;
+
+        private CopyOnWriteList(List<Object> shared) {
+            this.shared = shared;
+            this.children = new Object[shared.size()];
+        }
+
+        private Object child(int i) {
+            final Object value = shared.get(i);
+            if (!(value instanceof JsonObject || value instanceof JsonArray)) {
+                return value;
+            }
+            Object child = children[i];
+            if (child == null) {
+                synchronized (this) {
+                    child = children[i];
+                    if (child == null) {
+                        child = copyOnWrite(value);
+                        children[i] = child;
+                    }
+                }
+            }
+            return child;
+        }
+
+        private synchronized List<Object> copy() {
+            if (copy == null) {
+                final List<Object> list = new ArrayList<>(shared.size());
+                for (int i = 0; i < shared.size(); i++) {
+                    list.add(child(i));
+                }
+                copy = list;
+            }
+            return copy;
+        }
+
+        @Override
+        public Object get(int i) {
+            if (copy != null) {
+                return copy.get(i);
+            }
+            return child(i);
+        }
+
+        @Override
+        public int size() {
+            return copy != null ? copy.size() : shared.size();
+        }
+
+        @Override
+        public Object set(int i, Object value) {
+            return copy().set(i, value);
+        }
+
+        @Override
+        public void add(int i, Object value) {
+            modCount++;
+            copy().add(i, value);
+        }
+
+        @Override
+        public Object remove(int i) {
+            modCount++;
+            return copy().remove(i);
+        }
+    }
+
+    private static void skipValue(Cursor in) {
+        final byte type = in.readByte();
+        switch (type) {
+            case NULL, TRUE, FALSE -> {
+            }
+            case INT, LONG, STRING, BIG_INTEGER, BIG_DECIMAL, INSTANT, SHARED -> in.readVarLong();
+            case DOUBLE -> in.position += 8;
+            case FLOAT -> in.position += 4;
+            case OBJECT -> {
+                for (int i = in.readVarInt(); i > 0; i--) {
+                    in.readVarLong();
+                    skipValue(in);
+                }
+            }
+            case ARRAY -> {
+                for (int i = in.readVarInt(); i > 0; i--) {
+                    skipValue(in);
+                }
+            }
+            case BINARY -> {
+                final int length = in.readVarInt();
+                in.position += length;
+            }
+            case SHARED_DEF -> skipValue(in);
+            default -> throw new IllegalStateException("Invalid value type in Roq site snapshot: " + type);
+        }
+    }
+
+    private static final class Cursor {
+        private final byte[] bytes;
+        private int position;
+
+        private Cursor(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        byte readByte() {
+            return bytes[position++];
+        }
+
+        int readInt() {
+            return ((bytes[position++] & 0xFF) << 24)
+                    | ((bytes[position++] & 0xFF) << 16)
+                    | ((bytes[position++] & 0xFF) << 8)
+                    | (bytes[position++] & 0xFF);
+        }
+
+        long readLong() {
+            return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+        }
+
+        int readVarInt() {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = bytes[position++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+
+        long readZigZag() {
+            final long v = readVarLong();
+            return (v >>> 1) ^ -(v & 1);
+        }
+    }
+
+    // ── Writing ─────────────────────────────────────────────────────────
+
+    /**
+     * Build-time writer, entries are indexed in insertion order.
+     * <p>
+     * Entries are only encoded by {@link #toByteArray()}, once it is known which nested values are used more than once.
+     */
+    public static final class Writer {
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final Map<RootUrl, Integer> rootIds = new IdentityHashMap<>();
+        private final Output roots = new Output();
+        private int rootCount;
+        private final Output entries = new Output();
+        private final List<Entry> pending = new ArrayList<>();
+        private final List<PaginationRef> paginations = new ArrayList<>();
+        private final List<NormalPageRef> normalPages = new ArrayList<>();
+        private final List<DocumentRef> documents = new ArrayList<>();
+        private final List<CollectionRef> collections = new ArrayList<>();
+        private final List<Integer> routes = new ArrayList<>();
+        private int siteIndex = -1;
+        // Occurrences of the nested containers by content, visited instances are skipped
+        // (layout data is merged by reference in all the pages using the layout)
+        private final Map<Object, Boolean> visited = new IdentityHashMap<>();
+        private final Map<Object, Integer> occurrences = new HashMap<>();
+        private final Map<Object, Integer> sharedOffsets = new HashMap<>();
+
+        private record Entry(RoqUrl url, PageSource source, JsonObject data) {
+        }
+
+        /**
+         * @return the index of the added entry
+         * @throws IllegalArgumentException if a value (or a nested value) type is not supported
+         */
+        public int add(RoqUrl url, PageSource source, JsonObject data) {
+            final JsonObject value = data == null ? new JsonObject() : data;
+            for (Object v : value.getMap().values()) {
+                count(v);
+            }
+            pending.add(new Entry(url, source, value));
+            return pending.size() - 1;
+        }
+
+        public int size() {
+            return pending.size();
+        }
+
+        /**
+         * @return the index of the added pagination
+         */
+        public int addPagination(PaginationRef pagination) {
+            paginations.add(pagination);
+            return paginations.size() - 1;
+        }
+
+        public void addNormalPage(NormalPageRef page) {
+            normalPages.add(page);
+        }
+
+        public void addDocument(DocumentRef document) {
+            documents.add(document);
+        }
+
+        public void addCollection(CollectionRef collection) {
+            collections.add(collection);
+        }
+
+        public void setSiteIndex(int entry) {
+            this.siteIndex = entry;
+        }
+
+        /**
+         * Serve the page of the given entry on its url path.
+         */
+        public void addRoute(int entry) {
+            routes.add(entry);
+        }
+
+        public byte[] toByteArray() {
+            final List<int[]> offsets = new ArrayList<>(pending.size());
+            for (Entry entry : pending) {
+                final int entryOffset = entries.size();
+                writeUrl(entry.url());
+                // Link placeholders values, so templates don't slugify them again
+                writeString(entries, resolveOrNull(() -> TemplateLink.resolveSlug(entry.source(), entry.data())));
+                writeString(entries, resolveOrNull(() -> TemplateLink.resolveName(entry.source())));
+                writeSource(entry.source());
+                final int dataOffset = entries.size();
+                // The page data is never shared, only its nested values
+                writeObject(entry.data().getMap());
+                offsets.add(new int[] { entryOffset, dataOffset });
+            }
+            final Output site = writeSite();
+            final Output header = new Output();
+            header.writeInt(MAGIC);
+            header.write(VERSION);
+            header.writeVarLong(strings.size());
+            for (String s : strings) {
+                final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+                header.writeVarLong(b.length);
+                header.write(b, 0, b.length);
+            }
+            header.writeVarLong(rootCount);
+            roots.writeTo(header);
+            header.writeVarLong(offsets.size());
+            // Entry offsets are absolute, the body starts right after the offsets table and the site offset
+            final int base = header.size() + offsets.size() * 8 + 4;
+            for (int[] offset : offsets) {
+                header.writeInt(base + offset[0]);
+                header.writeInt(base + offset[1]);
+            }
+            header.writeInt(base + entries.size());
+            entries.writeTo(header);
+            site.writeTo(header);
+            return header.toByteArray();
+        }
+
+        private Output writeSite() {
+            final Output out = new Output();
+            out.writeVarLong(paginations.size());
+            for (PaginationRef pagination : paginations) {
+                writeString(out, pagination.collection());
+                out.writeVarLong(pagination.collectionSize());
+                out.writeVarLong(pagination.limit());
+                writeRoot(out, pagination.root());
+                out.writeVarLong(pagination.pagesPath().size());
+                for (String path : pagination.pagesPath()) {
+                    writeString(out, path);
+                }
+            }
+            out.writeVarLong(normalPages.size());
+            for (NormalPageRef page : normalPages) {
+                out.writeVarLong(page.entry());
+                out.writeVarLong(page.pagination() + 1L);
+                out.writeVarLong(page.currentIndex());
+            }
+            out.writeVarLong(documents.size());
+            for (DocumentRef document : documents) {
+                out.writeVarLong(document.entry());
+                writeString(out, document.collection());
+                out.write(document.hidden() ? TRUE : FALSE);
+            }
+            out.writeVarLong(collections.size());
+            for (CollectionRef ref : collections) {
+                final ConfiguredCollection collection = ref.collection();
+                int flags = 0;
+                flags |= collection.derived() ? COLLECTION_DERIVED : 0;
+                flags |= collection.hidden() ? COLLECTION_HIDDEN : 0;
+                flags |= collection.future() ? COLLECTION_FUTURE : 0;
+                flags |= collection.fromData().isPresent() ? COLLECTION_FROM_DATA : 0;
+                writeString(out, collection.id());
+                out.writeVarLong(flags);
+                writeString(out, collection.layout());
+                if (collection.fromData().isPresent()) {
+                    writeString(out, collection.fromData().get().idKey());
+                    writeString(out, collection.fromData().get().name());
+                }
+                out.writeVarLong(ref.documents().size());
+                for (int entry : ref.documents()) {
+                    out.writeVarLong(entry);
+                }
+            }
+            out.writeVarLong(siteIndex + 1L);
+            out.writeVarLong(routes.size());
+            for (int entry : routes) {
+                out.writeVarLong(entry);
+            }
+            return out;
+        }
+
+        private static String resolveOrNull(Supplier<String> resolver) {
+            try {
+                return resolver.get();
+            } catch (RuntimeException e) {
+                // e.g. a non-string title, the page resolves it (and reports the error) when it is used
+                return null;
+            }
+        }
+
+        private void count(Object value) {
+            final Object container = container(value);
+            if (container == null) {
+                checkSupported(value);
+                return;
+            }
+            if (isEmpty(container)) {
+                return;
+            }
+            occurrences.merge(container, 1, Integer::sum);
+            if (visited.put(container, Boolean.TRUE) == null) {
+                for (Object v : container instanceof Map<?, ?> m ? m.values() : (List<?>) container) {
+                    count(v);
+                }
+            }
+        }
+
+        private static Object container(Object value) {
+            if (value instanceof JsonObject o) {
+                return o.getMap();
+            } else if (value instanceof JsonArray a) {
+                return a.getList();
+            } else if (value instanceof Map<?, ?> || value instanceof List<?>) {
+                return value;
+            }
+            return null;
+        }
+
+        private static boolean isEmpty(Object container) {
+            return container instanceof Map<?, ?> m ? m.isEmpty() : ((List<?>) container).isEmpty();
+        }
+
+        private static void checkSupported(Object value) {
+            if (value != null && !(value instanceof Boolean || value instanceof CharSequence
+                    || value instanceof Integer || value instanceof Short || value instanceof Byte
+                    || value instanceof Long || value instanceof Double || value instanceof Float
+                    || value instanceof BigInteger || value instanceof BigDecimal
+                    || value instanceof Instant || value instanceof byte[])) {
+                throw new IllegalArgumentException("Unsupported front matter value type: " + value.getClass().getName());
+            }
+        }
+
+        private void writeString(Output out, String s) {
+            if (s == null) {
+                out.write(0);
+                return;
+            }
+            Integer id = stringIds.get(s);
+            if (id == null) {
+                id = strings.size();
+                stringIds.put(s, id);
+                strings.add(s);
+            }
+            out.writeVarLong(id + 1L);
+        }
+
+        private void writeUrl(RoqUrl url) {
+            writeRoot(entries, url.root());
+            writeString(entries, url.resourcePath());
+        }
+
+        private void writeRoot(Output out, RootUrl root) {
+            if (root == null) {
+                out.write(0);
+                return;
+            }
+            Integer id = rootIds.get(root);
+            if (id == null) {
+                id = rootCount++;
+                rootIds.put(root, id);
+                writeString(roots, root.url());
+                writeString(roots, root.rootPath());
+            }
+            out.writeVarLong(id + 1L);
+        }
+
+        private void writeSource(PageSource source) {
+            final TemplateSource template = source.template();
+            int flags = 0;
+            flags |= template.isLayout() ? FLAG_LAYOUT : 0;
+            flags |= template.isTargetHtml() ? FLAG_TARGET_HTML : 0;
+            flags |= template.isIndex() ? FLAG_INDEX : 0;
+            flags |= template.isSiteIndex() ? FLAG_SITE_INDEX : 0;
+            flags |= source.draft() ? FLAG_DRAFT : 0;
+            flags |= source.generated() ? FLAG_GENERATED : 0;
+            flags |= source.files() != null && source.files().slugified() ? FLAG_SLUGIFIED : 0;
+            entries.writeVarLong(flags);
+            writeString(entries, template.id());
+            writeString(entries, template.markup());
+            writeString(entries, template.file() == null ? null : template.file().siteDirPath());
+            writeString(entries, template.file() == null ? null : template.file().relativePath());
+            writeString(entries, template.path());
+            writeString(entries, template.generatedQuteId());
+            writeString(entries, source.dateString());
+            if (source.files() == null) {
+                entries.write(0);
+            } else {
+                entries.writeVarLong(source.files().size() + 1L);
+                for (String name : source.files().names()) {
+                    writeString(entries, name);
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeValue(Object value) {
+            final Object container = container(value);
+            if (container != null) {
+                if (!isEmpty(container) && occurrences.getOrDefault(container, 0) > 1) {
+                    final Integer offset = sharedOffsets.get(container);
+                    if (offset != null) {
+                        entries.write(SHARED);
+                        entries.writeVarLong(offset);
+                        return;
+                    }
+                    entries.write(SHARED_DEF);
+                    sharedOffsets.put(container, entries.size());
+                }
+                if (container instanceof Map<?, ?> m) {
+                    writeObject((Map<String, Object>) m);
+                } else {
+                    writeArray((List<?>) container);
+                }
+            } else if (value == null) {
+                entries.write(NULL);
+            } else if (value instanceof Boolean b) {
+                entries.write(b ? TRUE : FALSE);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                entries.write(INT);
+                entries.writeZigZag(((Number) value).intValue());
+            } else if (value instanceof Long l) {
+                entries.write(LONG);
+                entries.writeZigZag(l);
+            } else if (value instanceof Double d) {
+                entries.write(DOUBLE);
+                entries.writeLong(Double.doubleToRawLongBits(d));
+            } else if (value instanceof Float f) {
+                entries.write(FLOAT);
+                entries.writeInt(Float.floatToRawIntBits(f));
+            } else if (value instanceof CharSequence s) {
+                entries.write(STRING);
+                writeString(entries, s.toString());
+            } else if (value instanceof BigInteger i) {
+                entries.write(BIG_INTEGER);
+                writeString(entries, i.toString());
+            } else if (value instanceof BigDecimal d) {
+                entries.write(BIG_DECIMAL);
+                writeString(entries, d.toString());
+            } else if (value instanceof Instant i) {
+                entries.write(INSTANT);
+                writeString(entries, i.toString());
+            } else if (value instanceof byte[] b) {
+                entries.write(BINARY);
+                entries.writeVarLong(b.length);
+                entries.write(b, 0, b.length);
+            } else {
+                throw new IllegalArgumentException("Unsupported front matter value type: " + value.getClass().getName());
+            }
+        }
+
+        private void writeObject(Map<String, Object> map) {
+            entries.write(OBJECT);
+            entries.writeVarLong(map.size());
+            for (Map.Entry<String, Object> e : map.entrySet()) {
+                writeString(entries, e.getKey());
+                writeValue(e.getValue());
+            }
+        }
+
+        private void writeArray(List<?> list) {
+            entries.write(ARRAY);
+            entries.writeVarLong(list.size());
+            for (Object item : list) {
+                writeValue(item);
+            }
+        }
+    }
+
+    private static final class Output extends ByteArrayOutputStream {
+
+        void writeInt(int v) {
+            write(v >>> 24);
+            write(v >>> 16);
+            write(v >>> 8);
+            write(v);
+        }
+
+        void writeLong(long v) {
+            writeInt((int) (v >>> 32));
+            writeInt((int) v);
+        }
+
+        void writeVarLong(long v) {
+            while ((v & ~0x7FL) != 0) {
+                write((int) ((v & 0x7F) | 0x80));
+                v >>>= 7;
+            }
+            write((int) v);
+        }
+
+        void writeZigZag(long v) {
+            writeVarLong((v << 1) ^ (v >> 63));
+        }
+
+        void writeTo(Output out) {
+            out.write(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package io.quarkiverse.roq.frontmatter.runtime.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class PaginatorTest {
+
+    private static final RootUrl ROOT = new RootUrl("https://example.com", "/");
+
+    private final Pagination pagination = new Pagination("posts", 7, 3, List.of(
+            new RoqUrl(ROOT, "posts/"),
+            new RoqUrl(ROOT, "posts/page/2/"),
+            new RoqUrl(ROOT, "posts/page/3/")));
+
+    @Test
+    void testFirstPage() {
+        Paginator paginator = new Paginator(pagination, 1);
+        assertTrue(paginator.isFirst());
+        assertEquals(3, paginator.total());
+        assertEquals(7, paginator.collectionSize());
+        assertEquals(3, paginator.limit());
+        assertEquals("posts", paginator.collection());
+        assertNull(paginator.previousIndex());
+        assertNull(paginator.previous());
+        assertEquals(2, paginator.nextIndex());
+        assertEquals("/posts/page/2/", paginator.next().path());
+        assertEquals("/posts/", paginator.firstUrl().path());
+    }
+
+    @Test
+    void testLastPage() {
+        Paginator paginator = new Paginator(pagination, 3);
+        assertFalse(paginator.isFirst());
+        assertEquals(2, paginator.prevIndex());
+        assertEquals("/posts/page/2/", paginator.prev().path());
+        assertNull(paginator.nextIndex());
+        assertNull(paginator.next());
+    }
+
+    @Test
+    void testPagesUrlIsShared() {
+        assertSame(new Paginator(pagination, 1).pagesUrl(), new Paginator(pagination, 2).pagesUrl());
+    }
+}
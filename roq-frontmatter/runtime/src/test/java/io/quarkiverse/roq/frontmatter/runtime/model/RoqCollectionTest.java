@@ -0,0 +1,98 @@
+package io.quarkiverse.roq.frontmatter.runtime.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.roq.frontmatter.runtime.config.ConfiguredCollection;
+import io.vertx.core.json.JsonObject;
+
+class RoqCollectionTest {
+
+    private static final RootUrl ROOT = new RootUrl("https://example.com", "/");
+
+    private static DocumentPage document(String id, JsonObject data) {
+        final TemplateSource template = new TemplateSource(id, "markdown", new SourceFile("/site", "content/" + id), id,
+                id, false, true, false, false);
+        return new DocumentPage("posts", new RoqUrl(ROOT, id), new PageSource(template, false, null, null, false), data,
+                false);
+    }
+
+    private final RoqCollection collection = new RoqCollection(
+            new ConfiguredCollection("posts", false, false, false, "post", Optional.empty()),
+            List.of(document("a.md", new JsonObject().put("author", "john").put("category", "java")),
+                    document("b.md", new JsonObject().put("author", "jane")),
+                    document("c.md", new JsonObject().put("author", "john").put("category", "roq"))));
+
+    @Test
+    void testBy() {
+        assertEquals(List.of("john", "jane", "john"), collection.by("author"));
+        assertEquals(List.of("john", "java", "jane", "john", "roq"), collection.by("author", "category"));
+        assertSame(collection.by("author"), collection.by("author"));
+        assertThrows(UnsupportedOperationException.class, () -> collection.by("author").add("x"));
+    }
+
+    @Test
+    void testGroup() {
+        final Map<Object, List<Page>> byAuthor = collection.group("author");
+        assertEquals(List.of("john", "jane"), List.copyOf(byAuthor.keySet()));
+        assertEquals(List.of("a.md", "c.md"), byAuthor.get("john").stream().map(Page::id).toList());
+        assertSame(byAuthor, collection.group("author"));
+        assertNotSame(byAuthor, collection.group("author", "category"));
+        assertThrows(UnsupportedOperationException.class, () -> byAuthor.get("john").clear());
+        assertThrows(UnsupportedOperationException.class, () -> byAuthor.remove("john"));
+        assertEquals(List.of("java", "roq"), List.copyOf(collection.group("category").keySet()));
+    }
+
+    @Test
+    void testModified() {
+        final RoqCollection modified = new RoqCollection(collection.collection(), collection);
+        final DocumentPage first = modified.get(0);
+        final List<Object> authors = modified.by("author");
+        assertEquals(List.of("john", "jane", "john"), authors);
+        assertEquals(2, modified.group("author").get("john").size());
+        assertEquals(modified.get(1), modified.nextPage(first));
+
+        modified.add(document("d.md", new JsonObject().put("author", "jack")));
+        modified.remove(first);
+        assertEquals(List.of("jane", "john", "jack"), modified.by("author"));
+        assertEquals(1, modified.group("author").get("john").size());
+        assertNull(modified.nextPage(first));
+        assertEquals(modified.get(2), modified.nextPage(modified.get(1)));
+        // The values returned before the modification are kept as they were
+        assertEquals(List.of("john", "jane", "john"), authors);
+
+        // Modified through an iterator, without the collection mutators
+        final Iterator<DocumentPage> it = modified.iterator();
+        it.next();
+        it.remove();
+        assertEquals(List.of("john", "jack"), modified.by("author"));
+    }
+
+    @Test
+    void testNavigation() {
+        final DocumentPage a = collection.get(0);
+        final DocumentPage b = collection.get(1);
+        final DocumentPage c = collection.get(2);
+        assertSame(b, collection.nextPage(a));
+        assertNull(collection.nextPage(c));
+        assertSame(b, collection.previousPage(c));
+        assertNull(collection.previousPage(a));
+        // Pages are identified by id and url, not by their data
+        assertSame(b, collection.nextPage(document("a.md", new JsonObject().put("author", "other"))));
+        assertNull(collection.nextPage(document("d.md", new JsonObject())));
+    }
+
+    @Test
+    void testPageIdentity() {
+        final DocumentPage a = document("a.md", new JsonObject().put("author", "john"));
+        assertEquals(a, document("a.md", new JsonObject()));
+        assertEquals(a.hashCode(), document("a.md", new JsonObject()).hashCode());
+        assertNotEquals(a, document("b.md", new JsonObject().put("author", "john")));
+    }
+}
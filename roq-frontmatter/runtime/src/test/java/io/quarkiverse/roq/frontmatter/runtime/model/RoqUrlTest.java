@@ -84,4 +84,38 @@ class RoqUrlTest {
         RoqUrl result = url.removeFirst("/posts/my.post");
         assertEquals("/blog/", result.path());
     }
+
+    @Test
+    void testStringFormsAreCached() {
+        RoqUrl url = new RoqUrl(testRoot(), "posts/my-post/");
+        assertEquals("/blog/posts/my-post/", url.path());
+        assertEquals("https://example.com/blog/posts/my-post/", url.absolute());
+        assertEquals("https%3A%2F%2Fexample.com%2Fblog%2Fposts%2Fmy-post%2F", url.encoded());
+        assertSame(url.path(), url.path());
+        assertSame(url.absolute(), url.absolute());
+        assertSame(url.encoded(), url.encoded());
+    }
+
+    @Test
+    void testPathEncoding() {
+        RoqUrl url = new RoqUrl(testRoot(), "posts/my post/é/");
+        assertEquals("/blog/posts/my%20post/%C3%A9/", url.path());
+        assertEquals("/blog/posts/my post/é/", url.path(false));
+    }
+
+    @Test
+    void testResolve() {
+        RoqUrl url = new RoqUrl(testRoot(), "posts/");
+        assertEquals(new RoqUrl(testRoot(), "posts/page/2/"), url.resolve("page/2/"));
+        assertEquals("/blog/posts/page/2/", url.resolve("/page/2/").path());
+        assertEquals("/blog/posts/page/2/", new RoqUrl(testRoot(), "posts").resolve("page/2/").path());
+        assertEquals(new RoqUrl(null, "https://quarkus.io"), url.resolve("https://quarkus.io"));
+    }
+
+    @Test
+    void testEquality() {
+        assertEquals(new RoqUrl(testRoot(), "posts/"), new RoqUrl(testRoot(), "posts/"));
+        assertEquals(new RoqUrl(testRoot(), "posts/").hashCode(), new RoqUrl(testRoot(), "posts/").hashCode());
+        assertNotEquals(new RoqUrl(testRoot(), "posts/"), new RoqUrl(null, "posts/"));
+    }
 }
@@ -0,0 +1,51 @@
+package io.quarkiverse.roq.frontmatter.runtime.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Roq FrontMatter - Page text statistics")
+class TextStatsTest {
+
+    @Test
+    @DisplayName("Tags are stripped and words counted")
+    void testStripAndCount() {
+        TextStats stats = TextStats.ofHtml("<div>Hello <b>World</b>, it's<br/>roq_site 2024</div>");
+        assertEquals("Hello World, it'sroq_site 2024", stats.text());
+        assertEquals(5, stats.wordCount());
+        assertEquals(1, stats.readTime());
+    }
+
+    @Test
+    @DisplayName("Unclosed tag is kept as text")
+    void testUnclosedTag() {
+        assertEquals("a < b c", TextStats.ofHtml("<i>a</i> < b c").text());
+    }
+
+    @Test
+    @DisplayName("Reading time is rounded up")
+    void testReadTime() {
+        assertEquals(0, TextStats.ofText("").readTime());
+        assertEquals(1, TextStats.ofText("word ".repeat(200)).readTime());
+        assertEquals(2, TextStats.ofText("word ".repeat(201)).readTime());
+    }
+
+    @Test
+    @DisplayName("Abstract is limited in words with ellipsis")
+    void testAbstract() {
+        TextStats stats = TextStats.ofHtml("<p>one two three four</p>");
+        assertEquals("one two...", stats.contentAbstract(2));
+        assertEquals("one two three four", stats.contentAbstract(4));
+        assertEquals("one two three four", stats.contentAbstract(10));
+        assertEquals("one two three four", stats.contentAbstract(0));
+    }
+
+    @Test
+    @DisplayName("Abstract beyond the indexed words")
+    void testLongAbstract() {
+        TextStats stats = TextStats.ofText("w ".repeat(400));
+        assertEquals(400, stats.wordCount());
+        assertEquals(("w ".repeat(300)).trim() + "...", stats.contentAbstract(300));
+    }
+}
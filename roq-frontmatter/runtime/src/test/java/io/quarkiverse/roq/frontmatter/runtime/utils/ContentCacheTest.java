@@ -0,0 +1,128 @@
+package io.quarkiverse.roq.frontmatter.runtime.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Roq FrontMatter - Page content cache")
+class ContentCacheTest {
+
+    private static final long WEIGHT = 1000;
+
+    @Test
+    @DisplayName("Values are loaded once and counted")
+    void testHitAndMiss() {
+        final ContentCache cache = new ContentCache(10 * WEIGHT);
+        final ContentCache.Slot<String> slot = new ContentCache.Slot<>();
+        final AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            assertEquals("content", cache.get(slot, () -> {
+                loads.incrementAndGet();
+                return "content";
+            }, v -> WEIGHT));
+        }
+        assertEquals(1, loads.get());
+        final ContentCache.Stats stats = cache.stats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.evictions());
+        assertEquals(1, stats.size());
+        assertEquals(WEIGHT, stats.weightedSize());
+    }
+
+    @Test
+    @DisplayName("The size budget is respected")
+    void testBudget() {
+        final ContentCache cache = new ContentCache(10 * WEIGHT);
+        final List<ContentCache.Slot<String>> slots = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final ContentCache.Slot<String> slot = new ContentCache.Slot<>();
+            slots.add(slot);
+            cache.get(slot, () -> "content", v -> WEIGHT);
+            assertTrue(cache.stats().weightedSize() <= 10 * WEIGHT);
+        }
+        final ContentCache.Stats stats = cache.stats();
+        assertEquals(10, stats.size());
+        assertEquals(90, stats.evictions());
+        assertEquals(10, slots.stream().filter(s -> s.getIfPresent() != null).count());
+    }
+
+    @Test
+    @DisplayName("Frequently used values survive a scan of one-off values")
+    void testScanResistance() {
+        final ContentCache cache = new ContentCache(20 * WEIGHT);
+        final List<ContentCache.Slot<String>> hot = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            hot.add(new ContentCache.Slot<>());
+        }
+        for (int round = 0; round < 5; round++) {
+            for (ContentCache.Slot<String> slot : hot) {
+                cache.get(slot, () -> "hot", v -> WEIGHT);
+            }
+        }
+        for (int i = 0; i < 1000; i++) {
+            cache.get(new ContentCache.Slot<>(), () -> "cold", v -> WEIGHT);
+        }
+        assertTrue(hot.stream().allMatch(s -> s.getIfPresent() != null));
+    }
+
+    @Test
+    @DisplayName("Values larger than the budget are not cached")
+    void testTooLarge() {
+        final ContentCache cache = new ContentCache(WEIGHT);
+        final ContentCache.Slot<String> slot = new ContentCache.Slot<>();
+        assertEquals("big", cache.get(slot, () -> "big", v -> 2 * WEIGHT));
+        assertNull(slot.getIfPresent());
+        assertEquals(0, cache.stats().weightedSize());
+    }
+
+    @Test
+    @DisplayName("Invalidated values are loaded again")
+    void testInvalidate() {
+        final ContentCache cache = new ContentCache(10 * WEIGHT);
+        final ContentCache.Slot<String> slot = new ContentCache.Slot<>();
+        cache.get(slot, () -> "v1", v -> WEIGHT);
+        cache.invalidate(slot);
+        assertEquals(0, cache.stats().size());
+        assertEquals("v2", cache.get(slot, () -> "v2", v -> WEIGHT));
+    }
+
+    @Test
+    @DisplayName("All values are dropped at once")
+    void testInvalidateAll() {
+        final ContentCache cache = new ContentCache(10 * WEIGHT);
+        final List<ContentCache.Slot<String>> slots = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final ContentCache.Slot<String> slot = new ContentCache.Slot<>();
+            slots.add(slot);
+            cache.get(slot, () -> "v1", v -> WEIGHT);
+            // Accessed again to be promoted out of the window
+            cache.get(slot, () -> "v1", v -> WEIGHT);
+        }
+        cache.invalidateAll();
+        assertEquals(0, cache.stats().size());
+        assertEquals(0, cache.stats().weightedSize());
+        assertTrue(slots.stream().allMatch(s -> s.getIfPresent() == null));
+        assertEquals("v2", cache.get(slots.get(0), () -> "v2", v -> WEIGHT));
+    }
+
+    @Test
+    @DisplayName("Values loaded while the cache is invalidated are not cached")
+    void testInvalidateWhileLoading() {
+        final ContentCache cache = new ContentCache(10 * WEIGHT);
+        final ContentCache.Slot<String> slot = new ContentCache.Slot<>();
+        assertEquals("stale", cache.get(slot, () -> {
+            cache.invalidateAll();
+            return "stale";
+        }, v -> WEIGHT));
+        assertNull(slot.getIfPresent());
+        assertEquals(0, cache.stats().size());
+        assertEquals("fresh", cache.get(slot, () -> "fresh", v -> WEIGHT));
+        assertEquals("fresh", slot.getIfPresent());
+    }
+}
@@ -0,0 +1,93 @@
+package io.quarkiverse.roq.frontmatter.runtime.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Roq FrontMatter - HTML to text conversion")
+class HtmlTextTest {
+
+    // ── Reference (previous regex implementation of stripHtml(html, true)) ──
+
+    private static final Pattern STRIP_HTML_PATTERN = Pattern.compile("<[^>]*>");
+    private static final Pattern BR_PATTERN = Pattern.compile("(?i)<br\\s*/?>");
+    private static final Pattern BLOCK_CLOSE_PATTERN = Pattern
+            .compile("(?i)</(p|h[1-6]|div|blockquote|ul|ol|table)\\s*>");
+    private static final Pattern LI_CLOSE_PATTERN = Pattern.compile("(?i)</li\\s*>");
+    private static final Pattern SPACES_PATTERN = Pattern.compile("[ \\t]+");
+    private static final Pattern TRAILING_SPACES_PATTERN = Pattern.compile(" *\\n");
+    private static final Pattern MULTI_NEWLINES_PATTERN = Pattern.compile("\\n{3,}");
+
+    private static String regexToText(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+        String text = html;
+        text = BR_PATTERN.matcher(text).replaceAll("\n");
+        text = BLOCK_CLOSE_PATTERN.matcher(text).replaceAll("\n\n");
+        text = LI_CLOSE_PATTERN.matcher(text).replaceAll("\n");
+        text = STRIP_HTML_PATTERN.matcher(text).replaceAll("");
+        text = text.replace("&amp;", "&").replace("&quot;", "\"")
+                .replace("&#39;", "'").replace("&nbsp;", " ");
+        text = SPACES_PATTERN.matcher(text).replaceAll(" ");
+        text = TRAILING_SPACES_PATTERN.matcher(text).replaceAll("\n");
+        text = MULTI_NEWLINES_PATTERN.matcher(text).replaceAll("\n\n");
+        return text.strip();
+    }
+
+    // ── Tests ───────────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Paragraphs, line breaks and list items")
+    void testStructure() {
+        assertEquals("Hello\n\nWorld", HtmlText.toText("<p>Hello</p><p>World</p>"));
+        assertEquals("a\nb", HtmlText.toText("a<BR />b"));
+        assertEquals("Title\n\none\ntwo", HtmlText.toText("<h2>Title</h2><ul><li>one</li><li>two</li></ul>"));
+        assertEquals("a b", HtmlText.toText("  a \t  <span>b</span>  "));
+    }
+
+    @Test
+    @DisplayName("Character references are decoded once")
+    void testEntities() {
+        assertEquals("if (a < b && c > d) \"x\" 'y'",
+                HtmlText.toText("if (a &lt; b &amp;&amp; c &gt; d) &quot;x&quot; &#39;y&#x27;"));
+        assertEquals("© é 😀", HtmlText.toText("&copy; &eacute; &#x1F600;"));
+        assertEquals("&quot; &unknown; & &#xZZ;", HtmlText.toText("&amp;quot; &unknown; & &#xZZ;"));
+        assertEquals("a b", HtmlText.toText("a&nbsp;&nbsp;b"));
+    }
+
+    @Test
+    @DisplayName("Unclosed tag is kept as text")
+    void testUnclosedTag() {
+        assertEquals("1 < 2 & 3", HtmlText.toText("<b>1</b> < 2 &amp; 3"));
+    }
+
+    @Test
+    @DisplayName("Same output as the regex implementation")
+    void testSameAsRegex() {
+        final String[] tokens = { "<p>", "</p>", "</P >", "<br>", "<BR/>", "<br />", "<li>", "</li>", "</ul>", "</ol>",
+                "</h3>", "</h7>", "</div\n>", "</pre>", "</table>", "</blockquote>", "<a href=\"x\">", "</a>", " ", "\t",
+                "\n", "\n\n\n", "\r\n", "hello", "world", "&amp;", "&quot;", "&#39;", "&nbsp;", "&", "é", "\f" };
+        final Random random = new Random(42);
+        for (int n = 0; n < 20_000; n++) {
+            final StringBuilder html = new StringBuilder();
+            for (int i = random.nextInt(25); i > 0; i--) {
+                html.append(tokens[random.nextInt(tokens.length)]);
+            }
+            final String input = html.toString();
+            assertEquals(regexToText(input), HtmlText.toText(input), () -> "Input: " + input);
+        }
+    }
+
+    @Test
+    @DisplayName("Append to an existing builder")
+    void testAppendText() {
+        final StringBuilder out = new StringBuilder("text: ");
+        HtmlText.appendText("<p> Hello </p>", out);
+        assertEquals("text: Hello", out.toString());
+    }
+}
@@ -0,0 +1,152 @@
+package io.quarkiverse.roq.frontmatter.runtime.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.quarkiverse.roq.frontmatter.runtime.config.ConfiguredCollection;
+import io.quarkiverse.roq.frontmatter.runtime.model.PageFiles;
+import io.quarkiverse.roq.frontmatter.runtime.model.PageSource;
+import io.quarkiverse.roq.frontmatter.runtime.model.RootUrl;
+import io.quarkiverse.roq.frontmatter.runtime.model.RoqUrl;
+import io.quarkiverse.roq.frontmatter.runtime.model.SourceFile;
+import io.quarkiverse.roq.frontmatter.runtime.model.TemplateSource;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+class SiteSnapshotTest {
+
+    private static final RootUrl ROOT = new RootUrl("https://example.com", "/blog");
+
+    private static PageSource source(String id, PageFiles files) {
+        return new PageSource(new TemplateSource(id, "markdown", new SourceFile("/site", "content/" + id), id,
+                id.replace(".md", ".html"), false, true, false, false), false, "2024-08-29T00:00Z[UTC]", files, false);
+    }
+
+    @Test
+    void testRoundTrip() {
+        final SiteSnapshot.Writer writer = new SiteSnapshot.Writer();
+        final PageSource post = source("posts/hello.md", new PageFiles(List.of("cover.png"), true));
+        final JsonObject data = new JsonObject()
+                .put("title", "Hello")
+                .put("tags", new JsonArray().add("java").add("roq"))
+                .put("author", new JsonObject().put("name", "Roq").put("age", 3))
+                .put("views", 12345678901L)
+                .put("rating", 4.5)
+                .put("price", new BigDecimal("1.10"))
+                .put("draft", false)
+                .putNull("image");
+        final int postIndex = writer.add(new RoqUrl(ROOT, "posts/hello/"), post, data);
+        final PageSource external = new PageSource(
+                new TemplateSource("index.html", null, new SourceFile("/site", "content/index.html"), "index.html",
+                        "index.html", false, true, true, true),
+                true, null, null, true);
+        final int externalIndex = writer.add(new RoqUrl(null, "https://quarkus.io"), external, null);
+
+        final SiteSnapshot snapshot = SiteSnapshot.read(writer.toByteArray());
+        assertEquals(2, snapshot.size());
+        assertEquals(new RoqUrl(ROOT, "posts/hello/"), snapshot.url(postIndex));
+        assertEquals(post, snapshot.source(postIndex));
+        assertEquals(data, snapshot.data(postIndex));
+        assertEquals(new RoqUrl(null, "https://quarkus.io"), snapshot.url(externalIndex));
+        assertEquals(external, snapshot.source(externalIndex));
+        assertEquals(new JsonObject(), snapshot.data(externalIndex));
+        // Link placeholders are resolved when written
+        assertEquals("Hello", snapshot.slug(postIndex));
+        assertEquals("hello", snapshot.name(postIndex));
+        assertEquals(TemplateLink.resolveSlug(external, new JsonObject()), snapshot.slug(externalIndex));
+        assertEquals(TemplateLink.resolveName(external), snapshot.name(externalIndex));
+    }
+
+    @Test
+    void testSiteStructure() {
+        final SiteSnapshot.Writer writer = new SiteSnapshot.Writer();
+        final int post = writer.add(new RoqUrl(ROOT, "posts/hello/"), source("posts/hello.md", null), new JsonObject());
+        final int index = writer.add(new RoqUrl(ROOT, ""), source("index.html", null), new JsonObject());
+        final int page2 = writer.add(new RoqUrl(ROOT, "page2/"), source("index.html", null), new JsonObject());
+        final ConfiguredCollection posts = new ConfiguredCollection("posts", false, false, false, "post", Optional.empty());
+        final ConfiguredCollection tags = new ConfiguredCollection("tags", true, true, true, "tag",
+                Optional.of(new ConfiguredCollection.CollectionFromData("id", "tags")));
+        writer.addDocument(new SiteSnapshot.DocumentRef(post, "posts", false));
+        writer.addCollection(new SiteSnapshot.CollectionRef(posts, List.of(post)));
+        writer.addCollection(new SiteSnapshot.CollectionRef(tags, List.of(post, post)));
+        final SiteSnapshot.PaginationRef pagination = new SiteSnapshot.PaginationRef("posts", 1, 1, ROOT,
+                List.of("", "page2/"));
+        final int p = writer.addPagination(pagination);
+        writer.addNormalPage(new SiteSnapshot.NormalPageRef(index, p, 1));
+        writer.addNormalPage(new SiteSnapshot.NormalPageRef(page2, p, 2));
+        writer.setSiteIndex(index);
+        writer.addRoute(post);
+        writer.addRoute(index);
+
+        final SiteSnapshot snapshot = SiteSnapshot.read(writer.toByteArray());
+        assertEquals(List.of(pagination), snapshot.paginations());
+        assertEquals(List.of(new SiteSnapshot.NormalPageRef(index, p, 1), new SiteSnapshot.NormalPageRef(page2, p, 2)),
+                snapshot.normalPages());
+        assertEquals(List.of(new SiteSnapshot.DocumentRef(post, "posts", false)), snapshot.documents());
+        assertEquals(List.of(new SiteSnapshot.CollectionRef(posts, List.of(post)),
+                new SiteSnapshot.CollectionRef(tags, List.of(post, post))), snapshot.collections());
+        assertEquals(index, snapshot.siteIndex());
+        assertArrayEquals(new int[] { post, index }, snapshot.routes());
+    }
+
+    @Test
+    void testStringsAreShared() {
+        final SiteSnapshot.Writer writer = new SiteSnapshot.Writer();
+        writer.add(new RoqUrl(ROOT, "a/"), source("a.md", null), new JsonObject().put("layout", "post"));
+        writer.add(new RoqUrl(ROOT, "b/"), source("b.md", null), new JsonObject().put("layout", "post"));
+        final SiteSnapshot snapshot = SiteSnapshot.read(writer.toByteArray());
+        assertSame(snapshot.data(0).getString("layout"), snapshot.data(1).getString("layout"));
+        assertSame(snapshot.url(0).root(), snapshot.url(1).root());
+        // Data is decoded on each call, pages keep their own copy
+        assertNotSame(snapshot.data(0), snapshot.data(0));
+    }
+
+    @Test
+    void testNestedValuesAreShared() {
+        final SiteSnapshot.Writer writer = new SiteSnapshot.Writer();
+        // Layout data is merged by reference, other pages may have equal copies
+        final JsonObject menu = new JsonObject().put("items", new JsonArray().add("home").add("blog"));
+        writer.add(new RoqUrl(ROOT, "a/"), source("a.md", null), new JsonObject().put("menu", menu));
+        writer.add(new RoqUrl(ROOT, "b/"), source("b.md", null), new JsonObject().put("menu", menu));
+        writer.add(new RoqUrl(ROOT, "c/"), source("c.md", null), new JsonObject().put("menu", menu.copy()));
+        writer.add(new RoqUrl(ROOT, "d/"), source("d.md", null), new JsonObject().put("menu", new JsonObject()));
+        final SiteSnapshot snapshot = SiteSnapshot.read(writer.toByteArray());
+        final JsonObject a = snapshot.data(0);
+        final JsonObject b = snapshot.data(1);
+        final JsonObject c = snapshot.data(2);
+        assertEquals(menu, a.getJsonObject("menu"));
+        assertEquals(menu, b.getJsonObject("menu"));
+        assertEquals(menu, c.getJsonObject("menu"));
+        assertSame(a.getJsonObject("menu"), a.getJsonObject("menu"));
+        assertSame(a.getJsonObject("menu").getJsonArray("items"), a.getJsonObject("menu").getJsonArray("items"));
+        // Shared values are copied on write, only for the page writing to them
+        a.getJsonObject("menu").put("x", 1);
+        a.getJsonObject("menu").getJsonArray("items").add("x");
+        assertEquals(new JsonObject().put("items", new JsonArray().add("home").add("blog").add("x")).put("x", 1),
+                a.getJsonObject("menu"));
+        b.getJsonObject("menu").getJsonArray("items").remove(0);
+        assertEquals(new JsonObject().put("items", new JsonArray().add("blog")), b.getJsonObject("menu"));
+        assertEquals(menu, c.getJsonObject("menu"));
+        assertEquals(menu, snapshot.data(0).getJsonObject("menu"));
+        assertEquals(menu, snapshot.data(1).getJsonObject("menu"));
+        a.put("x", 1);
+        snapshot.data(3).getJsonObject("menu").put("x", 1);
+    }
+
+    @Test
+    void testUnsupportedValue() {
+        final SiteSnapshot.Writer writer = new SiteSnapshot.Writer();
+        final JsonObject data = new JsonObject().put("value", new Object());
+        assertThrows(IllegalArgumentException.class, () -> writer.add(new RoqUrl(ROOT, "a/"), source("a.md", null), data));
+    }
+
+    @Test
+    void testInvalidSnapshot() {
+        assertThrows(IllegalStateException.class, () -> SiteSnapshot.read(new byte[] { 0, 1, 2, 3, 4 }));
+    }
+}
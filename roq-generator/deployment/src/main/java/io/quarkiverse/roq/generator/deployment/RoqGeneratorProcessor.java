@@ -1,21 +1,34 @@
 package io.quarkiverse.roq.generator.deployment;
 
+import static io.quarkiverse.roq.deployment.util.RoqDigestUtils.hex;
+import static io.quarkiverse.roq.deployment.util.RoqDigestUtils.sha256;
+import static io.quarkiverse.roq.deployment.util.RoqDigestUtils.update;
 import static io.quarkiverse.tools.stringpaths.StringPaths.prefixWithSlash;
 import static java.util.function.Predicate.not;
 import static java.util.stream.Collectors.toMap;
 
+import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import io.quarkiverse.roq.deployment.items.RoqTrackedDataFileBuildItem;
+import io.quarkiverse.roq.generator.deployment.items.GenerationInputBuildItem;
 import io.quarkiverse.roq.generator.deployment.items.SelectedPathBuildItem;
 import io.quarkiverse.roq.generator.runtime.ConfiguredPathsProvider;
 import io.quarkiverse.roq.generator.runtime.Origin;
@@ -34,6 +47,7 @@ import io.quarkus.deployment.annotations.BuildProducer;
 import io.quarkus.deployment.annotations.BuildStep;
 import io.quarkus.deployment.annotations.ExecutionTime;
 import io.quarkus.deployment.annotations.Record;
+import io.quarkus.deployment.builditem.ApplicationArchivesBuildItem;
 import io.quarkus.deployment.builditem.FeatureBuildItem;
 import io.quarkus.deployment.pkg.builditem.CurateOutcomeBuildItem;
 import io.quarkus.deployment.pkg.builditem.OutputTargetBuildItem;
@@ -122,6 +136,57 @@ class RoqGeneratorProcessor {
         recorder.setOutputTarget(outputTarget.getOutputDirectory().toAbsolutePath().toString());
     }
 
+    // The incremental generation only tracks the data read by each page, a change of the application
+    // (classes and resources, Roq configuration or the inputs of the extensions) generates all the pages again.
+    // The data files are fingerprinted on their own, they are not part of it.
+    @BuildStep
+    @Record(ExecutionTime.STATIC_INIT)
+    void initBuildFingerprint(
+            RoqGeneratorConfig config,
+            ApplicationArchivesBuildItem applicationArchives,
+            List<GenerationInputBuildItem> generationInputs,
+            List<RoqTrackedDataFileBuildItem> trackedDataFiles,
+            RoqGeneratorRecorder recorder) throws IOException {
+        if (!config.incremental()) {
+            return;
+        }
+        final MessageDigest digest = sha256();
+        final List<GenerationInputBuildItem> inputs = new ArrayList<>(generationInputs);
+        inputs.sort(Comparator.comparing(GenerationInputBuildItem::name));
+        for (GenerationInputBuildItem input : inputs) {
+            update(digest, input.name() + "=" + input.fingerprint());
+        }
+        final Config appConfig = ConfigProvider.getConfig();
+        final Set<String> names = new TreeSet<>();
+        for (String name : appConfig.getPropertyNames()) {
+            if (name.startsWith("quarkus.roq.")) {
+                names.add(name);
+            }
+        }
+        for (String name : names) {
+            update(digest, name + "=" + appConfig.getOptionalValue(name, String.class).orElse(""));
+        }
+        final Set<Path> dataFiles = new HashSet<>();
+        for (RoqTrackedDataFileBuildItem trackedDataFile : trackedDataFiles) {
+            dataFiles.add(trackedDataFile.file().toAbsolutePath().normalize());
+        }
+        for (Path root : applicationArchives.getRootArchive().getResolvedPaths()) {
+            if (Files.isDirectory(root)) {
+                try (Stream<Path> files = Files.walk(root)) {
+                    for (Path file : files.filter(Files::isRegularFile)
+                            .filter(file -> !dataFiles.contains(file.toAbsolutePath().normalize()))
+                            .sorted().toList()) {
+                        update(digest, StringPaths.toUnixPath(root.relativize(file).toString()));
+                        digest.update(Files.readAllBytes(file));
+                    }
+                }
+            } else if (Files.isRegularFile(root)) {
+                digest.update(Files.readAllBytes(root));
+            }
+        }
+        recorder.setBuildFingerprint(hex(digest));
+    }
+
     private RoqSelection getSelectedPaths(RoqGeneratorConfig config,
             Map<String, String> selectedPathsFromBuildItem,
             Map<String, GeneratedStaticResourceBuildItem> generatedStaticResourcesMap,
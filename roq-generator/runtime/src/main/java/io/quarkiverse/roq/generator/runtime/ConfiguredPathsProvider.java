@@ -12,6 +12,7 @@ public class ConfiguredPathsProvider {
 
     private static volatile RoqSelection buildSelectedPaths;
     private static volatile Map<String, StaticFile> staticFiles;
+    private static volatile String buildFingerprint;
 
     public static void setStaticFiles(Map<String, StaticFile> staticFiles) {
         ConfiguredPathsProvider.staticFiles = staticFiles;
@@ -29,6 +30,18 @@ public class ConfiguredPathsProvider {
         return targetDir;
     }
 
+    /**
+     * @param buildFingerprint a digest of the application and site inputs other than the data (e.g. the templates),
+     *        see {@link DataDependencies}
+     */
+    public static void setBuildFingerprint(String buildFingerprint) {
+        ConfiguredPathsProvider.buildFingerprint = buildFingerprint;
+    }
+
+    public static String buildFingerprint() {
+        return buildFingerprint;
+    }
+
     public static void setBuildSelectedPaths(RoqSelection selectedPaths) {
         buildSelectedPaths = selectedPaths;
     }
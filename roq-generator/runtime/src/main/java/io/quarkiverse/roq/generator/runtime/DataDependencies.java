@@ -0,0 +1,170 @@
+package io.quarkiverse.roq.generator.runtime;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.jboss.logging.Logger;
+
+import io.quarkiverse.roq.dependencies.RoqDataDependencies;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * The data read by each generated page (see {@link RoqDataDependencies}) and the data fingerprints of a generation.
+ * They are kept in the target directory, so that the next incremental generation only generates again the pages of
+ * the changed data.
+ * <p>
+ * The build fingerprint covers everything else used to render the pages (the application, templates, content and
+ * configuration), all the pages are generated again when it changed.
+ */
+final class DataDependencies {
+
+    static final String FILE_NAME = "roq-data-dependencies.json";
+
+    private static final Logger LOGGER = Logger.getLogger(DataDependencies.class);
+
+    private final String buildFingerprint;
+    private final Map<String, String> fingerprints;
+    private final Set<String> siteData;
+    // By selected path, the data is null when the page didn't track it (e.g. a static file)
+    private final Map<String, Page> pages;
+
+    record Page(String outputPath, Set<String> data) {
+    }
+
+    DataDependencies(String buildFingerprint, Map<String, String> fingerprints, Set<String> siteData,
+            Map<String, Page> pages) {
+        this.buildFingerprint = buildFingerprint;
+        this.fingerprints = fingerprints;
+        this.siteData = siteData;
+        this.pages = pages;
+    }
+
+    /**
+     * @param pages the pages of this generation
+     */
+    static DataDependencies current(Map<String, Page> pages) {
+        return new DataDependencies(ConfiguredPathsProvider.buildFingerprint(), RoqDataDependencies.fingerprints(),
+                RoqDataDependencies.siteData(), pages);
+    }
+
+    /**
+     * @return the dependencies of the previous generation, or null if there is none (or it can't be read)
+     */
+    static DataDependencies read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            final JsonObject json = new JsonObject(Files.readString(file, StandardCharsets.UTF_8));
+            final String buildFingerprint = json.getString("buildFingerprint");
+            final Map<String, String> fingerprints = new HashMap<>();
+            json.getJsonObject("fingerprints").forEach(e -> fingerprints.put(e.getKey(), (String) e.getValue()));
+            final Set<String> siteData = toSet(json.getJsonArray("siteData"));
+            final Map<String, Page> pages = new HashMap<>();
+            json.getJsonObject("pages").forEach(e -> {
+                final JsonObject page = (JsonObject) e.getValue();
+                final JsonArray data = page.getJsonArray("data");
+                pages.put(e.getKey(), new Page(page.getString("outputPath"), data == null ? null : toSet(data)));
+            });
+            return new DataDependencies(buildFingerprint, fingerprints, siteData, pages);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warnf(e, "Roq data dependencies '%s' can't be read, all the pages will be generated", file);
+            return null;
+        }
+    }
+
+    void write(Path file) throws IOException {
+        final JsonObject json = new JsonObject()
+                .put("buildFingerprint", buildFingerprint)
+                .put("fingerprints", new JsonObject(new HashMap<>(fingerprints)))
+                .put("siteData", new JsonArray(new ArrayList<>(new TreeSet<>(siteData))));
+        final JsonObject pagesJson = new JsonObject();
+        pages.forEach((path, page) -> {
+            final JsonObject pageJson = new JsonObject().put("outputPath", page.outputPath());
+            if (page.data() != null) {
+                pageJson.put("data", new JsonArray(new ArrayList<>(new TreeSet<>(page.data()))));
+            }
+            pagesJson.put(path, pageJson);
+        });
+        json.put("pages", pagesJson);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, json.encode(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the data changed (or added or removed) since this generation, or null if the build or the site data
+     *         changed and all the pages must be generated
+     */
+    Set<String> changedData(DataDependencies current) {
+        if (buildFingerprint == null || !buildFingerprint.equals(current.buildFingerprint)) {
+            return null;
+        }
+        final Set<String> changed = new TreeSet<>();
+        final Set<String> names = new HashSet<>(fingerprints.keySet());
+        names.addAll(current.fingerprints.keySet());
+        for (String name : names) {
+            if (!fingerprints.getOrDefault(name, "").equals(current.fingerprints.getOrDefault(name, ""))) {
+                changed.add(name);
+            }
+        }
+        if (!Collections.disjoint(changed, siteData) || !Collections.disjoint(changed, current.siteData)
+                || !siteData.equals(current.siteData)) {
+            return null;
+        }
+        return changed;
+    }
+
+    /**
+     * @return true if the page was generated and tracked its data, and none of it changed
+     */
+    boolean isUpToDate(String path, Set<String> changed) {
+        final Page page = pages.get(path);
+        return page != null && page.data() != null && Collections.disjoint(page.data(), changed);
+    }
+
+    /**
+     * @param selected the paths selected for the current generation
+     * @return the output paths of this generation which are not generated anymore
+     */
+    Set<String> removedOutputPaths(Collection<SelectedPath> selected) {
+        final Set<String> selectedPaths = new HashSet<>();
+        final Set<String> outputPaths = new HashSet<>();
+        for (SelectedPath path : selected) {
+            selectedPaths.add(path.path());
+            outputPaths.add(path.outputPath());
+        }
+        final Set<String> removed = new TreeSet<>();
+        pages.forEach((path, page) -> {
+            // Another selected path may now be generated to the same file
+            if (!selectedPaths.contains(path) && !outputPaths.contains(page.outputPath())) {
+                removed.add(page.outputPath());
+            }
+        });
+        return removed;
+    }
+
+    Page page(String path) {
+        return pages.get(path);
+    }
+
+    Map<String, Page> pages() {
+        return pages;
+    }
+
+    private static Set<String> toSet(JsonArray array) {
+        final Set<String> set = new HashSet<>();
+        array.forEach(value -> set.add((String) value));
+        return set;
+    }
+}
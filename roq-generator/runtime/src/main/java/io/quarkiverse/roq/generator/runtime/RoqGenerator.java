@@ -12,11 +12,15 @@ import java.net.ConnectException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
@@ -25,6 +29,7 @@ import jakarta.inject.Inject;
 
 import org.jboss.logging.Logger;
 
+import io.quarkiverse.roq.dependencies.RoqDataDependencies;
 import io.quarkus.arc.All;
 import io.quarkus.runtime.LaunchMode;
 import io.quarkus.runtime.Quarkus;
@@ -41,6 +46,7 @@ import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpResponseExpectation;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 
@@ -116,11 +122,32 @@ public class RoqGenerator implements Handler<RoutingContext> {
     }
 
     public Uni<Path> generate() {
+        final Path outputDir = Path.of(outputDir()).toAbsolutePath();
+        final Path dependenciesFile = Path.of(ConfiguredPathsProvider.targetDir(), DataDependencies.FILE_NAME)
+                .toAbsolutePath();
+        return readDataDependencies(outputDir, dependenciesFile)
+                .chain(previous -> generate(outputDir, dependenciesFile, previous))
+                .ifNoItem().after(Duration.ofSeconds(config.timeout()))
+                .fail();
+    }
+
+    private Uni<Path> generate(Path outputDir, Path dependenciesFile, DataDependencies previous) {
         final FileSystem fs = vertx.get().fileSystem();
         final List<Uni<Void>> all = new ArrayList<>();
-        final Path outputDir = Path.of(outputDir()).toAbsolutePath();
+        // The data read by each page, tracked for the next incremental generation
+        final Map<String, DataDependencies.Page> pages = new ConcurrentHashMap<>();
+        final DataDependencies current = DataDependencies.current(pages);
+        final Set<String> changedData = previous != null ? previous.changedData(current) : null;
+        int upToDate = 0;
         for (SelectedPath path : this.selectedPaths) {
-            all.add(fetchContent(path.path())
+            if (changedData != null && previous.isUpToDate(path.path(), changedData)) {
+                // None of the data read by the page changed, the previous output is kept
+                pages.put(path.path(), previous.page(path.path()));
+                upToDate++;
+                continue;
+            }
+            all.add(fetchContent(path.path(), data -> pages.put(path.path(),
+                    new DataDependencies.Page(path.outputPath(), data)))
                     .onFailure()
                     .retry().atMost(config.requestRetry())
                     .chain(r -> {
@@ -134,11 +161,57 @@ public class RoqGenerator implements Handler<RoutingContext> {
 
         }
 
-        return clearOutputDir(fs, outputDir)
+        final Uni<Void> prepareOutputDir;
+        if (changedData != null) {
+            LOGGER.infof("Roq incremental generation: %d files up to date, %d to generate (changed data: %s)", upToDate,
+                    all.size(), changedData);
+            prepareOutputDir = deleteRemovedFiles(fs, outputDir, previous);
+        } else {
+            if (previous != null) {
+                LOGGER.info("Roq incremental generation: the application or the site data changed, generating all the files");
+            }
+            prepareOutputDir = clearOutputDir(fs, outputDir);
+        }
+        return prepareOutputDir
                 .chain(this::pollRoqPing)
-                .chain(() -> Uni.join().all(all).andFailFast().map(l -> outputDir))
-                .ifNoItem().after(Duration.ofSeconds(config.timeout()))
-                .fail();
+                .chain(() -> all.isEmpty() ? Uni.createFrom().voidItem() : Uni.join().all(all).andFailFast().replaceWithVoid())
+                .call(() -> config.incremental() ? writeDataDependencies(current, dependenciesFile)
+                        : Uni.createFrom().voidItem())
+                .map(ignored -> outputDir);
+    }
+
+    /**
+     * @return the data dependencies of the previous generation, or null if all the pages must be generated
+     */
+    private Uni<DataDependencies> readDataDependencies(Path outputDir, Path file) {
+        if (!config.incremental()) {
+            return Uni.createFrom().nullItem();
+        }
+        return Uni.createFrom().completionStage(() -> vertx.get()
+                .executeBlocking(() -> Files.isDirectory(outputDir) ? DataDependencies.read(file) : null, false)
+                .toCompletionStage());
+    }
+
+    private Uni<Void> writeDataDependencies(DataDependencies dependencies, Path file) {
+        return Uni.createFrom().completionStage(() -> vertx.get().executeBlocking(() -> {
+            dependencies.write(file);
+            return null;
+        }, false).toCompletionStage()).replaceWithVoid();
+    }
+
+    /**
+     * Delete the files of the previous generation which are not selected anymore.
+     */
+    private Uni<Void> deleteRemovedFiles(FileSystem fs, Path outputDir, DataDependencies previous) {
+        final List<Uni<Void>> deletions = new ArrayList<>();
+        for (String outputPath : previous.removedOutputPaths(this.selectedPaths)) {
+            final String file = outputDir.resolve(outputPath).toString();
+            deletions.add(Uni.createFrom().completionStage(() -> fs.exists(file)
+                    .compose(exists -> exists ? fs.delete(file) : Future.succeededFuture())
+                    .toCompletionStage())
+                    .invoke(() -> LOGGER.infof("Roq deleted file %s", outputPath)));
+        }
+        return deletions.isEmpty() ? Uni.createFrom().voidItem() : Uni.join().all(deletions).andFailFast().replaceWithVoid();
     }
 
     private static Uni<Void> clearOutputDir(FileSystem fs, Path outputDir) {
@@ -165,21 +238,26 @@ public class RoqGenerator implements Handler<RoutingContext> {
                         "Quarkus didn't start after 30 seconds (no response on '%s').".formatted(pingPath)));
     }
 
-    private Uni<Buffer> fetchContent(String path) {
+    /**
+     * @param dataConsumer receives the data read by a page, or null if the content doesn't track it
+     */
+    private Uni<Buffer> fetchContent(String path, Consumer<Set<String>> dataConsumer) {
         if (staticFiles.containsKey(path)) {
             final StaticFile staticFile = staticFiles.get(path);
             if (staticFile.type().equals(FILE)) {
                 LOGGER.debugf("Roq is reading %s from file", path);
                 return Uni.createFrom().completionStage(() -> vertx.get().fileSystem().readFile(staticFile.path())
                         .onComplete(r -> LOGGER.debugf("Roq successfully read file %s", path))
-                        .toCompletionStage());
+                        .toCompletionStage())
+                        .invoke(() -> dataConsumer.accept(null));
             } else if (staticFile.type().equals(CLASSPATH)) {
                 LOGGER.debugf("Roq is reading %s from classpath", path);
                 return Uni.createFrom().completionStage(
                         () -> vertx.get().executeBlocking(() -> getClasspathResourceContent(staticFile.path()), false)
                                 .map(Buffer::buffer)
                                 .onComplete(r -> LOGGER.debugf("Roq successfully read %s on classpath", path))
-                                .toCompletionStage());
+                                .toCompletionStage())
+                        .invoke(() -> dataConsumer.accept(null));
             }
         }
 
@@ -188,6 +266,10 @@ public class RoqGenerator implements Handler<RoutingContext> {
         return getSend(fullPath)
                 .onFailure().invoke(t -> LOGGER.errorf(t, "Roq request failed %s", fullPath))
                 .invoke(r -> LOGGER.debugf("Roq request completed %s", fullPath))
+                .invoke(r -> {
+                    final String data = r.getHeader(RoqDataDependencies.DATA_HEADER);
+                    dataConsumer.accept(data != null ? RoqDataDependencies.parse(data) : null);
+                })
                 .map(HttpResponse::bodyAsBuffer);
     }
 
@@ -201,7 +283,11 @@ public class RoqGenerator implements Handler<RoutingContext> {
             host = httpConfiguration.host();
             port = httpConfiguration.port();
         }
-        return Uni.createFrom().completionStage(() -> client().get(port, host, path)
+        final HttpRequest<Buffer> request = client().get(port, host, path);
+        if (config.incremental()) {
+            request.putHeader(RoqDataDependencies.TRACK_HEADER, "true");
+        }
+        return Uni.createFrom().completionStage(() -> request
                 .send()
                 .expecting(HttpResponseExpectation.status(200))
                 .toCompletionStage());
@@ -62,6 +62,17 @@ public interface RoqGeneratorConfig {
     @WithDefault("false")
     boolean batch();
 
+    /**
+     * Only generate again the pages reading data (roq-data) which changed since the previous generation, the other
+     * pages of the output directory are kept.
+     * <p>
+     * The data read by each page is kept in {@code roq-data-dependencies.json} in the target directory, with a
+     * fingerprint of the build (application, templates, content and config): when it changed, all the pages are
+     * generated again.
+     */
+    @WithDefault("false")
+    boolean incremental();
+
     /**
      * Timeout for full generation in seconds
      */
@@ -18,4 +18,8 @@ public class RoqGeneratorRecorder {
     public void setBuildSelectedPaths(RoqSelection selectedPaths) {
         ConfiguredPathsProvider.setBuildSelectedPaths(selectedPaths);
     }
+
+    public void setBuildFingerprint(String buildFingerprint) {
+        ConfiguredPathsProvider.setBuildFingerprint(buildFingerprint);
+    }
 }
@@ -0,0 +1,144 @@
+package io.quarkiverse.roq.generator.runtime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Pure unit tests (no Quarkus runtime).
+ * <p>
+ * Features tested: the incremental generation decisions — changed data, pages kept or generated again, files
+ * deleted — and the dependencies file round-trip.
+ */
+@DisplayName("Roq Generator - Data dependencies")
+public class DataDependenciesTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Nothing changed, the tracked pages are kept")
+    public void testUpToDate() {
+        final DataDependencies previous = dependencies("build", Map.of("menu", "1", "events", "1"), Set.of());
+        final Set<String> changed = previous.changedData(dependencies("build", Map.of("menu", "1", "events", "1"),
+                Set.of()));
+        assertEquals(Set.of(), changed);
+        assertTrue(previous.isUpToDate("/", changed));
+        assertTrue(previous.isUpToDate("/events/", changed));
+        assertTrue(previous.isUpToDate("/about/", changed));
+    }
+
+    @Test
+    @DisplayName("Only the pages reading the changed data are generated again")
+    public void testChangedData() {
+        final DataDependencies previous = dependencies("build", Map.of("menu", "1", "events", "1"), Set.of());
+        final Set<String> changed = previous.changedData(dependencies("build", Map.of("menu", "1", "events", "2"),
+                Set.of()));
+        assertEquals(Set.of("events"), changed);
+        assertTrue(previous.isUpToDate("/", changed));
+        assertFalse(previous.isUpToDate("/events/", changed));
+        // A page which didn't read any data is kept
+        assertTrue(previous.isUpToDate("/about/", changed));
+        // Files without tracked data and new pages are always generated
+        assertFalse(previous.isUpToDate("/static/style.css", changed));
+        assertFalse(previous.isUpToDate("/new/", changed));
+    }
+
+    @Test
+    @DisplayName("Added and removed data are changed")
+    public void testAddedAndRemovedData() {
+        final DataDependencies previous = dependencies("build", Map.of("menu", "1", "events", "1"), Set.of());
+        assertEquals(Set.of("events", "news"),
+                previous.changedData(dependencies("build", Map.of("menu", "1", "news", "1"), Set.of())));
+    }
+
+    @Test
+    @DisplayName("A change of the build generates all the pages")
+    public void testChangedBuild() {
+        final DataDependencies previous = dependencies("build", Map.of("menu", "1"), Set.of());
+        assertNull(previous.changedData(dependencies("other", Map.of("menu", "1"), Set.of())));
+        assertNull(previous.changedData(dependencies(null, Map.of("menu", "1"), Set.of())));
+        assertNull(dependencies(null, Map.of("menu", "1"), Set.of())
+                .changedData(dependencies("build", Map.of("menu", "1"), Set.of())));
+    }
+
+    @Test
+    @DisplayName("A change of the site data generates all the pages")
+    public void testChangedSiteData() {
+        final DataDependencies previous = dependencies("build", Map.of("menu", "1", "events", "1"), Set.of("events"));
+        assertNull(previous.changedData(dependencies("build", Map.of("menu", "1", "events", "2"), Set.of("events"))));
+        assertNull(previous.changedData(dependencies("build", Map.of("menu", "1", "events", "1"), Set.of())));
+        assertEquals(Set.of("menu"),
+                previous.changedData(dependencies("build", Map.of("menu", "2", "events", "1"), Set.of("events"))));
+    }
+
+    @Test
+    @DisplayName("The files of the pages which are not selected anymore are deleted")
+    public void testRemovedOutputPaths() {
+        final DataDependencies previous = dependencies("build", Map.of("menu", "1"), Set.of());
+        assertEquals(Set.of(), previous.removedOutputPaths(List.of(
+                SelectedPath.builder().html("/").build(),
+                SelectedPath.builder().html("/events/").build(),
+                SelectedPath.builder().html("/about/").build(),
+                SelectedPath.builder().path("/static/style.css").build())));
+        assertEquals(Set.of("events/index.html", "static/style.css"), previous.removedOutputPaths(List.of(
+                SelectedPath.builder().html("/").build(),
+                SelectedPath.builder().html("/about/").build())));
+        // The file is kept when another selected path is generated to it
+        assertEquals(Set.of("static/style.css"), previous.removedOutputPaths(List.of(
+                SelectedPath.builder().html("/").build(),
+                SelectedPath.builder().html("/about/").build(),
+                SelectedPath.builder().path("/events?page=1").outputPath("events/index.html").build())));
+    }
+
+    @Test
+    @DisplayName("The dependencies are read as written")
+    public void testRoundTrip() throws IOException {
+        final Path file = dir.resolve("target").resolve(DataDependencies.FILE_NAME);
+        final DataDependencies written = dependencies("build", Map.of("menu", "1", "events", "1"), Set.of("events"));
+        written.write(file);
+        final DataDependencies read = DataDependencies.read(file);
+        assertNotNull(read);
+        assertEquals(written.pages(), read.pages());
+        assertEquals(Set.of(), read.changedData(written));
+        assertEquals(Set.of("menu"),
+                read.changedData(dependencies("build", Map.of("menu", "2", "events", "1"), Set.of("events"))));
+        assertNull(read.changedData(dependencies("other", Map.of("menu", "1", "events", "1"), Set.of("events"))));
+    }
+
+    @Test
+    @DisplayName("Missing, empty or corrupted dependencies generate all the pages")
+    public void testInvalidFile() throws IOException {
+        assertNull(DataDependencies.read(dir.resolve(DataDependencies.FILE_NAME)));
+        final Path file = dir.resolve(DataDependencies.FILE_NAME);
+        Files.writeString(file, "", StandardCharsets.UTF_8);
+        assertNull(DataDependencies.read(file));
+        Files.writeString(file, "{\"buildFingerprint\": \"build\", \"fingerprints\": {", StandardCharsets.UTF_8);
+        assertNull(DataDependencies.read(file));
+        Files.writeString(file, "{\"buildFingerprint\": \"build\"}", StandardCharsets.UTF_8);
+        assertNull(DataDependencies.read(file));
+        Files.writeString(file, "[]", StandardCharsets.UTF_8);
+        assertNull(DataDependencies.read(file));
+    }
+
+    private static DataDependencies dependencies(String buildFingerprint, Map<String, String> fingerprints,
+            Set<String> siteData) {
+        final Map<String, DataDependencies.Page> pages = new HashMap<>();
+        pages.put("/", new DataDependencies.Page("index.html", Set.of("menu")));
+        pages.put("/events/", new DataDependencies.Page("events/index.html", Set.of("menu", "events")));
+        pages.put("/about/", new DataDependencies.Page("about/index.html", Set.of()));
+        pages.put("/static/style.css", new DataDependencies.Page("static/style.css", null));
+        return new DataDependencies(buildFingerprint, fingerprints, siteData, pages);
+    }
+}
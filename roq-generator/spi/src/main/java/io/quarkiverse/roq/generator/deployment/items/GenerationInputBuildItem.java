@@ -0,0 +1,34 @@
+package io.quarkiverse.roq.generator.deployment.items;
+
+import io.quarkus.builder.item.MultiBuildItem;
+
+/**
+ * A fingerprint of content used to render all the pages, other than the data tracked by each page (e.g. the
+ * templates or the site configuration). When one of them changes, the incremental generation generates all the
+ * pages again.
+ */
+public final class GenerationInputBuildItem extends MultiBuildItem {
+
+    /**
+     * The name of the input (e.g. {@code templates}).
+     */
+    private final String name;
+
+    /**
+     * A digest of the content of the input.
+     */
+    private final String fingerprint;
+
+    public GenerationInputBuildItem(String name, String fingerprint) {
+        this.name = name;
+        this.fingerprint = fingerprint;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+}
@@ -1,6 +1,5 @@
 package io.quarkiverse.roq.plugin.asciidoc.common.deployment;
 
-import static io.quarkiverse.roq.frontmatter.deployment.util.RoqFrontMatterTemplateUtils.stripFrontMatter;
 import static io.quarkiverse.roq.frontmatter.runtime.RoqFrontMatterKeys.DESCRIPTION;
 import static io.quarkiverse.roq.frontmatter.runtime.RoqFrontMatterKeys.ESCAPE;
 import static io.quarkiverse.roq.frontmatter.runtime.RoqFrontMatterKeys.TITLE;
@@ -36,7 +35,7 @@ public class AsciidocHeaderParser {
     public static RoqFrontMatterHeaderParserBuildItem createBuildItem(boolean qute, Predicate<TemplateContext> isApplicable) {
         return new RoqFrontMatterHeaderParserBuildItem(isApplicable, templateContext -> {
             Parser parser = new Parser();
-            String content = stripFrontMatter(templateContext.content());
+            String content = templateContext.body();
             ContentResolver contentResolver = new PathContentResolver(templateContext.sourceFile().getParent());
             Header header = parser.parseHeader(new Reader(content.lines().toList()),
                     new Parser.ParserContext(contentResolver));
@@ -17,9 +17,11 @@ import io.quarkiverse.roq.frontmatter.runtime.model.NormalPage;
 import io.quarkiverse.roq.frontmatter.runtime.model.Page;
 import io.quarkiverse.roq.frontmatter.runtime.model.RoqCollection;
 import io.quarkiverse.roq.frontmatter.runtime.model.Site;
+import io.quarkiverse.roq.frontmatter.runtime.utils.RoqDataTracking;
 import io.quarkus.arc.Unremovable;
 import io.quarkus.qute.RawString;
 import io.quarkus.qute.TemplateExtension;
+import io.quarkus.qute.TemplateExtension.TemplateAttribute;
 import io.vertx.core.json.JsonObject;
 
 @TemplateExtension
@@ -30,28 +32,29 @@ public class RoqPluginLunrTemplateExtension {
         return page.source().isTargetHtml() && page.data().getBoolean(RoqLunrKeys.SEARCH, true);
     }
 
-    public static RawString searchIndex(Site site) {
+    public static RawString searchIndex(Site site, @TemplateAttribute(RoqDataTracking.ATTRIBUTE) Object tracker) {
         JsonObject json = new JsonObject();
         for (RoqCollection collection : site.collections().list()) {
             if (!collection.hidden() && !collection.derived()) {
                 for (DocumentPage doc : collection) {
                     if (search(doc)) {
-                        createPageJsonObjects(site, doc).forEach(json::put);
+                        createPageJsonObjects(site, doc, tracker).forEach(json::put);
                     }
                 }
             }
         }
         for (NormalPage page : site.pages()) {
             if (search(page)) {
-                createPageJsonObjects(site, page).forEach(json::put);
+                createPageJsonObjects(site, page, tracker).forEach(json::put);
             }
         }
         return new RawString(json.toString());
     }
 
-    private static Map<String, JsonObject> createPageJsonObjects(Site site, Page page) {
+    private static Map<String, JsonObject> createPageJsonObjects(Site site, Page page, Object tracker) {
         final Map<String, JsonObject> map = new HashMap<>();
         final String html = site.pageContent(page);
+        RoqDataTracking.accessed(tracker, page.contentData());
         Document htmlDoc = Jsoup.parse(html);
         final List<Anchor> anchors = extractAnchors(htmlDoc);
         final JsonObject baseDoc = new JsonObject()